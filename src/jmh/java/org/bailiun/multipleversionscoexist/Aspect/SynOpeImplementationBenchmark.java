@@ -0,0 +1,86 @@
+package org.bailiun.multipleversionscoexist.Aspect;
+
+import org.bailiun.multipleversionscoexist.Aspect.SynchronousOperationFixture.CountingImplementation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SynOpeImplementationBenchmark — 反射钩子调用开销基准测试 / Reflective Hook Invocation Benchmark
+ *
+ * <p><b>中文说明：</b><br>
+ * 测量 {@link org.bailiun.multipleversionscoexist.config.SynOpeImplementation#execute} 每次调用的真实开销
+ * （按名称查找方法并反射调用），并以缓存 {@link Method} 后的反射调用与直接调用作为对照。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Measures the real per-call cost of {@link org.bailiun.multipleversionscoexist.config.SynOpeImplementation#execute}
+ * (method lookup by name plus reflective invocation), against a reflective call through a cached {@link Method}
+ * and a direct call.</p>
+ *
+ * <p><b>运行方式 / How to run:</b></p>
+ * <pre>{@code
+ * java -cp <classpath> org.bailiun.multipleversionscoexist.Aspect.SynOpeImplementationBenchmark
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SynOpeImplementationBenchmark {
+
+    private final Object[] args = {"42"};
+
+    private CountingImplementation implementation;
+
+    private Method cached;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        implementation = new CountingImplementation(new LongAdder());
+        cached = CountingImplementation.class.getMethod("onCall", Object[].class, Object.class, Throwable.class);
+    }
+
+    @Benchmark
+    public Object execute() throws Exception {
+        return implementation.execute("onCall", args, "42", null);
+    }
+
+    @Benchmark
+    public Object cachedInvoke() throws Exception {
+        return cached.invoke(implementation, args, "42", null);
+    }
+
+    @Benchmark
+    public void direct() {
+        implementation.onCall(args, "42", null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SynOpeImplementationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package org.bailiun.multipleversionscoexist.Aspect;
+
+import org.bailiun.multipleversionscoexist.Aspect.SynchronousOperationFixture.Controller;
+import org.bailiun.multipleversionscoexist.en.ExecutionMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SynchronousOperationAspectBenchmark — 同步操作切面开销基准测试 / Synchronous Operation Aspect Overhead Benchmark
+ *
+ * <p><b>中文说明：</b><br>
+ * 对比直接调用接口与经 {@code logAllMethodsSingle}、{@code logAllMethodsMultiple} 包装后的调用，
+ * 参数为同步操作实现数量（1/5/20）与执行模式（SYNC/ASYNC）。ASYNC 模式下测得的是调用线程的开销，
+ * 包括提交任务以及线程池饱和时由调用线程执行的部分。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Compares a bare controller call with calls wrapped by {@code logAllMethodsSingle} and
+ * {@code logAllMethodsMultiple}, over the number of hook implementations (1/5/20) and the execution mode
+ * (SYNC/ASYNC). In ASYNC mode the result is the caller-side cost, including submission and the work pushed back to
+ * the caller when the pool is saturated.</p>
+ *
+ * <p><b>运行方式 / How to run:</b></p>
+ * <pre>{@code
+ * java -cp <classpath> org.bailiun.multipleversionscoexist.Aspect.SynchronousOperationAspectBenchmark
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SynchronousOperationAspectBenchmark {
+
+    @Param({"1", "5", "20"})
+    public int implementations;
+
+    @Param({"SYNC", "ASYNC"})
+    public ExecutionMode mode;
+
+    private final LongAdder calls = new LongAdder();
+
+    private ExecutorService executor;
+
+    private Controller bare;
+
+    private Controller single;
+
+    private Controller multiple;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = SynchronousOperationFixture.executor();
+        SynchronousOperationAspect aspect = SynchronousOperationFixture.aspect(
+                SynchronousOperationFixture.implementations(implementations, calls), executor);
+        bare = SynchronousOperationFixture.single(mode);
+        single = SynchronousOperationFixture.proxy(SynchronousOperationFixture.single(mode), aspect);
+        multiple = SynchronousOperationFixture.proxy(SynchronousOperationFixture.multiple(mode), aspect);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Object bare() {
+        return bare.handle("42");
+    }
+
+    @Benchmark
+    public Object single() {
+        return single.handle("42");
+    }
+
+    @Benchmark
+    public Object multiple() {
+        return multiple.handle("42");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SynchronousOperationAspectBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
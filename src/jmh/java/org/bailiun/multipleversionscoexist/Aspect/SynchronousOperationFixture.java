@@ -0,0 +1,160 @@
+package org.bailiun.multipleversionscoexist.Aspect;
+
+import org.bailiun.multipleversionscoexist.config.RetryPolicy;
+import org.bailiun.multipleversionscoexist.config.SynOpeImplementation;
+import org.bailiun.multipleversionscoexist.en.ExecutionMode;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SynchronousOperationFixture — 同步操作切面基准测试的合成接口 / Synthetic Controllers for Aspect Benchmarks
+ *
+ * <p><b>中文说明：</b><br>
+ * 不启动 Spring 容器，使用 {@link AspectJProxyFactory} 将 {@link SynchronousOperationAspect} 织入合成接口，
+ * 并注册指定数量的 {@link SynOpeImplementation}。每个实现类都声明被调用的方法，因此每次调用都会执行全部实现。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Weaves {@link SynchronousOperationAspect} into synthetic controllers with {@link AspectJProxyFactory}, without a
+ * Spring context, and registers the requested number of {@link SynOpeImplementation}s. Every implementation declares
+ * the hook method, so each call runs all of them.</p>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>ASYNC 模式使用有界队列与调用方执行策略的线程池，队列满时由调用线程执行，测得的是持续负载下的开销 /
+ *       ASYNC mode uses a pool with a bounded queue and caller-runs policy, so a full queue pushes work back to the
+ *       caller and the result reflects sustained load</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class SynchronousOperationFixture {
+
+    private SynchronousOperationFixture() {
+    }
+
+    /**
+     * <p><b>中文说明：</b>创建指定数量的同步操作实现。</p>
+     * <p><b>English Description:</b> Creates the given number of hook implementations.</p>
+     */
+    static List<SynOpeImplementation> implementations(int count, LongAdder calls) {
+        List<SynOpeImplementation> implementations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            implementations.add(new CountingImplementation(calls));
+        }
+        return implementations;
+    }
+
+    /**
+     * <p><b>中文说明：</b>创建 ASYNC 模式使用的线程池。</p>
+     * <p><b>English Description:</b> Creates the pool used by ASYNC mode.</p>
+     */
+    static ExecutorService executor() {
+        return new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1024), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    static SynchronousOperationAspect aspect(List<SynOpeImplementation> implementations, ExecutorService executor) {
+        SynchronousOperationAspect aspect = new SynchronousOperationAspect();
+        aspect.setImplementations(implementations, executor, new RetryPolicy(0, 0, 5000));
+        return aspect;
+    }
+
+    /**
+     * <p><b>中文说明：</b>将切面织入目标对象。</p>
+     * <p><b>English Description:</b> Weaves the aspect into the target.</p>
+     */
+    static <T> T proxy(T target, SynchronousOperationAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    /**
+     * <p><b>中文说明：</b>按执行模式选择单注解接口。</p>
+     * <p><b>English Description:</b> Picks the single-annotation controller for the execution mode.</p>
+     */
+    static Controller single(ExecutionMode mode) {
+        return mode == ExecutionMode.SYNC ? new SyncSingleController() : new AsyncSingleController();
+    }
+
+    /**
+     * <p><b>中文说明：</b>按执行模式选择多注解接口（两个同步操作）。</p>
+     * <p><b>English Description:</b> Picks the multi-annotation controller (two operations) for the execution mode.</p>
+     */
+    static Controller multiple(ExecutionMode mode) {
+        return mode == ExecutionMode.SYNC ? new SyncMultipleController() : new AsyncMultipleController();
+    }
+
+    /**
+     * 合成接口 / Synthetic controller
+     */
+    public static class Controller {
+        public String handle(String id) {
+            return id;
+        }
+    }
+
+    public static class SyncSingleController extends Controller {
+        @Override
+        @SynchronousOperation(value = "onCall", mode = ExecutionMode.SYNC)
+        public String handle(String id) {
+            return id;
+        }
+    }
+
+    public static class AsyncSingleController extends Controller {
+        @Override
+        @SynchronousOperation(value = "onCall", mode = ExecutionMode.ASYNC)
+        public String handle(String id) {
+            return id;
+        }
+    }
+
+    public static class SyncMultipleController extends Controller {
+        @Override
+        @SynchronousOperation(value = "onCall", mode = ExecutionMode.SYNC)
+        @SynchronousOperation(value = "onAudit", mode = ExecutionMode.SYNC)
+        public String handle(String id) {
+            return id;
+        }
+    }
+
+    public static class AsyncMultipleController extends Controller {
+        @Override
+        @SynchronousOperation(value = "onCall", mode = ExecutionMode.ASYNC)
+        @SynchronousOperation(value = "onAudit", mode = ExecutionMode.ASYNC)
+        public String handle(String id) {
+            return id;
+        }
+    }
+
+    /**
+     * 计数的同步操作实现 / Counting hook implementation
+     */
+    public static class CountingImplementation extends SynOpeImplementation {
+
+        private final LongAdder calls;
+
+        CountingImplementation(LongAdder calls) {
+            this.calls = calls;
+        }
+
+        public void onCall(Object[] args, Object result, Throwable throwable) {
+            calls.increment();
+        }
+
+        public void onAudit(Object[] args, Object result, Throwable throwable) {
+            calls.increment();
+        }
+    }
+}
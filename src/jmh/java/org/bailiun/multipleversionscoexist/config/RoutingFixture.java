@@ -0,0 +1,240 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Aspect.CoexistenceVersion;
+import org.bailiun.multipleversionscoexist.Aspect.InterfacePriority;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionInfo;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RoutingFixture — 路由基准测试的合成接口 / Synthetic Controllers for Routing Benchmarks
+ *
+ * <p><b>中文说明：</b><br>
+ * 不启动 Spring 容器，直接向 {@link DualRequestMappingHandlerMapping} 注册合成接口并发布路由快照。
+ * 第 i 个接口属于版本 {@code v(i % versions)}，路径为 {@code /api/r(i / versions)/...}，
+ * 因此同一路径在多个版本中共存，与实际的多版本场景一致。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Registers synthetic handlers directly with {@link DualRequestMappingHandlerMapping} and publishes the routing
+ * snapshot without a Spring context. Endpoint i belongs to version {@code v(i % versions)} under
+ * {@code /api/r(i / versions)/...}, so each path coexists in several versions as it does in real deployments.</p>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>版本接口由 {@code InterfaceInjection} 重新构建为 Ant 风格映射，PathPattern 与 Ant 的差异只体现在原始映射上 /
+ *       Versioned copies are rebuilt as Ant-style mappings by {@code InterfaceInjection}; PathPattern and Ant only
+ *       differ in the original mapping</li>
+ *   <li>通配接口不在路由索引中，命中请求走完整匹配，请求路径需带版本前缀 /
+ *       Wildcard handlers are not in the route index, so hits go through full matching and carry the version prefix</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class RoutingFixture {
+
+    /**
+     * 接口路径风格 / Pattern style of the handlers
+     */
+    public enum Style {
+        /** 字面量路径 / Literal paths */
+        EXACT,
+        /** PathPatternParser 解析的通配路径 / Wildcard paths parsed by PathPatternParser */
+        PATH_PATTERN,
+        /** AntPathMatcher 风格的通配路径 / Wildcard paths matched by AntPathMatcher */
+        ANT
+    }
+
+    private static final RequestMappingInfo.BuilderConfiguration PATH_PATTERN_OPTIONS = new RequestMappingInfo.BuilderConfiguration();
+
+    static {
+        PATH_PATTERN_OPTIONS.setPatternParser(new PathPatternParser());
+    }
+
+    private RoutingFixture() {
+    }
+
+    /**
+     * <p><b>中文说明：</b>创建映射并注册全部接口，随后发布路由快照。</p>
+     * <p><b>English Description:</b> Creates a mapping, registers every endpoint and publishes the routing snapshot.</p>
+     */
+    static BenchmarkMapping createMapping(int versions, int endpoints, Style style) {
+        BenchmarkMapping mapping = newMapping(versions);
+        registerAll(mapping, versions, endpoints, style);
+        mapping.registerPendingHandlerMethods();
+        mapping.initialized = true;
+        mapping.publishRouting();
+        return mapping;
+    }
+
+    /**
+     * <p><b>中文说明：</b>创建尚未注册任何接口的映射，版本白名单与最大版本数已按参数放开。</p>
+     * <p><b>English Description:</b> Creates a mapping without handlers, with the version allow-list and the
+     * maximum version count opened up for the given parameters.</p>
+     */
+    static BenchmarkMapping newMapping(int versions) {
+        MultiVersionProperties mp = new MultiVersionProperties();
+        List<String> include = new ArrayList<>();
+        for (int v = 0; v < versions; v++) {
+            include.add(version(v));
+        }
+        mp.setInclude(include);
+        mp.setMaxNum(versions + 1);
+        MultiVersionInfo mi = new MultiVersionInfo();
+        mi.init();
+        return new BenchmarkMapping(mp, new MultiVersionFile(), mi);
+    }
+
+    /**
+     * <p><b>中文说明：</b>按顺序注册全部接口，不发布路由快照。</p>
+     * <p><b>English Description:</b> Registers every endpoint in order without publishing the routing snapshot.</p>
+     */
+    static void registerAll(BenchmarkMapping mapping, int versions, int endpoints, Style style) {
+        SyntheticController controller = new SyntheticController();
+        Method method = SyntheticController.HANDLE;
+        for (int i = 0; i < endpoints; i++) {
+            mapping.version = version(i % versions);
+            mapping.registerHandlerMethod(controller, method, mappingInfo(pattern(i / versions, style), style));
+        }
+    }
+
+    /**
+     * <p><b>中文说明：</b>先以低优先级注册全部接口，再以高优先级重新注册，每个接口都需要一次优先级裁决。</p>
+     * <p><b>English Description:</b> Registers every endpoint with a low priority, then again with a higher one,
+     * so each endpoint needs one priority decision.</p>
+     */
+    static void registerWithOverrides(BenchmarkMapping mapping, int versions, int endpoints, Style style) {
+        SyntheticController controller = new SyntheticController();
+        for (Method method : new Method[]{SyntheticController.HANDLE_LOW, SyntheticController.HANDLE_HIGH}) {
+            for (int i = 0; i < endpoints; i++) {
+                mapping.version = version(i % versions);
+                mapping.registerHandlerMethod(controller, method, mappingInfo(pattern(i / versions, style), style));
+            }
+        }
+    }
+
+    /**
+     * <p><b>中文说明：</b>生成访问路径：命中路径一定匹配某个接口，未命中路径共享已注册接口的前缀但不匹配任何接口。</p>
+     * <p><b>English Description:</b> Builds lookup paths: hit paths always match a handler, miss paths share a
+     * registered prefix but match nothing.</p>
+     */
+    static String[] lookupPaths(int versions, int endpoints, Style style, boolean hit, int count) {
+        String[] paths = new String[count];
+        for (int n = 0; n < count; n++) {
+            int i = (int) ((n * 0x9E3779B9L & 0xFFFFFFFFL) % endpoints);
+            String base = "/api/r" + (i / versions);
+            String path;
+            if (style == Style.EXACT) {
+                path = base + "/item";
+            } else {
+                path = "/" + version(i % versions) + base + "/" + n;
+            }
+            paths[n] = hit ? path : path + "/missing";
+        }
+        return paths;
+    }
+
+    static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setRequestURI(path);
+        return request;
+    }
+
+    static String version(int v) {
+        return "v" + v;
+    }
+
+    private static String pattern(int index, Style style) {
+        switch (style) {
+            case EXACT:
+                return "/api/r" + index + "/item";
+            case PATH_PATTERN:
+                return "/api/r" + index + "/{id}";
+            default:
+                return "/api/r" + index + "/*";
+        }
+    }
+
+    private static RequestMappingInfo mappingInfo(String pattern, Style style) {
+        RequestMappingInfo.Builder builder = RequestMappingInfo.paths(pattern).methods(RequestMethod.GET);
+        if (style == Style.PATH_PATTERN) {
+            builder.options(PATH_PATTERN_OPTIONS);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 由基准测试指定接口版本的映射 / Mapping whose handler versions are chosen by the benchmark
+     */
+    static final class BenchmarkMapping extends DualRequestMappingHandlerMapping {
+
+        /** 下一个注册接口的版本 / Version of the next registered handler */
+        String version;
+
+        BenchmarkMapping(MultiVersionProperties mp, MultiVersionFile mf, MultiVersionInfo mi) {
+            super(mp, mf, mi);
+        }
+
+        @Override
+        protected CoexistenceVersion getCV(Method method) {
+            String current = version;
+            return new CoexistenceVersion() {
+                @Override
+                public String version() {
+                    return current;
+                }
+
+                @Override
+                public Class<? extends Annotation> annotationType() {
+                    return CoexistenceVersion.class;
+                }
+            };
+        }
+    }
+
+    /**
+     * 合成接口 / Synthetic controller
+     */
+    static final class SyntheticController {
+
+        static final Method HANDLE;
+
+        static final Method HANDLE_LOW;
+
+        static final Method HANDLE_HIGH;
+
+        static {
+            try {
+                HANDLE = SyntheticController.class.getDeclaredMethod("handle");
+                HANDLE_LOW = SyntheticController.class.getDeclaredMethod("handleLow");
+                HANDLE_HIGH = SyntheticController.class.getDeclaredMethod("handleHigh");
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public String handle() {
+            return "ok";
+        }
+
+        @InterfacePriority(1)
+        public String handleLow() {
+            return "low";
+        }
+
+        @InterfacePriority(2)
+        public String handleHigh() {
+            return "high";
+        }
+    }
+}
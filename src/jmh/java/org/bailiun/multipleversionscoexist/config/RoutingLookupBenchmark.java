@@ -0,0 +1,106 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.config.RoutingFixture.BenchmarkMapping;
+import org.bailiun.multipleversionscoexist.config.RoutingFixture.Style;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoutingLookupBenchmark — 路由查找基准测试 / Routing Lookup Benchmark
+ *
+ * <p><b>中文说明：</b><br>
+ * 以 版本数 × 接口数 × 路径风格 × 命中/未命中 为参数测量
+ * {@link DualRequestMappingHandlerMapping#lookupHandlerMethod} 的吞吐量、平均耗时与分配速率。
+ * 未命中时抛出的 {@link NoHandlerFoundException} 计入耗时，这与线上行为一致。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Measures throughput, average time and allocation rate of
+ * {@link DualRequestMappingHandlerMapping#lookupHandlerMethod} over versions × endpoints × pattern style × hit/miss.
+ * The {@link NoHandlerFoundException} thrown on a miss is part of the measured cost, as it is in production.</p>
+ *
+ * <p><b>运行方式 / How to run:</b></p>
+ * <pre>{@code
+ * java -cp <classpath> org.bailiun.multipleversionscoexist.config.RoutingLookupBenchmark
+ * java -jar benchmarks.jar RoutingLookupBenchmark -p versions=10 -p endpoints=1000 -prof gc
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingLookupBenchmark {
+
+    /** 每轮循环使用的访问路径数（2 的幂） / Lookup paths cycled through (a power of two) */
+    private static final int PATHS = 1024;
+
+    @Param({"1", "10", "100"})
+    public int versions;
+
+    @Param({"10", "1000", "10000"})
+    public int endpoints;
+
+    @Param({"EXACT", "PATH_PATTERN", "ANT"})
+    public Style style;
+
+    @Param({"true", "false"})
+    public boolean hit;
+
+    private BenchmarkMapping mapping;
+
+    private String[] paths;
+
+    private MockHttpServletRequest[] requests;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapping = RoutingFixture.createMapping(versions, endpoints, style);
+        paths = RoutingFixture.lookupPaths(versions, endpoints, style, hit, PATHS);
+        requests = new MockHttpServletRequest[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            requests[i] = RoutingFixture.request(paths[i]);
+        }
+    }
+
+    @Benchmark
+    public Object lookup() throws Exception {
+        int i = next++ & (PATHS - 1);
+        try {
+            return mapping.lookupHandlerMethod(paths[i], requests[i]);
+        } catch (NoHandlerFoundException e) {
+            return e;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoutingLookupBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
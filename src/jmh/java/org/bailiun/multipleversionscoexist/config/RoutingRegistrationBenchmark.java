@@ -0,0 +1,88 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.config.RoutingFixture.BenchmarkMapping;
+import org.bailiun.multipleversionscoexist.config.RoutingFixture.Style;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoutingRegistrationBenchmark — 接口注册基准测试 / Handler Registration Benchmark
+ *
+ * <p><b>中文说明：</b><br>
+ * 测量通过 {@code registerHandlerMethod} 注册全部接口并发布一次路由快照的耗时与分配，
+ * 即应用启动时映射初始化的主要开销；{@code registerWithOverrides} 额外让每个接口出现两个
+ * {@code @InterfacePriority} 不同的候选，由启动阶段的优先级裁决选出一个。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Measures the time and allocation of registering every endpoint through {@code registerHandlerMethod} and
+ * publishing the routing snapshot once, which is the bulk of the mapping's startup cost;
+ * {@code registerWithOverrides} additionally gives every endpoint two candidates with different
+ * {@code @InterfacePriority}, one of which is picked by the startup priority resolution.</p>
+ *
+ * <p><b>运行方式 / How to run:</b></p>
+ * <pre>{@code
+ * java -cp <classpath> org.bailiun.multipleversionscoexist.config.RoutingRegistrationBenchmark
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutingRegistrationBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int versions;
+
+    @Param({"10", "1000", "10000"})
+    public int endpoints;
+
+    @Param({"EXACT", "PATH_PATTERN", "ANT"})
+    public Style style;
+
+    @Benchmark
+    public Object registerAndPublish() {
+        BenchmarkMapping mapping = RoutingFixture.newMapping(versions);
+        RoutingFixture.registerAll(mapping, versions, endpoints, style);
+        mapping.registerPendingHandlerMethods();
+        mapping.initialized = true;
+        mapping.publishRouting();
+        return mapping.getRoutingSnapshot();
+    }
+
+    @Benchmark
+    public Object registerWithOverrides() {
+        BenchmarkMapping mapping = RoutingFixture.newMapping(versions);
+        RoutingFixture.registerWithOverrides(mapping, versions, endpoints, style);
+        mapping.registerPendingHandlerMethods();
+        mapping.initialized = true;
+        mapping.publishRouting();
+        return mapping.getRoutingSnapshot();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RoutingRegistrationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
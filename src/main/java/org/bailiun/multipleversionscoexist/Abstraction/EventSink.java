@@ -0,0 +1,30 @@
+package org.bailiun.multipleversionscoexist.Abstraction;
+
+import org.bailiun.multipleversionscoexist.en.EventLevel;
+/**
+ * EventSink
+ *
+ * <p>事件日志的输出目标,由事件日志的后台线程调用,开发者可以通过实现此接口将事件写入其他系统<br>Destination of the event log, called from the event log's background thread; implement it to ship events elsewhere</p>
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>只会被单个后台线程调用,实现无需线程安全<br>Only called from a single background thread, implementations need not be thread-safe</li>
+ *   <li>消息中的 {@code {}} 为参数占位符,与 SLF4J 一致<br>{@code {}} in the message is an argument placeholder, as in SLF4J</li>
+ * </ul>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public interface EventSink {
+    /**
+     * 写出一条事件<br>Writes one event
+     *
+     * @param level   事件级别<br>Event level
+     * @param event   事件名称,例如 {@code route.match}<br>Event name, e.g. {@code route.match}
+     * @param message 消息模板<br>Message template
+     * @param arg0    第一个参数,可为空<br>First argument, may be {@code null}
+     * @param arg1    第二个参数,可为空<br>Second argument, may be {@code null}
+     * @param thrown  异常,可为空<br>Throwable, may be {@code null}
+     */
+    void write(EventLevel level, String event, String message, Object arg0, Object arg1, Throwable thrown);
+}
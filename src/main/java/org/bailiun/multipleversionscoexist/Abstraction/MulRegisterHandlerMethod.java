@@ -7,6 +7,8 @@ import org.bailiun.multipleversionscoexist.en.DualMap;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
 /**
  * MulRegisterHandlerMethod
  *
@@ -15,6 +17,7 @@ import java.lang.reflect.Method;
  * <p>Features:</p>
  * <ul>
  *   <li>异常捕捉后的信息输出<br>Information output after exception catching</li>
+ *   <li>启动阶段路径冲突的批量输出<br>Batch output of the path conflicts found at startup</li>
  *   <li>为不同版本相同路径的接口生成一个新注册名<br>Generate a new registered name for interfaces with different versions of the same path</li>
  *   <li>@InterfacePriority相关注解的优先值判断方法<br>@InterfacePriority Priority method for related annotations</li>
  *   <li>获取接口的实际路径<br>Gets the actual path of the interface</li>
@@ -32,6 +35,24 @@ public interface MulRegisterHandlerMethod {
      * @param cv 注解@CoexistenceVersion的实例,可为空<br> cv Annotation for the instance of @CoexistenceVersion can be empty.
      */
     void PrintIllegalStateException(Method method,String path,CoexistenceVersion cv);
+    /**
+     * 启动阶段统一裁决优先级后，一次性输出全部路径冲突<br>Print every path conflict found by the startup priority resolution in one batch
+     *
+     * @param conflicts <带版本前缀的路径,未被注入的方法><br>Versioned path to the methods that were not injected
+     */
+    default void PrintConflicts(Map<String, List<Method>> conflicts) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\uD83D\uDD39 接口注入发现").append(conflicts.size()).append("处路径冲突,以下接口已停止注入:");
+        conflicts.forEach((path, methods) -> {
+            sb.append(System.lineSeparator()).append('\t').append(path);
+            for (Method method : methods) {
+                sb.append(System.lineSeparator()).append("\t\t")
+                        .append(method.getDeclaringClass().getName()).append('#').append(method.getName());
+            }
+        });
+        sb.append(System.lineSeparator()).append("\t原因:存在路径完全一样且优先级相同的接口");
+        System.err.println(sb);
+    }
     /**
      * 为不同版本但路径重复的接口生成一个独立注册名<br>Generate an independent registration name for interfaces of different versions but with the same path.
      *
@@ -0,0 +1,26 @@
+package org.bailiun.multipleversionscoexist.Abstraction;
+
+import javax.servlet.http.HttpServletRequest;
+/**
+ * TenantResolver
+ *
+ * <p>从请求中解析租户标识,开发者可以通过实现此接口来自定义租户识别方式<br>Resolves the tenant of a request; implement it to customize how tenants are identified</p>
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>租户只能访问 {@code multi.version.tenants} 中为其固定的版本<br>A tenant may only access the versions pinned for it in {@code multi.version.tenants}</li>
+ *   <li>返回 {@code null} 或未配置的租户时使用全局路由<br>{@code null} or an unconfigured tenant uses the global routing</li>
+ * </ul>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public interface TenantResolver {
+    /**
+     * 从请求中解析租户标识<br>Resolves the tenant identifier from the request
+     *
+     * @param request 当前请求<br>The current request
+     * @return 租户标识,无法识别时返回 {@code null}<br>The tenant identifier, or {@code null} when unknown
+     */
+    String resolveTenant(HttpServletRequest request);
+}
@@ -0,0 +1,27 @@
+package org.bailiun.multipleversionscoexist.Abstraction;
+
+import javax.servlet.http.HttpServletRequest;
+/**
+ * VersionResolver
+ *
+ * <p>从请求中解析客户端指定的版本,开发者可以通过实现此接口来扩展版本协商方式<br>Resolves the version requested by the client; implement it to add another way of version negotiation</p>
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>返回的版本名称与 {@code @CoexistenceVersion} 中的版本名称一致,例如 {@code "v2"}<br>The returned name equals the one in {@code @CoexistenceVersion}, e.g. {@code "v2"}</li>
+ *   <li>返回 {@code null} 表示请求未指定版本,按版本顺序逐个匹配<br>{@code null} means no version was requested and versions are tried in order</li>
+ *   <li>指定的版本不存在或不包含该接口时,同样回退到按版本顺序匹配<br>An unknown version, or one without the endpoint, also falls back to ordered matching</li>
+ * </ul>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public interface VersionResolver {
+    /**
+     * 从请求中解析版本名称<br>Resolves the version name from the request
+     *
+     * @param request 当前请求<br>The current request
+     * @return 版本名称,未指定时返回 {@code null}<br>The version name, or {@code null} when none was requested
+     */
+    String resolveVersion(HttpServletRequest request);
+}
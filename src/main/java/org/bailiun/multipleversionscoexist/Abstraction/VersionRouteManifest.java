@@ -0,0 +1,40 @@
+package org.bailiun.multipleversionscoexist.Abstraction;
+
+import org.bailiun.multipleversionscoexist.en.ManifestRoute;
+
+import java.util.List;
+/**
+ * VersionRouteManifest
+ *
+ * <p>编译期生成的版本路由清单,由 {@code VersionRouteProcessor} 生成,启动时用于代替逐个接口的优先级裁决<br>The version route manifest generated at build time by {@code VersionRouteProcessor}; at startup it replaces the per-handler priority resolution</p>
+ *
+ * <p>Features:</p>
+ * <ul>
+ *   <li>列出全部版本接口及其优先级,被覆盖的接口标记为未启用并记录覆盖者<br>Lists every versioned route with its priority; overridden routes are inactive and name the route that overrode them</li>
+ *   <li>优先级相同的重复接口在编译期即报错,不会出现在清单中<br>Same-priority duplicates fail the build and never reach the manifest</li>
+ *   <li>清单与运行时注册的接口不一致或排序方式不同时,启动阶段回退为运行时裁决<br>When the manifest does not match the registered handlers, or the sorting method differs, startup falls back to runtime resolution</li>
+ * </ul>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public interface VersionRouteManifest {
+    /**
+     * 生成的清单类的全限定名<br>Fully qualified name of the generated manifest class
+     */
+    String GENERATED_CLASS_NAME = "org.bailiun.multipleversionscoexist.generated.GeneratedVersionRouteManifest";
+
+    /**
+     * 获取全部版本接口,按源码顺序排列<br>Returns every versioned route in source order
+     *
+     * @return 版本接口列表<br>The versioned routes
+     */
+    List<ManifestRoute> getRoutes();
+
+    /**
+     * 生成清单时使用的优先级排序方式,{@code MAX} 或 {@code MIN}<br>The priority sorting method the manifest was generated with, {@code MAX} or {@code MIN}
+     *
+     * @return 排序方式<br>The sorting method
+     */
+    String getSortingMethod();
+}
@@ -8,6 +8,7 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.bailiun.multipleversionscoexist.config.RetryPolicy;
 import org.bailiun.multipleversionscoexist.config.SynOpeImplementation;
 import org.bailiun.multipleversionscoexist.config.SynchronousOperationAsyncRetryExecutor;
+import org.bailiun.multipleversionscoexist.en.EventLog;
 import org.bailiun.multipleversionscoexist.en.ExecutionMode;
 import org.springframework.stereotype.Component;
 
@@ -28,6 +29,9 @@ public class SynchronousOperationAspect {
     private List<SynOpeImplementation> implementations;
 
     SynchronousOperationAsyncRetryExecutor are;
+
+    /** 异步事件日志,切面执行路径上不直接输出到控制台 */
+    EventLog eventLog = EventLog.getDefault();
     public void setImplementations(List<SynOpeImplementation> implementations,
                                    ExecutorService executor,
                                    RetryPolicy retryPolicy) {
@@ -144,14 +148,14 @@ public class SynchronousOperationAspect {
                     // 强制传递三个参数
                     method.invoke(impl, args, result, throwable);
                 } catch (Exception ex) {
-                    System.err.println("Failed to execute sync method: " + ex.getMessage());
+                    eventLog.warn("sync.method.failure", "Failed to execute sync method: {}", methodName, ex);
                 }
                 found = true;
                 // 不 break，这样多个实现类的方法都会执行
             }
         }
         if (!found) {
-            System.out.println("不存在此方法: " + methodName);
+            eventLog.warn("sync.method.missing", "不存在此方法: {}", methodName);
         }
     }
 
@@ -159,17 +163,12 @@ public class SynchronousOperationAspect {
     /** 请保留原来的逻辑结构，不改变 SynOpeImplementation 的用法 */
     private void runMethod(String methodName, Object[] args, Object result, Throwable throwable, ExecutionMode mode) throws InvocationTargetException, IllegalAccessException {
         for (SynOpeImplementation impl : implementations) {
-            Method method = Arrays.stream(impl.getClass().getMethods())
-                    .filter(m -> m.getName().equals(methodName) && m.getParameterCount() == 3)
-                    .findFirst()
-                    .orElse(null);
+            Method method = impl.getHookMethod(methodName);
 
             if (method == null) {
-                System.err.println("未找到方法"+methodName+"请检查方法名称是否正确或参数是否为:"+methodName+"(Object[] args, Object result, Throwable throwable)");
-                System.err.println(
-                        "Method '" + methodName + "' was not found. Please verify that the method name is correct " +
-                                "and that it has the expected signature: " + methodName + "(Object[] args, Object result, Throwable throwable)"
-                );
+                eventLog.warn("sync.method.missing", "未找到方法{}请检查方法名称是否正确或参数是否为:{}(Object[] args, Object result, Throwable throwable) / " +
+                        "Method was not found, please verify the name and the signature (Object[] args, Object result, Throwable throwable)",
+                        methodName, methodName);
                 continue;};
 
             if (mode == ExecutionMode.SYNC) {
@@ -179,8 +178,8 @@ public class SynchronousOperationAspect {
             if (mode == ExecutionMode.ASYNC) {
                 are.submitWithRetry(
                         () -> { method.invoke(impl, args, result, throwable); return null; },
-                        ex -> System.err.println("异步失败: " + ex.getMessage()),
-                        () -> System.out.println("异步成功: " + methodName)
+                        ex -> eventLog.warn("sync.async.failure", "异步失败: {} {}", methodName, ex.getMessage(), ex),
+                        () -> eventLog.debug("sync.async.success", "异步成功: {}", methodName)
                 );
             }
         }
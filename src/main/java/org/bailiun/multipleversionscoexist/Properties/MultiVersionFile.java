@@ -14,13 +14,16 @@ import java.util.Objects;
  * <p><b>中文说明：</b><br>
  * 本类用于通过本地文件控制多版本接口的可访问性。
  * 当 {@code FileConfiguration=true} 时，系统会自动检测 {@code FilePath} 指定的路径，
- * 如果文件不存在，则会自动创建；并按照 {@code FileRefreshTime} 设置的间隔定时刷新文件内容。</p>
+ * 如果文件不存在，则会自动创建；文件变化时通过 {@code WatchService} 即时重新加载，
+ * 同时按照 {@code FileRefreshTime} 设置的间隔轮询作为兜底（关闭 {@code FileWatchService} 或文件系统不支持时轮询是唯一的刷新方式）。</p>
  *
  * <p><b>English Description:</b><br>
  * This class manages the accessibility of multi-versioned APIs using a local configuration file.
  * When {@code FileConfiguration=true}, the system checks the specified {@code FilePath}.
  * If the file does not exist, it will be automatically created.
- * The file content will be periodically refreshed based on {@code FileRefreshTime}.</p>
+ * The file is reloaded as soon as it changes through a {@code WatchService}, and it is also polled every
+ * {@code FileRefreshTime} ms as a safety net (the only refresh with {@code FileWatchService} disabled, or where
+ * watching is unsupported).</p>
  *
  * <p><b>Configuration Prefix:</b> <code>multi.version.file</code></p>
  *
@@ -32,6 +35,8 @@ import java.util.Objects;
  *       file-configuration: true
  *       file-path: config/VersionConfig.txt
  *       file-refresh-time: 5000
+ *       file-watch-service: true
+ *       file-debounce-time: 300
  * </pre>
  *
  * @author Bailiun
@@ -53,12 +58,28 @@ public class MultiVersionFile {
     private String FilePath;
 
     /**
-     * 文件内容刷新时间间隔（单位：毫秒）。
-     * <br>Time interval (in milliseconds) for reading and refreshing the configuration file.
+     * 文件内容刷新时间间隔（单位：毫秒），开启 {@code FileWatchService} 时作为兜底轮询，0 表示不轮询。
+     * <br>Time interval (in milliseconds) for reading and refreshing the configuration file; a safety-net poll next to
+     * {@code FileWatchService}, 0 disables polling.
      * <p>Default: 5000 ms (5 seconds)</p>
      */
     private Integer FileRefreshTime;
 
+    /**
+     * 是否使用文件系统事件（{@code WatchService}）监听文件变化，关闭后只按 {@code FileRefreshTime} 轮询。
+     * <br>Whether to watch the file through file-system events ({@code WatchService}); when disabled the file is
+     * only polled every {@code FileRefreshTime} ms.
+     * <p>Default: true；NFS 等不支持 inotify 的文件系统应关闭 / disable it on file systems without inotify support such as NFS</p>
+     */
+    private boolean FileWatchService;
+
+    /**
+     * 文件变化后的防抖时间（单位：毫秒），时间窗口内的连续修改只触发一次重新加载。
+     * <br>Debounce time (in milliseconds) after a change; a burst of edits within the window triggers a single reload.
+     * <p>Default: 300 ms</p>
+     */
+    private Integer FileDebounceTime;
+
     /**
      * 构造函数：设置默认值。
      * <br>Constructor: initializes default property values.
@@ -66,6 +87,8 @@ public class MultiVersionFile {
     public MultiVersionFile() {
         FileConfiguration = false;
         FileRefreshTime = 5000;
+        FileWatchService = true;
+        FileDebounceTime = 300;
         FilePath = "";
     }
 
@@ -142,4 +165,20 @@ public class MultiVersionFile {
     public void setFileRefreshTime(Integer fileRefreshTime) {
         FileRefreshTime = fileRefreshTime;
     }
+
+    public boolean isFileWatchService() {
+        return FileWatchService;
+    }
+
+    public void setFileWatchService(boolean fileWatchService) {
+        FileWatchService = fileWatchService;
+    }
+
+    public Integer getFileDebounceTime() {
+        return FileDebounceTime;
+    }
+
+    public void setFileDebounceTime(Integer fileDebounceTime) {
+        FileDebounceTime = fileDebounceTime;
+    }
 }
@@ -7,7 +7,10 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import javax.annotation.PostConstruct;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * <h2>多版本信息配置类 / Multi-Version Information Configuration</h2>
@@ -38,6 +41,9 @@ import java.util.List;
  *           desc: 初始版本
  *           enabled: true
  *           created: 2025-01-01
+ *         - name: v3
+ *           fallback: [v2, v1]     # v3 未提供的接口依次由 v2、v1 提供
+ *       fallback-order: [v3, v2, v1]  # 未单独声明 fallback 的版本按此顺序回退到下一个版本
  * </pre>
  *
  * @author bailiun
@@ -65,6 +71,14 @@ public class MultiVersionInfo {
     @JsonIgnore
     private VersionInfoList<VersionMeta> versionsInfo;
 
+    /**
+     * <p><b>中文：</b>全局回退顺序，例如 {@code [v3, v2, v1]} 表示 v3 回退到 v2、v2 回退到 v1；
+     * 版本自身声明的 {@link VersionMeta#getFallback()} 优先。</p>
+     * <p><b>English:</b> Global fallback order, e.g. {@code [v3, v2, v1]} makes v3 fall back to v2 and v2 to v1;
+     * a version's own {@link VersionMeta#getFallback()} takes precedence.</p>
+     */
+    private List<String> fallbackOrder;
+
     /**
      * 获取包装后的版本信息列表 / Get the wrapped version info list
      */
@@ -97,6 +111,70 @@ public class MultiVersionInfo {
     public MultiVersionInfo() {
         this.start = false;
         this.versionInfoList = new ArrayList<>();
+        this.fallbackOrder = new ArrayList<>();
+    }
+
+    /**
+     * 获取版本的完整回退链 / Get the Full Fallback Chain of a Version
+     *
+     * <p><b>中文说明：</b><br>
+     * 按声明顺序深度优先展开回退版本（v3 → v2 → v1），跳过自身与重复版本，因此循环声明不会导致死循环。</p>
+     *
+     * <p><b>English Description:</b><br>
+     * Expands the declared fallbacks depth-first in declaration order (v3 → v2 → v1), skipping the version
+     * itself and duplicates, so cyclic declarations terminate.</p>
+     *
+     * @param version 版本名称 / Version name
+     * @return 回退链，不包含版本自身 / The fallback chain, excluding the version itself
+     */
+    public List<String> getFallbackChain(String version) {
+        Set<String> chain = new LinkedHashSet<>();
+        chain.add(version);
+        expandFallback(version, chain);
+        chain.remove(version);
+        return new ArrayList<>(chain);
+    }
+
+    private void expandFallback(String version, Set<String> chain) {
+        for (String fallback : getDirectFallback(version)) {
+            if (chain.add(fallback)) {
+                expandFallback(fallback, chain);
+            }
+        }
+    }
+
+    /**
+     * 获取版本直接声明的回退版本 / Get the Directly Declared Fallbacks of a Version
+     */
+    private List<String> getDirectFallback(String version) {
+        for (VersionMeta meta : versionInfoList) {
+            if (version.equals(meta.getName()) && meta.getFallback() != null && !meta.getFallback().isEmpty()) {
+                return meta.getFallback();
+            }
+        }
+        int index = fallbackOrder.indexOf(version);
+        if (index >= 0 && index + 1 < fallbackOrder.size()) {
+            return Collections.singletonList(fallbackOrder.get(index + 1));
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * 获取所有声明了回退的版本 / Get Every Version Declaring a Fallback
+     *
+     * @return 版本名称集合 / Version names
+     */
+    public Set<String> getFallbackVersions() {
+        Set<String> versions = new LinkedHashSet<>();
+        for (VersionMeta meta : versionInfoList) {
+            if (meta.getFallback() != null && !meta.getFallback().isEmpty()) {
+                versions.add(meta.getName());
+            }
+        }
+        for (int i = 0; i + 1 < fallbackOrder.size(); i++) {
+            versions.add(fallbackOrder.get(i));
+        }
+        return versions;
     }
 
     /**
@@ -129,4 +207,10 @@ public class MultiVersionInfo {
     public void setVersionInfoList(List<VersionMeta> versionInfoList) {
         this.versionInfoList = versionInfoList;
     }
+    public List<String> getFallbackOrder() {
+        return fallbackOrder;
+    }
+    public void setFallbackOrder(List<String> fallbackOrder) {
+        this.fallbackOrder = fallbackOrder;
+    }
 }
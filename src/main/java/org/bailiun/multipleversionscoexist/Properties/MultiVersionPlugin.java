@@ -0,0 +1,110 @@
+package org.bailiun.multipleversionscoexist.Properties;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * <h2>多版本插件配置 / Multi-Version Plugin Configuration</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 本类用于配置以独立 jar 热部署的版本插件。
+ * 当 {@code PluginConfiguration=true} 时，系统会监视 {@code PluginPath} 目录，
+ * 为其中每个 jar 创建独立的类加载器并在运行时注册其中的 {@code @CoexistenceVersion} 控制器；
+ * jar 被删除或替换时注销对应接口，并在宽限期后释放类加载器。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * This class configures versions hot-deployed as separate plugin jars.
+ * When {@code PluginConfiguration=true}, the {@code PluginPath} directory is watched; every jar gets its own
+ * class loader and its {@code @CoexistenceVersion} controllers are registered at runtime. Removing or replacing
+ * a jar unregisters its handlers and releases the class loader after a grace period.</p>
+ *
+ * <p><b>Configuration Prefix:</b> <code>multi.plugin</code></p>
+ *
+ * <p><b>Example (application.yml):</b></p>
+ * <pre>
+ * multi:
+ *   plugin:
+ *     plugin-configuration: true
+ *     plugin-path: plugins
+ *     plugin-refresh-time: 5000
+ *     plugin-release-delay: 30000
+ * </pre>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+@ConfigurationProperties(prefix = "multi.plugin")
+public class MultiVersionPlugin {
+    /**
+     * 是否启用版本插件。
+     * <br>Whether version plugins are enabled.
+     */
+    private boolean PluginConfiguration;
+
+    /**
+     * 插件 jar 所在目录。
+     * <br>Directory holding the plugin jars.
+     * <p><b>Example:</b> {@code plugins}</p>
+     */
+    private String PluginPath;
+
+    /**
+     * 插件目录扫描间隔（单位：毫秒）。新 jar 需在连续两次扫描中大小与修改时间不变才会加载，避免读取未写完的文件。
+     * <br>Interval (in milliseconds) between plugin directory scans. A new jar is loaded only once its size and
+     * modification time are unchanged across two scans, so half-written files are never read.
+     * <p>Default: 5000 ms (5 seconds)</p>
+     */
+    private Integer PluginRefreshTime;
+
+    /**
+     * 旧插件释放前的宽限期（单位：毫秒）。jar 被替换或删除后接口立即切换，旧插件的 Bean、类加载器与临时副本在宽限期后才释放，
+     * 让切换前已进入旧接口的请求执行完毕；不大于 0 时立即释放。
+     * <br>Grace period (in milliseconds) before an old plugin is released. Handlers switch as soon as a jar is replaced
+     * or removed, but the old plugin's beans, class loader and copy are only released after this period, so requests
+     * already inside the old handlers can finish; released at once when not positive.
+     * <p>Default: 30000 ms (30 seconds)</p>
+     */
+    private Integer PluginReleaseDelay;
+
+    /**
+     * 构造函数：设置默认值。
+     * <br>Constructor: initializes default property values.
+     */
+    public MultiVersionPlugin() {
+        PluginConfiguration = false;
+        PluginPath = "plugins";
+        PluginRefreshTime = 5000;
+        PluginReleaseDelay = 30000;
+    }
+
+    public boolean isPluginConfiguration() {
+        return PluginConfiguration;
+    }
+
+    public void setPluginConfiguration(boolean pluginConfiguration) {
+        PluginConfiguration = pluginConfiguration;
+    }
+
+    public String getPluginPath() {
+        return PluginPath;
+    }
+
+    public void setPluginPath(String pluginPath) {
+        PluginPath = pluginPath;
+    }
+
+    public Integer getPluginRefreshTime() {
+        return PluginRefreshTime;
+    }
+
+    public void setPluginRefreshTime(Integer pluginRefreshTime) {
+        PluginRefreshTime = pluginRefreshTime;
+    }
+
+    public Integer getPluginReleaseDelay() {
+        return PluginReleaseDelay;
+    }
+
+    public void setPluginReleaseDelay(Integer pluginReleaseDelay) {
+        PluginReleaseDelay = pluginReleaseDelay;
+    }
+}
@@ -4,7 +4,9 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * <h2>多版本管理配置 / Multi-Version Management Configuration</h2>
@@ -54,11 +56,124 @@ public class MultiVersionProperties {
      * <code>MIN</code> for descending, case-insensitive.
      */
     private String SortingMethod;
+    /**
+     * 是否启用接口解析结果缓存（默认关闭）。
+     * <br>Whether to cache resolved handlers per (HTTP method, lookup path, accessible versions), disabled by default.
+     */
+    private boolean HandlerCache;
+    /**
+     * 接口解析结果缓存的最大条目数（默认 1024）。
+     * <br>Maximum number of entries kept by the resolved-handler cache (default: 1024).
+     */
+    private Integer HandlerCacheSize;
+    /**
+     * 是否开放运行时版本启停管理接口 <code>/multi-version/versions</code>（默认关闭）。
+     * <br>Whether to expose the runtime version enable/disable endpoint <code>/multi-version/versions</code>, disabled by default.
+     */
+    private boolean AdminEndpoint;
+    /**
+     * 版本解析方式，按顺序尝试：path、header、query、media-type、host、sticky（默认仅 path，即按版本顺序匹配路径）。
+     * <br>Version resolvers tried in order: path, header, query, media-type, host, sticky (default: path only, i.e. ordered path matching).
+     */
+    private List<String> Resolvers;
+    /**
+     * header 方式使用的请求头名称（默认 X-API-Version）。
+     * <br>Request header used by the header resolver (default: X-API-Version).
+     */
+    private String VersionHeader;
+    /**
+     * query 与 media-type 方式使用的参数名称（默认 version）。
+     * <br>Parameter name used by the query and media-type resolvers (default: version).
+     */
+    private String VersionParameter;
+    /**
+     * 灰度分流规则，作用于未指定版本的请求，例如 <code>/orders/** v2=5 v1=95</code>。
+     * <br>Canary rules for requests that did not name a version, e.g. <code>/orders/** v2=5 v1=95</code>.
+     */
+    private List<String> Canary;
+    /**
+     * sticky 方式的客户端键来源：cookie:名称、header:名称 或 jwt（默认 header:X-User-Id）。
+     * <br>Client key source of the sticky resolver: cookie:name, header:name or jwt (default: header:X-User-Id).
+     */
+    private String StickyKey;
+    /**
+     * sticky 方式一致性哈希环上每个版本的虚拟节点数（默认 160）。
+     * <br>Virtual nodes per version on the sticky resolver's consistent-hash ring (default: 160).
+     */
+    private Integer StickyVirtualNodes;
+    /**
+     * 租户固定的版本，例如 <code>multi.version.tenants.acme=v1,v2</code>，租户只能访问其固定的版本。
+     * <br>Versions pinned per tenant, e.g. <code>multi.version.tenants.acme=v1,v2</code>; a tenant may only access its pinned versions.
+     */
+    private Map<String, List<String>> Tenants;
+    /**
+     * 识别租户的请求头名称（默认 X-Tenant-Id）。
+     * <br>Request header identifying the tenant (default: X-Tenant-Id).
+     */
+    private String TenantHeader;
+    /**
+     * 是否严格隔离租户（默认关闭）。关闭时未携带租户标识或未配置的租户可访问全部版本；开启后这些请求无法访问任何版本接口，只能访问未分版本的接口。
+     * <br>Whether tenants are strictly isolated (default: false). When off, requests without a tenant or with an unconfigured tenant may access every version; when on, such requests cannot reach any versioned handler, only unversioned ones.
+     */
+    private boolean TenantStrict;
+    /**
+     * 事件日志级别：TRACE、DEBUG、INFO、WARN、ERROR（默认 INFO），路由匹配等高频事件为 DEBUG。
+     * <br>Event log level: TRACE, DEBUG, INFO, WARN or ERROR (default: INFO); frequent events such as route matches are DEBUG.
+     */
+    private String EventLogLevel;
+    /**
+     * 事件采样间隔，例如 <code>multi.version.event-sampling.route.match=100</code> 表示平均每 100 次记录 1 次。
+     * <br>Sampling interval per event, e.g. <code>multi.version.event-sampling.route.match=100</code> keeps one in 100 on average.
+     */
+    private Map<String, Integer> EventSampling;
+    /**
+     * 是否按版本与接口统计请求数、错误数与耗时分布（默认关闭），存在 Micrometer 时同时导出。
+     * <br>Whether request count, errors and latency distribution are recorded per version and endpoint (default: false); exported through Micrometer when present.
+     */
+    private boolean Metrics;
+    /**
+     * 是否使用编译期 VersionRouteProcessor 生成的版本路由清单裁决接口优先级（默认开启），清单不存在或与接口不一致时自动回退为启动时裁决。
+     * <br>Whether the version route manifest generated by VersionRouteProcessor decides interface priorities (default: true); falls back to startup resolution when the manifest is absent or stale.
+     */
+    private boolean RouteManifest;
+    /**
+     * 持久化版本路由表的文件路径（默认不开启）。配置后启动时若类路径与配置未变则复用上次的裁决结果，否则完整裁决并重写该文件。
+     * <br>Path of the persisted versioned routing table (disabled by default). When set, the previous resolution is reused if the classpath and configuration are unchanged; otherwise routes are fully resolved and the file is rewritten.
+     */
+    private String RoutingTableFile;
+    /**
+     * 是否延迟初始化非常驻版本的控制器（默认关闭）。开启后只包含这些版本接口的控制器在该版本首次被访问时才创建，路由表仍包含其全部路径。
+     * <br>Whether controllers of non-resident versions are initialized lazily (default: false). When enabled, controllers that only serve such versions are created on the version's first hit; the routing table still knows all their paths.
+     */
+    private boolean LazyVersions;
+    /**
+     * 开启 LazyVersions 时仍立即初始化的常驻版本，例如 <code>multi.version.eager-versions=v3,v4</code>。
+     * <br>Resident versions whose controllers stay eager when LazyVersions is enabled, e.g. <code>multi.version.eager-versions=v3,v4</code>.
+     */
+    private List<String> EagerVersions;
 
     public MultiVersionProperties() {
         start = true;
         SortingMethod = "MAX";
         MaxNum = 10;
+        HandlerCache = false;
+        HandlerCacheSize = 1024;
+        AdminEndpoint = false;
+        Resolvers = new ArrayList<>();
+        VersionHeader = "X-API-Version";
+        VersionParameter = "version";
+        Canary = new ArrayList<>();
+        StickyKey = "header:X-User-Id";
+        StickyVirtualNodes = 160;
+        Tenants = new LinkedHashMap<>();
+        TenantHeader = "X-Tenant-Id";
+        TenantStrict = false;
+        EventLogLevel = "INFO";
+        EventSampling = new LinkedHashMap<>();
+        Metrics = false;
+        RouteManifest = true;
+        LazyVersions = false;
+        EagerVersions = new ArrayList<>();
         Include = new ArrayList<>();
         exclude = new ArrayList<>();
     }
@@ -120,5 +235,157 @@ public class MultiVersionProperties {
         SortingMethod = sortingMethod;
     }
 
+    public boolean isHandlerCache() {
+        return HandlerCache;
+    }
+
+    public void setHandlerCache(boolean handlerCache) {
+        HandlerCache = handlerCache;
+    }
+
+    public Integer getHandlerCacheSize() {
+        return HandlerCacheSize;
+    }
+
+    public void setHandlerCacheSize(Integer handlerCacheSize) {
+        HandlerCacheSize = handlerCacheSize;
+    }
+
+    public boolean isAdminEndpoint() {
+        return AdminEndpoint;
+    }
+
+    public void setAdminEndpoint(boolean adminEndpoint) {
+        AdminEndpoint = adminEndpoint;
+    }
+
+    public List<String> getResolvers() {
+        return Resolvers;
+    }
+
+    public void setResolvers(List<String> resolvers) {
+        Resolvers = resolvers;
+    }
+
+    public String getVersionHeader() {
+        return VersionHeader;
+    }
+
+    public void setVersionHeader(String versionHeader) {
+        VersionHeader = versionHeader;
+    }
+
+    public String getVersionParameter() {
+        return VersionParameter;
+    }
+
+    public void setVersionParameter(String versionParameter) {
+        VersionParameter = versionParameter;
+    }
+
+    public List<String> getCanary() {
+        return Canary;
+    }
+
+    public void setCanary(List<String> canary) {
+        Canary = canary;
+    }
+
+    public String getStickyKey() {
+        return StickyKey;
+    }
+
+    public void setStickyKey(String stickyKey) {
+        StickyKey = stickyKey;
+    }
+
+    public Integer getStickyVirtualNodes() {
+        return StickyVirtualNodes;
+    }
+
+    public void setStickyVirtualNodes(Integer stickyVirtualNodes) {
+        StickyVirtualNodes = stickyVirtualNodes;
+    }
+
+    public Map<String, List<String>> getTenants() {
+        return Tenants;
+    }
+
+    public void setTenants(Map<String, List<String>> tenants) {
+        Tenants = tenants;
+    }
+
+    public String getTenantHeader() {
+        return TenantHeader;
+    }
+
+    public void setTenantHeader(String tenantHeader) {
+        TenantHeader = tenantHeader;
+    }
+
+    public boolean isTenantStrict() {
+        return TenantStrict;
+    }
+
+    public void setTenantStrict(boolean tenantStrict) {
+        TenantStrict = tenantStrict;
+    }
+
+    public String getEventLogLevel() {
+        return EventLogLevel;
+    }
+
+    public void setEventLogLevel(String eventLogLevel) {
+        EventLogLevel = eventLogLevel;
+    }
+
+    public Map<String, Integer> getEventSampling() {
+        return EventSampling;
+    }
+
+    public void setEventSampling(Map<String, Integer> eventSampling) {
+        EventSampling = eventSampling;
+    }
+
+    public boolean isMetrics() {
+        return Metrics;
+    }
+
+    public void setMetrics(boolean metrics) {
+        Metrics = metrics;
+    }
+
+    public boolean isRouteManifest() {
+        return RouteManifest;
+    }
+
+    public void setRouteManifest(boolean routeManifest) {
+        RouteManifest = routeManifest;
+    }
+
+    public String getRoutingTableFile() {
+        return RoutingTableFile;
+    }
+
+    public void setRoutingTableFile(String routingTableFile) {
+        RoutingTableFile = routingTableFile;
+    }
+
+    public boolean isLazyVersions() {
+        return LazyVersions;
+    }
+
+    public void setLazyVersions(boolean lazyVersions) {
+        LazyVersions = lazyVersions;
+    }
+
+    public List<String> getEagerVersions() {
+        return EagerVersions;
+    }
+
+    public void setEagerVersions(List<String> eagerVersions) {
+        EagerVersions = eagerVersions;
+    }
+
 
 }
@@ -0,0 +1,32 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.bailiun.multipleversionscoexist.Abstraction.TenantResolver;
+
+import javax.servlet.http.HttpServletRequest;
+/**
+ * <h2>请求头租户解析器 / Header Tenant Resolver</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 从指定请求头（默认 {@code X-Tenant-Id}）读取租户标识。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Reads the tenant identifier from a request header, {@code X-Tenant-Id} by default.</p>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public class HeaderTenantResolver implements TenantResolver {
+
+    /** 请求头名称 / Header name */
+    private final String headerName;
+
+    public HeaderTenantResolver(String headerName) {
+        this.headerName = headerName;
+    }
+
+    @Override
+    public String resolveTenant(HttpServletRequest request) {
+        String tenant = request.getHeader(headerName);
+        return tenant == null || tenant.isEmpty() ? null : tenant.trim();
+    }
+}
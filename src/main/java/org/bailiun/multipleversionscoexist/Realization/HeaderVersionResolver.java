@@ -0,0 +1,42 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.bailiun.multipleversionscoexist.Abstraction.VersionResolver;
+
+import javax.servlet.http.HttpServletRequest;
+/**
+ * <h2>请求头版本解析器 / Header Version Resolver</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 从指定请求头（默认 {@code X-API-Version}）读取版本名称。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Reads the version name from a request header, {@code X-API-Version} by default.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>
+ * GET /api/hello
+ * X-API-Version: v2
+ * </pre>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public class HeaderVersionResolver implements VersionResolver {
+
+    /** 请求头名称 / Header name */
+    private final String headerName;
+
+    public HeaderVersionResolver(String headerName) {
+        this.headerName = headerName;
+    }
+
+    @Override
+    public String resolveVersion(HttpServletRequest request) {
+        String version = request.getHeader(headerName);
+        if (version == null) {
+            return null;
+        }
+        version = version.trim();
+        return version.isEmpty() ? null : version;
+    }
+}
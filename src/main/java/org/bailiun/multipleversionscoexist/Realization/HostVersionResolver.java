@@ -0,0 +1,54 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.bailiun.multipleversionscoexist.Abstraction.VersionResolver;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+/**
+ * <h2>子域名版本解析器 / Host Subdomain Version Resolver</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 取 Host 的第一个标签作为版本名称，只在 Host 至少包含三个标签时生效，
+ * 例如 {@code v2.api.example.com} 解析为 {@code v2}；不像版本名称的标签（如 {@code www}、{@code api}
+ * 或 IP 地址的数字段）会被忽略。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Uses the first label of the host as the version name, only when the host has at least three labels,
+ * e.g. {@code v2.api.example.com} resolves to {@code v2}; labels that do not look like a version name (such as
+ * {@code www}, {@code api} or the numeric octets of an IP address) are ignored.</p>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public class HostVersionResolver implements VersionResolver {
+
+    /** 默认的版本标签格式，例如 {@code v2}、{@code V1_1} / Default version label format, e.g. {@code v2}, {@code V1_1} */
+    public static final Pattern DEFAULT_VERSION_LABEL = Pattern.compile("[vV]\\d+(?:[._-]\\d+)*");
+
+    /** 版本标签格式 / Version label format */
+    private final Pattern versionLabel;
+
+    public HostVersionResolver() {
+        this(DEFAULT_VERSION_LABEL);
+    }
+
+    public HostVersionResolver(Pattern versionLabel) {
+        this.versionLabel = versionLabel;
+    }
+
+    @Override
+    public String resolveVersion(HttpServletRequest request) {
+        String host = request.getServerName();
+        if (host == null) {
+            return null;
+        }
+        int first = host.indexOf('.');
+        // 至少三个标签,避免把 example.com 中的 example 当作版本
+        if (first <= 0 || host.indexOf('.', first + 1) < 0) {
+            return null;
+        }
+        String label = host.substring(0, first);
+        // www.example.com、api.example.com 等普通子域名不是版本
+        return versionLabel.matcher(label).matches() ? label : null;
+    }
+}
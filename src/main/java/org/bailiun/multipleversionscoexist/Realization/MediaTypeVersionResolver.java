@@ -0,0 +1,77 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.bailiun.multipleversionscoexist.Abstraction.VersionResolver;
+
+import javax.servlet.http.HttpServletRequest;
+/**
+ * <h2>媒体类型版本解析器 / Media Type Version Resolver</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 从 {@code Accept} 请求头解析版本，支持两种写法（取第一个携带版本的媒体类型）：</p>
+ * <ul>
+ *   <li>厂商类型：{@code application/vnd.x.v2+json}，取 {@code +} 之前最后一个 {@code .} 之后的部分</li>
+ *   <li>媒体类型参数：{@code application/json;version=v2}，参数名可配置</li>
+ * </ul>
+ *
+ * <p><b>English Description:</b><br>
+ * Resolves the version from the {@code Accept} header, using the first media type that carries one:</p>
+ * <ul>
+ *   <li>Vendor type: {@code application/vnd.x.v2+json}, the part after the last {@code .} before {@code +}</li>
+ *   <li>Media type parameter: {@code application/json;version=v2}, with a configurable parameter name</li>
+ * </ul>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public class MediaTypeVersionResolver implements VersionResolver {
+
+    /** 媒体类型参数名称 / Media type parameter name */
+    private final String parameterName;
+
+    public MediaTypeVersionResolver(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    @Override
+    public String resolveVersion(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        if (accept == null || accept.isEmpty()) {
+            return null;
+        }
+        for (String mediaType : accept.split(",")) {
+            String version = resolve(mediaType.trim());
+            if (version != null) {
+                return version;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析单个媒体类型 / Resolves a single media type
+     */
+    private String resolve(String mediaType) {
+        String[] parts = mediaType.split(";");
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            int eq = parameter.indexOf('=');
+            if (eq > 0 && parameter.substring(0, eq).trim().equalsIgnoreCase(parameterName)) {
+                String value = parameter.substring(eq + 1).trim();
+                return value.isEmpty() ? null : value;
+            }
+        }
+        String type = parts[0];
+        int slash = type.indexOf('/');
+        if (slash < 0 || !type.startsWith("vnd.", slash + 1)) {
+            return null;
+        }
+        int plus = type.indexOf('+', slash);
+        int end = plus < 0 ? type.length() : plus;
+        int dot = type.lastIndexOf('.', end - 1);
+        // vnd. 之后至少还有一个 . 才携带版本,例如 vnd.x.v2
+        if (dot <= slash + 4) {
+            return null;
+        }
+        return dot + 1 < end ? type.substring(dot + 1, end) : null;
+    }
+}
@@ -0,0 +1,26 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.bailiun.multipleversionscoexist.Abstraction.VersionResolver;
+
+import javax.servlet.http.HttpServletRequest;
+/**
+ * <h2>路径版本解析器 / Path Version Resolver</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 默认的版本选择方式：不从请求中读取版本，由访问路径按版本顺序逐个匹配已注册的版本接口。
+ * 放在解析器链末尾时表示“其余方式均未指定版本时按路径匹配”。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * The default selection: no version is read from the request and the lookup path is matched against the
+ * registered versions in order. At the end of a resolver chain it reads as "fall back to path matching".</p>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public class PathVersionResolver implements VersionResolver {
+
+    @Override
+    public String resolveVersion(HttpServletRequest request) {
+        return null;
+    }
+}
@@ -0,0 +1,76 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.bailiun.multipleversionscoexist.Abstraction.VersionResolver;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+/**
+ * <h2>查询参数版本解析器 / Query Parameter Version Resolver</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 从查询字符串中的指定参数（默认 {@code version}）读取版本名称。只解析 {@link HttpServletRequest#getQueryString()}，
+ * 不调用 {@code getParameter}，因此不会提前读取表单 POST 的请求体。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Reads the version name from a query string parameter, {@code version} by default. Only
+ * {@link HttpServletRequest#getQueryString()} is parsed; {@code getParameter} is never called, so the body of a
+ * form POST is not consumed.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>
+ * GET /api/hello?version=v2
+ * </pre>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public class QueryParameterVersionResolver implements VersionResolver {
+
+    /** 参数名称 / Parameter name */
+    private final String parameterName;
+
+    public QueryParameterVersionResolver(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    @Override
+    public String resolveVersion(HttpServletRequest request) {
+        String query = request.getQueryString();
+        if (query == null || query.isEmpty()) {
+            return null;
+        }
+        int start = 0;
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            int eq = query.indexOf('=', start);
+            int nameEnd = eq < 0 || eq > end ? end : eq;
+            if (parameterName.equals(decode(query.substring(start, nameEnd)))) {
+                // 与 getParameter 一致,同名参数取第一个
+                String version = nameEnd < end ? decode(query.substring(nameEnd + 1, end)) : null;
+                version = version == null ? null : version.trim();
+                return version == null || version.isEmpty() ? null : version;
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    /**
+     * 按 application/x-www-form-urlencoded 规则解码，格式错误时返回 {@code null} /
+     * Decodes using the application/x-www-form-urlencoded rules; {@code null} when malformed
+     */
+    private static String decode(String value) {
+        if (value.indexOf('%') < 0 && value.indexOf('+') < 0) {
+            return value;
+        }
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
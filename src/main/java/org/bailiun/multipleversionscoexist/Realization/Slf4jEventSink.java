@@ -0,0 +1,53 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.bailiun.multipleversionscoexist.Abstraction.EventSink;
+import org.bailiun.multipleversionscoexist.en.EventLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+/**
+ * <h2>SLF4J 事件输出 / SLF4J Event Sink</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 默认的事件输出目标，每个事件名称对应一个 Logger，名称为 {@code org.bailiun.multipleversionscoexist.事件名称}，
+ * 可在日志框架中按事件单独调整级别。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * The default event destination. Every event name gets its own logger named
+ * {@code org.bailiun.multipleversionscoexist.<event>}, so levels can be tuned per event in the logging backend.</p>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public class Slf4jEventSink implements EventSink {
+
+    /** Logger 名称前缀 / Logger name prefix */
+    private static final String PREFIX = "org.bailiun.multipleversionscoexist.";
+
+    /** 事件名称对应的 Logger，只由后台线程访问 / Loggers per event name, only touched by the background thread */
+    private final Map<String, Logger> loggers = new HashMap<>();
+
+    @Override
+    public void write(EventLevel level, String event, String message, Object arg0, Object arg1, Throwable thrown) {
+        Logger logger = loggers.computeIfAbsent(event, e -> LoggerFactory.getLogger(PREFIX + e));
+        Object[] args = thrown == null ? new Object[]{arg0, arg1} : new Object[]{arg0, arg1, thrown};
+        switch (level) {
+            case TRACE:
+                logger.trace(message, args);
+                break;
+            case DEBUG:
+                logger.debug(message, args);
+                break;
+            case INFO:
+                logger.info(message, args);
+                break;
+            case WARN:
+                logger.warn(message, args);
+                break;
+            default:
+                logger.error(message, args);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.bailiun.multipleversionscoexist.Abstraction.VersionResolver;
+import org.bailiun.multipleversionscoexist.en.ConsistentHashRing;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Locale;
+/**
+ * <h2>粘性版本解析器 / Sticky Version Resolver</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 从请求中取出客户端键，通过一致性哈希环（{@link ConsistentHashRing}）映射到某个已启用版本，
+ * 同一客户端在版本集合不变时总是落在同一版本；停用某个版本时只有该版本上的客户端会迁移。<br>
+ * 客户端键来源由 {@code multi.version.sticky-key} 指定：</p>
+ * <ul>
+ *   <li>{@code cookie:名称} —— 读取 Cookie</li>
+ *   <li>{@code header:名称} —— 读取请求头</li>
+ *   <li>{@code jwt} —— 读取 {@code Authorization: Bearer} 令牌载荷中的 {@code sub}（不校验签名，仅用于分流）</li>
+ * </ul>
+ * <p>请求中没有客户端键时不解析版本，交由后续方式处理。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Takes a client key from the request and maps it through a {@link ConsistentHashRing} onto one of the enabled
+ * versions, so a client stays on the same version while the version set is unchanged, and disabling a version only
+ * moves the clients that were on it.<br>
+ * The key source is set by {@code multi.version.sticky-key}:</p>
+ * <ul>
+ *   <li>{@code cookie:name} — a cookie</li>
+ *   <li>{@code header:name} — a request header</li>
+ *   <li>{@code jwt} — the {@code sub} claim of an {@code Authorization: Bearer} token (signature not verified, routing only)</li>
+ * </ul>
+ * <p>Requests without a client key resolve no version and are left to the next resolver.</p>
+ *
+ * @author Bailiun
+ * @since 1.0.0
+ */
+public class StickyVersionResolver implements VersionResolver {
+
+    /** 客户端键来源 / Client key source */
+    private final String source;
+
+    /** Cookie 或请求头名称 / Cookie or header name */
+    private final String name;
+
+    /** 每个版本的虚拟节点数 / Virtual nodes per version */
+    private final int virtualNodes;
+
+    /** 当前哈希环 / Current hash ring */
+    private volatile ConsistentHashRing ring = ConsistentHashRing.EMPTY;
+
+    /**
+     * @param stickyKey    客户端键来源，例如 {@code "cookie:uid"}、{@code "header:X-User-Id"}、{@code "jwt"} /
+     *                     Client key source, e.g. {@code "cookie:uid"}, {@code "header:X-User-Id"}, {@code "jwt"}
+     * @param virtualNodes 每个版本的虚拟节点数 / Virtual nodes per version
+     */
+    public StickyVersionResolver(String stickyKey, int virtualNodes) {
+        int colon = stickyKey.indexOf(':');
+        this.source = (colon < 0 ? stickyKey : stickyKey.substring(0, colon)).trim().toLowerCase(Locale.ROOT);
+        this.name = colon < 0 ? null : stickyKey.substring(colon + 1).trim();
+        if (!"jwt".equals(source) && (name == null || name.isEmpty()
+                || !("cookie".equals(source) || "header".equals(source)))) {
+            throw new IllegalArgumentException("sticky-key格式错误,应为 cookie:名称、header:名称 或 jwt: " + stickyKey);
+        }
+        this.virtualNodes = virtualNodes;
+    }
+
+    /**
+     * <p><b>中文说明：</b>以新的版本集合重建哈希环。</p>
+     * <p><b>English Description:</b> Rebuilds the ring for a new version set.</p>
+     *
+     * @param versions 已启用版本 / Enabled versions
+     */
+    public void setVersions(Collection<String> versions) {
+        this.ring = new ConsistentHashRing(versions, virtualNodes);
+    }
+
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    @Override
+    public String resolveVersion(HttpServletRequest request) {
+        String key = clientKey(request);
+        return key == null || key.isEmpty() ? null : ring.locate(key);
+    }
+
+    /**
+     * 读取客户端键 / Reads the client key
+     */
+    protected String clientKey(HttpServletRequest request) {
+        switch (source) {
+            case "cookie":
+                Cookie[] cookies = request.getCookies();
+                if (cookies != null) {
+                    for (Cookie cookie : cookies) {
+                        if (name.equals(cookie.getName())) {
+                            return cookie.getValue();
+                        }
+                    }
+                }
+                return null;
+            case "header":
+                return request.getHeader(name);
+            default:
+                return jwtSubject(request.getHeader("Authorization"));
+        }
+    }
+
+    /**
+     * 从 Bearer 令牌载荷中读取 {@code sub} / Reads {@code sub} from the payload of a bearer token
+     */
+    private static String jwtSubject(String authorization) {
+        if (authorization == null || !authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        String token = authorization.substring(7).trim();
+        int first = token.indexOf('.');
+        int second = token.indexOf('.', first + 1);
+        if (first < 0 || second < 0) {
+            return null;
+        }
+        String payload;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(token.substring(first + 1, second)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int claim = payload.indexOf("\"sub\"");
+        if (claim < 0) {
+            return null;
+        }
+        int colon = payload.indexOf(':', claim + 5);
+        int start = colon < 0 ? -1 : payload.indexOf('"', colon + 1);
+        int end = start < 0 ? -1 : payload.indexOf('"', start + 1);
+        return end < 0 ? null : payload.substring(start + 1, end);
+    }
+}
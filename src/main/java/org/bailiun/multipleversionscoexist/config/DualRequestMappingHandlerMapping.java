@@ -1,5 +1,8 @@
 package org.bailiun.multipleversionscoexist.config;
 
+import org.bailiun.multipleversionscoexist.Abstraction.TenantResolver;
+import org.bailiun.multipleversionscoexist.Abstraction.VersionResolver;
+import org.bailiun.multipleversionscoexist.Abstraction.VersionRouteManifest;
 import org.bailiun.multipleversionscoexist.Aspect.CoexistenceVersion;
 import org.bailiun.multipleversionscoexist.Aspect.InterfacePriority;
 import org.bailiun.multipleversionscoexist.Aspect.NotIncCoexistenceVersion;
@@ -7,14 +10,36 @@ import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
 import org.bailiun.multipleversionscoexist.Properties.MultiVersionInfo;
 import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
 import org.bailiun.multipleversionscoexist.Realization.DefaultMulRegisterHandlerMethod;
+import org.bailiun.multipleversionscoexist.Realization.HeaderTenantResolver;
+import org.bailiun.multipleversionscoexist.Realization.HeaderVersionResolver;
+import org.bailiun.multipleversionscoexist.Realization.HostVersionResolver;
+import org.bailiun.multipleversionscoexist.Realization.MediaTypeVersionResolver;
+import org.bailiun.multipleversionscoexist.Realization.PathVersionResolver;
+import org.bailiun.multipleversionscoexist.Realization.QueryParameterVersionResolver;
+import org.bailiun.multipleversionscoexist.Realization.StickyVersionResolver;
+import org.bailiun.multipleversionscoexist.config.RoutingSnapshot.VersionRoute;
+import org.bailiun.multipleversionscoexist.config.RoutingSnapshot.VersionTable;
+import org.bailiun.multipleversionscoexist.en.CanaryRules;
 import org.bailiun.multipleversionscoexist.en.DualMap;
+import org.bailiun.multipleversionscoexist.en.EventLog;
+import org.bailiun.multipleversionscoexist.en.HandlerLookupCache;
+import org.bailiun.multipleversionscoexist.en.ManifestRoute;
+import org.bailiun.multipleversionscoexist.en.PathBloomFilter;
+import org.bailiun.multipleversionscoexist.en.RouteTrie;
+import org.bailiun.multipleversionscoexist.en.VersionMetrics;
+import org.bailiun.multipleversionscoexist.en.VersionUnloadResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.http.server.PathContainer;
 import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.lang.NonNullApi;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
@@ -23,7 +48,10 @@ import org.springframework.web.util.pattern.PathPattern;
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 /**
  * DualRequestMappingHandlerMapping — 核心多版本请求映射处理器 / Core Multi-Version Request Mapping Handler
  *
@@ -72,6 +100,9 @@ import java.util.*;
  *     <li>未激活版本将被加入 {@link #UNACTIVATED_VERSION} 并排除注册</li>
  *     <li>重复路径注册会根据 {@link InterfacePriority} 注解决定是否覆盖</li>
  *     <li>本地文件控制功能需要 {@link VersionEnvironmentLoader} 配合使用</li>
+ *     <li>{@link #versionPrefixes}、{@link #interfacePriorities}、{@link #UNACTIVATED_VERSION} 只在持有本对象锁时修改，
+ *     请求线程只读取不可变的 {@link RoutingSnapshot} / The mutable registries are only modified while holding this
+ *     object's lock; request threads only read the immutable {@link RoutingSnapshot}</li>
  * </ul>
  *
  * @author bailiun
@@ -91,9 +122,69 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
      <b>English:</b>List of unactivated versions */
     List<String> UNACTIVATED_VERSION = new ArrayList<>();
 
-    /** <b>中文：</b>文件控制的可访问版本列表 <br>
-     <b>English:</b>Accessible versions controlled by local file */
-    List<String> FileConfiguration = new ArrayList<>();
+    /** <b>中文：</b>文件控制的可访问版本，不可变集合，整体替换 <br>
+     <b>English:</b>Accessible versions controlled by local file, an immutable set replaced as a whole */
+    Set<String> FileConfiguration = Collections.emptySet();
+
+    /** <b>中文：</b>版本候选接口<版本名称,候选集合>，包括未激活版本的接口，用于运行时启用版本 <br>
+     <b>English:</b>Versioned handler candidates per version name, including inactive ones, replayed when a version is enabled at runtime */
+    Map<String, List<VersionCandidate>> versionCandidates = new HashMap<>();
+
+    /** <b>中文：</b>已注册的版本接口<版本前缀,接口集合> <br>
+     <b>English:</b>Registered versioned mappings per version prefix */
+    Map<String, Map<RequestMappingInfo, VersionMapping>> versionMappings = new HashMap<>();
+
+    /** <b>中文：</b>路径索引<Ant 模式,注册信息>，按注册顺序保存，优先级覆盖与注销时无需遍历全部接口 <br>
+     <b>English:</b>Path index from Ant pattern to mapping infos in registration order, so priority overrides and unregistration never scan every handler */
+    Map<String, List<RequestMappingInfo>> pathIndex = new HashMap<>();
+
+    /** <b>中文：</b>运行时版本开关<版本名称,是否启用>，优先于配置中的启用状态与黑白名单 <br>
+     <b>English:</b>Runtime version switches, taking precedence over configured enable state and include/exclude lists */
+    Map<String, Boolean> runtimeVersionStates = new HashMap<>();
+
+    /** <b>中文：</b>启动阶段收集的版本接口，按出现顺序保存，初始化时统一裁决优先级后每个路径只注册一次 <br>
+     <b>English:</b>Versioned handlers collected at startup in encounter order; priorities are resolved once at initialization and each path is registered exactly once */
+    List<PendingRegistration> pendingRegistrations = new ArrayList<>();
+
+    /** <b>中文：</b>编译期生成的版本路由清单，未生成或已关闭时为 {@code null} <br>
+     <b>English:</b>Version route manifest generated at build time, {@code null} when absent or disabled */
+    VersionRouteManifest routeManifest;
+
+    /** <b>中文：</b>是否正在重放候选接口（运行时启用版本） <br>
+     <b>English:</b>Whether candidates are being replayed to enable a version at runtime */
+    boolean replaying;
+
+    /** <b>中文：</b>是否正在批量注册或注销接口（例如加载插件），期间不逐个发布快照 <br>
+     <b>English:</b>Whether handlers are registered or unregistered in a batch (e.g. loading a plugin); snapshots are not published one by one meanwhile */
+    boolean batching;
+
+    /** <b>中文：</b>当前发布的不可变路由快照，请求线程只读取该引用 <br>
+     <b>English:</b>Currently published immutable routing snapshot, the only state request threads read */
+    volatile RoutingSnapshot routing = RoutingSnapshot.EMPTY;
+
+    /** <b>中文：</b>是否已完成初始化，之后的注册变更会立即发布新快照 <br>
+     <b>English:</b>Whether initialization finished; later registry changes publish a new snapshot immediately */
+    boolean initialized;
+
+    /** <b>中文：</b>接口解析结果缓存，未开启 {@code multi.version.handler-cache} 时为空 <br>
+     <b>English:</b>Resolved-handler cache, {@code null} unless {@code multi.version.handler-cache} is enabled */
+    HandlerLookupCache<HandlerMethod> handlerCache;
+
+    /** <b>中文：</b>版本解析器链，按顺序取第一个解析出的版本；为空时只按路径匹配 <br>
+     <b>English:</b>Version resolver chain; the first resolved version wins, empty means path matching only */
+    volatile List<VersionResolver> versionResolvers;
+
+    /** <b>中文：</b>灰度分流规则，独立于路由快照，更新时无需重建注册表 <br>
+     <b>English:</b>Canary rules, kept apart from the routing snapshot so updating them never rebuilds the registry */
+    volatile CanaryRules canaryRules = CanaryRules.EMPTY;
+
+    /** <b>中文：</b>租户固定的版本<租户,版本集合> <br>
+     <b>English:</b>Versions pinned per tenant */
+    Map<String, List<String>> tenantVersions = new HashMap<>();
+
+    /** <b>中文：</b>租户解析器，未配置租户时不调用 <br>
+     <b>English:</b>Tenant resolver, not consulted while no tenant is configured */
+    volatile TenantResolver tenantResolver;
 
     /** <b>中文：</b>多版本基础配置 <br>
      <b>English:</b>Multi-version base properties */
@@ -112,6 +203,18 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
     @Resource
     VersionEnvironmentLoader v;
 
+    /** <b>中文：</b>异步事件日志，请求路径上不直接输出到控制台 <br>
+     <b>English:</b>Asynchronous event log, so the request path never writes to the console directly */
+    EventLog eventLog = EventLog.getDefault();
+
+    /** <b>中文：</b>按版本与接口统计的请求指标，未配置时不统计 <br>
+     <b>English:</b>Per-version, per-endpoint request metrics; nothing is recorded when absent */
+    volatile VersionMetrics versionMetrics;
+
+    /** <b>中文：</b>每个接口方法对应的指标拦截器 <br>
+     <b>English:</b>Metrics interceptor of each handler method */
+    private final Map<Method, VersionMetricsInterceptor> metricsInterceptors = new ConcurrentHashMap<>();
+
     /** <b>中文：</b>默认实现接口方法工具 <br>
      <b>English:</b>Default implementation of registration helper */
     DefaultMulRegisterHandlerMethod drm = new DefaultMulRegisterHandlerMethod();
@@ -126,6 +229,181 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
         this.mp = mp;
         this.mf = mf;
         this.mi = mi;
+        if (mp.isHandlerCache()) {
+            this.handlerCache = new HandlerLookupCache<>(mp.getHandlerCacheSize());
+        }
+        this.versionResolvers = createVersionResolvers(mp);
+        this.canaryRules = CanaryRules.parse(mp.getCanary());
+        this.tenantResolver = new HeaderTenantResolver(mp.getTenantHeader());
+        mp.getTenants().forEach((tenant, versions) -> tenantVersions.put(tenant, new ArrayList<>(versions)));
+        if (mp.isRouteManifest()) {
+            this.routeManifest = loadRouteManifest();
+        }
+    }
+
+    /**
+     * <b>中文：</b>加载 {@code VersionRouteProcessor} 生成的版本路由清单，不存在时返回 {@code null} <br>
+     * <b>English:</b>Load the version route manifest generated by {@code VersionRouteProcessor}, or {@code null} when there is none
+     */
+    protected VersionRouteManifest loadRouteManifest() {
+        try {
+            Class<?> type = Class.forName(VersionRouteManifest.GENERATED_CLASS_NAME, true, ClassUtils.getDefaultClassLoader());
+            return (VersionRouteManifest) type.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            System.err.println("版本路由清单加载失败,改为启动时裁决:" + e);
+            return null;
+        }
+    }
+
+    /**
+     * <b>中文：</b>根据 {@code multi.version.resolvers} 创建版本解析器链 <br>
+     * <b>English:</b>Create the version resolver chain from {@code multi.version.resolvers}
+     */
+    protected List<VersionResolver> createVersionResolvers(MultiVersionProperties mp) {
+        List<VersionResolver> resolvers = new ArrayList<>();
+        for (String name : mp.getResolvers()) {
+            switch (name.trim().toLowerCase(Locale.ROOT)) {
+                case "path":
+                    // 路径方式不解析版本,放在链中无需实例
+                    break;
+                case "header":
+                    resolvers.add(new HeaderVersionResolver(mp.getVersionHeader()));
+                    break;
+                case "query":
+                    resolvers.add(new QueryParameterVersionResolver(mp.getVersionParameter()));
+                    break;
+                case "media-type":
+                    resolvers.add(new MediaTypeVersionResolver(mp.getVersionParameter()));
+                    break;
+                case "host":
+                    resolvers.add(new HostVersionResolver());
+                    break;
+                case "sticky":
+                    resolvers.add(new StickyVersionResolver(mp.getStickyKey(), mp.getStickyVirtualNodes()));
+                    break;
+                default:
+                    System.err.println("未知的版本解析方式,已忽略:" + name);
+            }
+        }
+        return Collections.unmodifiableList(resolvers);
+    }
+
+    /**
+     * <b>中文：</b>替换版本解析器链，可加入自定义 {@link VersionResolver} <br>
+     * <b>English:</b>Replace the version resolver chain, e.g. to add a custom {@link VersionResolver}
+     *
+     * @param versionResolvers 按顺序尝试的解析器 / Resolvers tried in order
+     */
+    public void setVersionResolvers(List<VersionResolver> versionResolvers) {
+        List<VersionResolver> resolvers = new ArrayList<>(versionResolvers);
+        resolvers.removeIf(r -> r instanceof PathVersionResolver);
+        this.versionResolvers = Collections.unmodifiableList(resolvers);
+        refreshStickyResolvers();
+        invalidateHandlerCache();
+    }
+
+    /**
+     * <b>中文：</b>以当前启用的版本重建粘性解析器的一致性哈希环，每次发布路由快照时调用 <br>
+     * <b>English:</b>Rebuild the consistent-hash rings of sticky resolvers from the enabled versions; called on every publish
+     *
+     * <p><b>中文：</b>环上的版本为 {@link org.bailiun.multipleversionscoexist.en.VersionInfoList#getEnabledVersions()}
+     * 与运行时启用的版本，去掉未激活版本。<br>
+     * <b>English:</b>The ring holds {@link org.bailiun.multipleversionscoexist.en.VersionInfoList#getEnabledVersions()}
+     * plus versions enabled at runtime, minus unactivated versions.</p>
+     */
+    protected synchronized void refreshStickyResolvers() {
+        Set<String> versions = null;
+        for (VersionResolver resolver : versionResolvers) {
+            if (resolver instanceof StickyVersionResolver sticky) {
+                if (versions == null) {
+                    versions = stickyVersions();
+                }
+                sticky.setVersions(versions);
+            }
+        }
+    }
+
+    /**
+     * <b>中文：</b>粘性解析器哈希环上的版本 <br>
+     * <b>English:</b>Versions placed on the sticky resolvers' rings
+     */
+    private Set<String> stickyVersions() {
+        Set<String> versions = new HashSet<>();
+        if (mi.getVersionsInfo() != null) {
+            versions.addAll(mi.getVersionsInfo().getEnabledVersions());
+        }
+        runtimeVersionStates.forEach((version, enabled) -> {
+            if (enabled) {
+                versions.add(version);
+            }
+        });
+        versions.removeAll(UNACTIVATED_VERSION);
+        return versions;
+    }
+
+    public List<VersionResolver> getVersionResolvers() {
+        return versionResolvers;
+    }
+
+    /**
+     * <b>中文：</b>替换灰度分流规则，例如 {@code /orders/** v2=5 v1=95}；只替换规则引用，不重建路由快照 <br>
+     * <b>English:</b>Replace the canary rules, e.g. {@code /orders/** v2=5 v1=95}; only the rule reference is
+     * swapped, the routing snapshot is not rebuilt
+     *
+     * @param rules 规则文本 / Rule lines
+     * @throws IllegalArgumentException 规则格式错误时抛出，原规则保持不变 / On malformed rules; the current rules are kept
+     */
+    public void setCanaryRules(List<String> rules) {
+        this.canaryRules = CanaryRules.parse(rules);
+        System.out.println("灰度规则已更新:" + canaryRules);
+    }
+
+    public CanaryRules getCanaryRules() {
+        return canaryRules;
+    }
+
+    /**
+     * <b>中文：</b>替换租户固定的版本并重新生成租户视图，路由索引不重建 <br>
+     * <b>English:</b>Replace the versions pinned per tenant and regenerate the tenant views without rebuilding the route index
+     *
+     * @param tenantVersions <租户,版本集合>，例如 {@code {"acme": ["v1", "v2"]}} / Tenant to its pinned versions
+     */
+    public synchronized void setTenantVersions(Map<String, List<String>> tenantVersions) {
+        Map<String, List<String>> copy = new HashMap<>();
+        tenantVersions.forEach((tenant, versions) -> copy.put(tenant, new ArrayList<>(versions)));
+        this.tenantVersions = copy;
+        this.routing = routing.withTenants(copy, mp.isTenantStrict());
+        invalidateHandlerCache();
+    }
+
+    public synchronized Map<String, List<String>> getTenantVersions() {
+        return Collections.unmodifiableMap(tenantVersions);
+    }
+
+    /**
+     * <b>中文：</b>替换租户解析器 <br>
+     * <b>English:</b>Replace the tenant resolver
+     */
+    public void setTenantResolver(TenantResolver tenantResolver) {
+        this.tenantResolver = tenantResolver;
+        invalidateHandlerCache();
+    }
+
+    /**
+     * <b>中文：</b>按解析器链解析请求指定的版本 <br>
+     * <b>English:</b>Resolve the requested version through the resolver chain
+     */
+    protected String resolveRequestedVersion(HttpServletRequest request) {
+        List<VersionResolver> resolvers = this.versionResolvers;
+        for (int i = 0; i < resolvers.size(); i++) {
+            String version = resolvers.get(i).resolveVersion(request);
+            if (version != null) {
+                return version;
+            }
+        }
+        return null;
     }
 
     /**
@@ -135,32 +413,47 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
     @Bean
     @Primary
     @Override
-    protected void registerHandlerMethod(Object handler, Method method, RequestMappingInfo mapping) {
+    protected synchronized void registerHandlerMethod(Object handler, Method method, RequestMappingInfo mapping) {
         if (!mp.isStart()) {
-            super.registerHandlerMethod(handler, method, mapping);
+            registerIndexed(handler, method, mapping);
             return;
         }
         if (method.getAnnotation(NotIncCoexistenceVersion.class) != null) {
-            super.registerHandlerMethod(handler, method, mapping);
+            registerIndexed(handler, method, mapping);
             return;
         }
         CoexistenceVersion cv = getCV(method);
         String path = drm.getMethodPath(mapping);
         String newPath;
+        Boolean runtimeState = null;
         if (cv != null) {
-            if (UNACTIVATED_VERSION.contains(cv.version())) {
+            if (!replaying) {
+                versionCandidates.computeIfAbsent(cv.version(), k -> new ArrayList<>())
+                        .add(new VersionCandidate(handler, method, mapping));
+            }
+            // 运行时开关优先于配置
+            runtimeState = runtimeVersionStates.get(cv.version());
+            if (Boolean.FALSE.equals(runtimeState)) {
+                return;
+            }
+            if (runtimeState == null && UNACTIVATED_VERSION.contains(cv.version())) {
                 return;
             }
-            if (mi.getVersionsInfo().versionIsOk(cv.version()) == 2) {
+            if (runtimeState == null && mi.getVersionsInfo().versionIsOk(cv.version()) == 2) {
                 UNACTIVATED_VERSION.add(cv.version());
                 return;
             }
             newPath = "/" + cv.version() + path;
         } else {
-            super.registerHandlerMethod(handler, method, mapping);
+            registerIndexed(handler, method, mapping);
             return;
         }
-        if (!mp.VersionIsOk(cv.version(),path)) {
+        if (runtimeState == null && !mp.VersionIsOk(cv.version(),path)) {
+            return;
+        }
+        // 启动阶段只收集,初始化时统一裁决优先级
+        if (!initialized && !replaying) {
+            pendingRegistrations.add(new PendingRegistration(handler, method, mapping, newPath, cv));
             return;
         }
         if (versionPrefixes.keySet().size() >= mp.getMaxNum()) {
@@ -201,9 +494,13 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
 
     protected void registerHandlerMethodD(Object handler, Method method, RequestMappingInfo mapping,String path,CoexistenceVersion cv){
         try {
-            super.registerHandlerMethod(handler, method, mapping);
+            registerIndexed(handler, method, mapping);
+            versionMappings.computeIfAbsent("/" + cv.version(), k -> new LinkedHashMap<>())
+                    .put(mapping, new VersionMapping(mapping, createHandlerMethod(handler, method)));
         } catch (IllegalStateException e) {
             drm.PrintIllegalStateException(method,path,cv);
+        } finally {
+            routingChanged();
         }
     }
     /**
@@ -215,31 +512,96 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
         if ("/error".equals(lookupPath)) {
             return super.lookupHandlerMethod(lookupPath, request);
         }
-        // 获取所有注册的 handler 方法,进行自定义判断
-        Map<RequestMappingInfo, HandlerMethod> handlerMethods = this.getHandlerMethods();
-        for (String versionPrefix : versionPrefixes.keySet()) {
-            // 判断是否开启本地文件控制版本访问,如果开启则判断此版本能不能访问
-            if(mf.isFileConfiguration() && !FileConfiguration.contains(versionPrefix)){
-                continue;
+        // 先读取缓存代数再读取路由快照,解析期间若发布了新快照则本次结果不会写入缓存
+        long generation = handlerCache != null ? handlerCache.generation() : 0;
+        RoutingSnapshot routing = this.routing;
+        // 租户视图与全局快照共享路由索引,只替换可访问版本
+        if (!routing.getTenantSnapshots().isEmpty()) {
+            routing = routing.forTenant(tenantResolver.resolveTenant(request));
+        }
+        // 一定无法匹配的路径直接返回 null,不再进入版本与全量匹配,由 DispatcherServlet 按未找到接口处理
+        if (!routing.mightMatch(lookupPath)) {
+            return null;
+        }
+        String version = resolveRequestedVersion(request);
+        if (version == null) {
+            // 未指定版本的请求按灰度规则分流;选中的版本没有该接口时按未指定处理,仍按版本顺序匹配
+            String canary = canaryRules.select(lookupPath);
+            if (canary != null && routing.getVersionHandler(canary, lookupPath) != null) {
+                version = canary;
+            }
+        }
+        // 没有接口表的版本按未指定处理,避免任意取值的版本请求头撑大缓存
+        if (version != null && !routing.getVersionTables().containsKey(version)) {
+            version = null;
+        }
+        if (handlerCache == null) {
+            return resolveHandlerMethod(routing, version, lookupPath, request);
+        }
+        HandlerLookupCache.Key key = new HandlerLookupCache.Key(request.getMethod(), lookupPath, version, routing.getVersionSetKey());
+        HandlerMethod cached = handlerCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        HandlerMethod handlerMethod = resolveHandlerMethod(routing, version, lookupPath, request);
+        handlerCache.put(key, handlerMethod, generation);
+        return handlerMethod;
+    }
+
+    /**
+     * <b>中文：</b>基于指定路由快照解析 Handler 方法（不经过缓存） <br>
+     * <b>English:</b>Resolve the handler method against the given routing snapshot without consulting the cache
+     */
+    protected HandlerMethod resolveHandlerMethod(RoutingSnapshot routing, String lookupPath, HttpServletRequest request) throws Exception {
+        return resolveHandlerMethod(routing, resolveRequestedVersion(request), lookupPath, request);
+    }
+
+    /**
+     * <b>中文：</b>基于指定路由快照解析 Handler 方法；请求已指定版本时直接在该版本的接口表中查找，
+     * 未命中时只回退到不分版本的接口，不会由其他版本的接口响应 <br>
+     * <b>English:</b>Resolve the handler method against the given snapshot; a requested version is looked up
+     * directly in that version's handler table, and a miss falls back to unversioned handlers only, never to
+     * another version's routes
+     *
+     * @param version 请求指定的版本，可为空；为空时按版本顺序匹配 / Requested version, may be {@code null};
+     *                {@code null} means ordered matching across versions
+     */
+    protected HandlerMethod resolveHandlerMethod(RoutingSnapshot routing, String version, String lookupPath, HttpServletRequest request) throws Exception {
+        if (version != null) {
+            HandlerMethod handlerMethod = routing.getVersionHandler(version, lookupPath);
+            if (handlerMethod != null) {
+                eventLog.debug("route.match", "匹配成功 => {} {}", version, lookupPath);
+                return handlerMethod;
             }
-            // 若直接访问版本原路径,则直接抛出报错
-            if (versionPrefixes.get(versionPrefix).contains(lookupPath)) {
+            return matchPatterns(routing, lookupPath, request, true);
+        }
+        // 沿路由索引逐段查找,结果已按版本顺序排列
+        for (VersionRoute route : routing.getVersionRoutes().get(lookupPath)) {
+            // 若直接访问版本原路径,则直接抛出报错;版本不可访问时同样拒绝,不能再由下方的全量匹配命中
+            if (route.handlerMethod == null) {
                 throw new NoHandlerFoundException(request.getMethod(), lookupPath, new ServletServerHttpRequest(request).getHeaders());
             }
-            String newLookupPath = versionPrefix + lookupPath;
-            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMethods.entrySet()) {
-                RequestMappingInfo info = entry.getKey();
-                if (info.getPatternsCondition() != null) {
-                    for (String pattern : info.getPatternsCondition().getPatterns()) {
-                        if (PathMatch(pattern,newLookupPath)) {
-                            System.out.println("匹配成功 => " + pattern);
-                            return entry.getValue();
-                        }
-                    }
-                }
+            // 判断是否开启本地文件控制版本访问,如果开启则判断此版本能不能访问
+            if (!routing.isAccessible(route.versionPrefix)) {
+                continue;
             }
+            eventLog.debug("route.match", "匹配成功 => {}{}", route.versionPrefix, lookupPath);
+            return route.handlerMethod;
         }
+        return matchPatterns(routing, lookupPath, request, false);
+    }
 
+    /**
+     * <b>中文：</b>按注册顺序逐个匹配快照中的全部接口模式，均未命中时抛出 {@link NoHandlerFoundException} <br>
+     * <b>English:</b>Match every handler pattern of the snapshot in registration order; throws
+     * {@link NoHandlerFoundException} when none matches
+     *
+     * @param unversionedOnly 只匹配不分版本的接口 / Only match unversioned handlers
+     */
+    protected HandlerMethod matchPatterns(RoutingSnapshot routing, String lookupPath, HttpServletRequest request,
+                                          boolean unversionedOnly) throws Exception {
+        // 获取快照中所有注册的 handler 方法,进行自定义判断
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = routing.getHandlerMethods();
         AntPathMatcher antMatcher = new AntPathMatcher();
 
         for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMethods.entrySet()) {
@@ -247,8 +609,8 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
             // For newer Spring versions (PathPatternParser)
             if (info.getPathPatternsCondition() != null) {
                 for (PathPattern pattern : info.getPathPatternsCondition().getPatterns()) {
-                    if (PathPatternParserMatch(pattern,lookupPath)) {
-                        System.out.println("匹配成功 => " + lookupPath);
+                    if (isCandidate(routing, pattern.getPatternString(), unversionedOnly) && PathPatternParserMatch(pattern,lookupPath)) {
+                        eventLog.debug("route.match", "匹配成功 => {}", lookupPath);
                         return entry.getValue();
                     }
                 }
@@ -257,8 +619,8 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
             // For backward compatibility (Ant-style patterns)
             if (info.getPatternsCondition() != null) {
                 for (String pattern : info.getPatternsCondition().getPatterns()) {
-                    if (AntStylePatternsMatch(antMatcher,pattern,lookupPath)) {
-                        System.out.println("匹配成功 => " + pattern);
+                    if (isCandidate(routing, pattern, unversionedOnly) && AntStylePatternsMatch(antMatcher,pattern,lookupPath)) {
+                        eventLog.debug("route.match", "匹配成功 => {}", pattern);
                         return entry.getValue();
                     }
                 }
@@ -266,6 +628,15 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
         }
         throw new NoHandlerFoundException(request.getMethod(), lookupPath, new ServletServerHttpRequest(request).getHeaders());
     }
+
+    /**
+     * <b>中文：</b>判断接口模式能否参与全量匹配：不可访问版本的接口不参与，只匹配不分版本的接口时排除全部版本接口 <br>
+     * <b>English:</b>Whether a handler pattern takes part in full matching: patterns of inaccessible versions never do,
+     * and every versioned pattern is excluded when only unversioned handlers may match
+     */
+    private static boolean isCandidate(RoutingSnapshot routing, String pattern, boolean unversionedOnly) {
+        return unversionedOnly ? !routing.isVersionedPattern(pattern) : routing.isPatternAccessible(pattern);
+    }
     /**
      * <b>中文：</b>判断访问者路径lookupPath是否匹配当前路径,如果匹配则执行此路径下的接口 <br>
      * <b>English:</b>Determine whether the visitor path lookupPath matches the current path, if so, execute the interface under this path
@@ -292,18 +663,581 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
      * <b>中文：</b>注销指定路径 <br>
      * <b>English:</b>Unregister a handler mapping by path
      */
-    public void unregisterPath(String path) {
-        getHandlerMethods().keySet().stream()
-                .filter(info -> info.getPatternsCondition() != null &&
-                        info.getPatternsCondition().getPatterns().contains(path))
-                .findFirst()
-                .ifPresent(this::unregisterMapping);  // 调用父类的注销方法
+    public synchronized void unregisterPath(String path) {
+        List<RequestMappingInfo> infos = pathIndex.get(path);
+        if (infos != null && !infos.isEmpty()) {
+            RequestMappingInfo info = infos.get(0);
+            unregisterIndexed(info);  // 调用父类的注销方法,同时移出路径索引
+            versionMappings.values().forEach(mappings -> mappings.remove(info));
+        }
+        routingChanged();
+    }
+
+    /**
+     * <b>中文：</b>注册接口并登记到路径索引 <br>
+     * <b>English:</b>Register a handler method and record it in the path index
+     */
+    protected void registerIndexed(Object handler, Method method, RequestMappingInfo mapping) {
+        super.registerHandlerMethod(handler, method, mapping);
+        indexMapping(mapping);
     }
+
+    /**
+     * <b>中文：</b>运行时注册接口，同时登记到路径索引，并发布新的路由快照 <br>
+     * <b>English:</b>Register a mapping at runtime, record it in the path index and publish a new routing snapshot
+     */
+    @Override
+    public synchronized void registerMapping(RequestMappingInfo mapping, Object handler, Method method) {
+        super.registerMapping(mapping, handler, method);
+        indexMapping(mapping);
+        routingChanged();
+        invalidateHandlerCache();
+    }
+
+    /**
+     * <b>中文：</b>运行时注销接口，同时移出路径索引，并发布新的路由快照 <br>
+     * <b>English:</b>Unregister a mapping at runtime, remove it from the path index and publish a new routing snapshot
+     */
+    @Override
+    public synchronized void unregisterMapping(RequestMappingInfo mapping) {
+        unregisterIndexed(mapping);
+        routingChanged();
+        invalidateHandlerCache();
+    }
+
+    /**
+     * <b>中文：</b>注销接口并移出路径索引，不发布快照；由内部批量注销使用，结束后统一发布 <br>
+     * <b>English:</b>Unregister a mapping and remove it from the path index without publishing; used by the internal
+     * bulk removals, which publish once at the end
+     */
+    protected void unregisterIndexed(RequestMappingInfo mapping) {
+        super.unregisterMapping(mapping);
+        if (mapping.getPatternsCondition() != null) {
+            for (String pattern : mapping.getPatternsCondition().getPatterns()) {
+                List<RequestMappingInfo> infos = pathIndex.get(pattern);
+                if (infos != null && infos.remove(mapping) && infos.isEmpty()) {
+                    pathIndex.remove(pattern);
+                }
+            }
+        }
+    }
+
+    private void indexMapping(RequestMappingInfo mapping) {
+        if (mapping.getPatternsCondition() != null) {
+            for (String pattern : mapping.getPatternsCondition().getPatterns()) {
+                pathIndex.computeIfAbsent(pattern, k -> new ArrayList<>(1)).add(mapping);
+            }
+        }
+    }
+
+    /**
+     * <b>中文：</b>运行时启用版本：只重放该版本的候选接口并增量更新路由快照，返回注册的接口数量 <br>
+     * <b>English:</b>Enable a version at runtime by replaying only that version's candidates and updating the routing
+     * snapshot incrementally; returns the number of registered handlers
+     *
+     * <p><b>中文：</b>运行时开关优先于 {@code multi.info} 的启用状态与 {@code multi.version} 的黑白名单，
+     * 但仍受最大注册版本数与 {@link InterfacePriority} 约束；版本已启用时不做任何操作。<br>
+     * <b>English:</b>The runtime switch overrides the {@code multi.info} enable state and the {@code multi.version}
+     * include/exclude lists, but the maximum version count and {@link InterfacePriority} still apply.
+     * Nothing happens when the version is already enabled.</p>
+     *
+     * @param version 版本名称，例如 {@code "v2"} / Version name, e.g. {@code "v2"}
+     * @return 本次注册的接口数量 / Number of handlers registered by this call
+     */
+    public synchronized int activateVersion(String version) {
+        runtimeVersionStates.put(version, true);
+        UNACTIVATED_VERSION.remove(version);
+        String versionPrefix = "/" + version;
+        if (versionMappings.containsKey(versionPrefix)) {
+            return 0;
+        }
+        replaying = true;
+        try {
+            for (VersionCandidate candidate : versionCandidates.getOrDefault(version, Collections.emptyList())) {
+                registerHandlerMethod(candidate.handler, candidate.method, candidate.mapping);
+            }
+        } finally {
+            replaying = false;
+        }
+        List<VersionMapping> added = new ArrayList<>(versionMappings.getOrDefault(versionPrefix, Collections.emptyMap()).values());
+        publishVersionChange(versionPrefix, versionPrefixes.getOrDefault(versionPrefix, Collections.emptyList()), added, true);
+        v.refreshActiveVersions(UNACTIVATED_VERSION);
+        return added.size();
+    }
+
+    /**
+     * <b>中文：</b>运行时停用版本：只注销该版本的接口并增量更新路由快照，返回注销的接口数量 <br>
+     * <b>English:</b>Disable a version at runtime by unregistering only that version's handlers and updating the routing
+     * snapshot incrementally; returns the number of unregistered handlers
+     *
+     * <p><b>中文：</b>候选接口会被保留，之后可再次通过 {@link #activateVersion(String)} 启用。<br>
+     * <b>English:</b>Candidates are kept, so the version can be enabled again with {@link #activateVersion(String)}.</p>
+     *
+     * @param version 版本名称，例如 {@code "v2"} / Version name, e.g. {@code "v2"}
+     * @return 本次注销的接口数量 / Number of handlers unregistered by this call
+     */
+    public synchronized int deactivateVersion(String version) {
+        runtimeVersionStates.put(version, false);
+        if (!UNACTIVATED_VERSION.contains(version)) {
+            UNACTIVATED_VERSION.add(version);
+        }
+        String versionPrefix = "/" + version;
+        Map<RequestMappingInfo, VersionMapping> registered = versionMappings.remove(versionPrefix);
+        List<String> versionPaths = versionPrefixes.remove(versionPrefix);
+        List<VersionMapping> removed = registered == null ? Collections.emptyList() : new ArrayList<>(registered.values());
+        if (versionPaths == null) {
+            versionPaths = Collections.emptyList();
+        }
+        for (VersionMapping versionMapping : removed) {
+            unregisterIndexed(versionMapping.info);  // 调用父类的注销方法
+        }
+        versionPaths.forEach(interfacePriorities::remove);
+        publishVersionChange(versionPrefix, versionPaths, removed, false);
+        v.refreshActiveVersions(UNACTIVATED_VERSION);
+        return removed.size();
+    }
+
+    /**
+     * <b>中文：</b>运行时卸载版本：停用该版本并丢弃其候选接口，销毁只服务于该版本的控制器 Bean，释放其占用的内存 <br>
+     * <b>English:</b>Unload a version at runtime: disable it, drop its candidates and destroy the controller beans that
+     * only serve this version, so a long-running node no longer keeps it resident
+     *
+     * <p><b>中文：</b>与 {@link #deactivateVersion(String)} 不同，卸载后版本无法再通过 {@link #activateVersion(String)} 启用，
+     * 只以 Bean 名称注册、且不再被其他版本或普通接口引用的控制器才会被销毁并移除其 Bean 定义。<br>
+     * <b>English:</b>Unlike {@link #deactivateVersion(String)}, an unloaded version cannot be enabled again with
+     * {@link #activateVersion(String)}. Only controllers registered by bean name that no other version or plain
+     * handler still references are destroyed and have their bean definition removed.</p>
+     *
+     * @param version 版本名称，例如 {@code "v1"} / Version name, e.g. {@code "v1"}
+     * @return 释放的接口数量与 Bean 名称 / Number of released handlers and names of released beans
+     */
+    public synchronized VersionUnloadResult unloadVersion(String version) {
+        List<VersionMapping> registered = new ArrayList<>(versionMappings.getOrDefault("/" + version, Collections.emptyMap()).values());
+        int handlers = deactivateVersion(version);
+        registered.forEach(versionMapping -> metricsInterceptors.remove(versionMapping.handlerMethod.getMethod()));
+        List<VersionCandidate> candidates = versionCandidates.remove(version);
+        Set<String> beanNames = new LinkedHashSet<>();
+        if (candidates != null) {
+            for (VersionCandidate candidate : candidates) {
+                if (candidate.handler instanceof String beanName) {
+                    beanNames.add(beanName);
+                }
+            }
+        }
+        // 仍被普通接口或其他版本引用的 Bean 不能销毁
+        for (HandlerMethod handlerMethod : getHandlerMethods().values()) {
+            if (handlerMethod.getBean() instanceof String beanName) {
+                beanNames.remove(beanName);
+            }
+        }
+        versionCandidates.values().forEach(others -> others.forEach(candidate -> beanNames.remove(candidate.handler)));
+        List<String> released = new ArrayList<>();
+        if (!beanNames.isEmpty() && getApplicationContext() != null
+                && getApplicationContext().getAutowireCapableBeanFactory() instanceof DefaultListableBeanFactory beanFactory) {
+            for (String beanName : beanNames) {
+                try {
+                    if (beanFactory.containsBeanDefinition(beanName)) {
+                        beanFactory.removeBeanDefinition(beanName);
+                    } else {
+                        beanFactory.destroySingleton(beanName);
+                    }
+                    released.add(beanName);
+                } catch (RuntimeException e) {
+                    System.err.println("版本" + version + "的Bean销毁失败:" + beanName + " " + e);
+                }
+            }
+        }
+        return new VersionUnloadResult(version, handlers, released);
+    }
+
+    /**
+     * <b>中文：</b>运行时注册指定 Bean 中的全部接口，版本接口与启动时一样经过版本过滤与优先级裁决，完成后发布一次快照 <br>
+     * <b>English:</b>Register every handler of the given beans at runtime; versioned handlers go through the same
+     * version filtering and priority rules as at startup, and one snapshot is published at the end
+     *
+     * @param beanNames 已在容器中注册定义的 Bean 名称 / Names of beans whose definitions are registered in the context
+     * @return 新注册的接口数量 / Number of newly registered handlers
+     */
+    public synchronized int registerHandlers(Collection<String> beanNames) {
+        int registered;
+        batching = true;
+        try {
+            registered = detectHandlers(beanNames);
+        } finally {
+            batching = false;
+        }
+        publishRouting();
+        v.refreshActiveVersions(UNACTIVATED_VERSION);
+        return registered;
+    }
+
+    /**
+     * <b>中文：</b>运行时注销指定 Bean 的全部接口（含版本接口与候选接口），完成后发布一次快照 <br>
+     * <b>English:</b>Unregister every handler of the given beans at runtime, versioned handlers and candidates
+     * included, and publish one snapshot at the end
+     *
+     * <p><b>中文：</b>版本的全部接口都被注销时，该版本的前缀一并移除；被这些接口以优先级压过的其余候选接口会重新注册。<br>
+     * <b>English:</b>A version whose handlers are all removed loses its prefix as well; the remaining candidates these
+     * handlers had beaten on priority are registered again.</p>
+     *
+     * @param beanNames Bean 名称 / Bean names
+     * @return 注销的接口数量 / Number of unregistered handlers
+     */
+    public synchronized int unregisterHandlers(Collection<String> beanNames) {
+        int removed;
+        batching = true;
+        try {
+            removed = removeHandlers(beanNames);
+        } finally {
+            batching = false;
+        }
+        publishRouting();
+        v.refreshActiveVersions(UNACTIVATED_VERSION);
+        return removed;
+    }
+
+    /**
+     * <b>中文：</b>运行时以一组 Bean 替换另一组 Bean 的接口：先注销旧接口再注册新接口，完成后只发布一次快照 <br>
+     * <b>English:</b>Replace the handlers of one set of beans with those of another at runtime: the old handlers are
+     * unregistered, the new ones registered, and a single snapshot is published at the end
+     *
+     * <p><b>中文：</b>请求线程在发布前一直看到旧快照，替换过程中不会出现接口短暂不存在的情况。<br>
+     * <b>English:</b>Request threads keep seeing the old snapshot until the publish, so no handler is briefly missing
+     * during the swap.</p>
+     *
+     * @param removed 被替换的 Bean 名称 / Names of the beans being replaced
+     * @param added   新的 Bean 名称，定义已在容器中注册 / Names of the new beans, whose definitions are registered
+     * @return 新注册的接口数量 / Number of newly registered handlers
+     */
+    public synchronized int replaceHandlers(Collection<String> removed, Collection<String> added) {
+        int registered;
+        batching = true;
+        try {
+            removeHandlers(removed);
+            registered = detectHandlers(added);
+        } finally {
+            batching = false;
+        }
+        publishRouting();
+        v.refreshActiveVersions(UNACTIVATED_VERSION);
+        return registered;
+    }
+
+    /**
+     * <b>中文：</b>注册 Bean 的全部接口，不发布快照 <br>
+     * <b>English:</b>Register every handler of the beans without publishing
+     */
+    private int detectHandlers(Collection<String> beanNames) {
+        for (String beanName : beanNames) {
+            detectHandlerMethods(beanName);
+        }
+        // 按 Bean 统计,被替换下的其他接口不影响数量
+        Set<String> names = new HashSet<>(beanNames);
+        int registered = 0;
+        for (HandlerMethod handlerMethod : getHandlerMethods().values()) {
+            if (names.contains(handlerMethod.getBean())) {
+                registered++;
+            }
+        }
+        return registered;
+    }
+
+    /**
+     * <b>中文：</b>注销 Bean 的全部接口与候选接口，并重放被其压过的候选接口，不发布快照 <br>
+     * <b>English:</b>Unregister every handler and candidate of the beans and replay the candidates they had beaten,
+     * without publishing
+     */
+    private int removeHandlers(Collection<String> beanNames) {
+        Set<String> names = new HashSet<>(beanNames);
+        Set<String> removedPaths = new HashSet<>();
+        int removed = 0;
+        for (Iterator<Map.Entry<String, Map<RequestMappingInfo, VersionMapping>>> it = versionMappings.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<String, Map<RequestMappingInfo, VersionMapping>> entry = it.next();
+            List<String> versionPaths = versionPrefixes.get(entry.getKey());
+            for (Iterator<VersionMapping> mappings = entry.getValue().values().iterator(); mappings.hasNext(); ) {
+                VersionMapping versionMapping = mappings.next();
+                if (!names.contains(versionMapping.handlerMethod.getBean())) {
+                    continue;
+                }
+                unregisterIndexed(versionMapping.info);
+                for (String pattern : versionMapping.getPatterns()) {
+                    interfacePriorities.remove(pattern);
+                    removedPaths.add(pattern);
+                    if (versionPaths != null) {
+                        versionPaths.remove(pattern);
+                    }
+                }
+                metricsInterceptors.remove(versionMapping.handlerMethod.getMethod());
+                mappings.remove();
+                removed++;
+            }
+            if (entry.getValue().isEmpty()) {
+                it.remove();
+                versionPrefixes.remove(entry.getKey());
+            }
+        }
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : new ArrayList<>(getHandlerMethods().entrySet())) {
+            if (names.contains(entry.getValue().getBean())) {
+                unregisterIndexed(entry.getKey());
+                metricsInterceptors.remove(entry.getValue().getMethod());
+                removed++;
+            }
+        }
+        versionCandidates.values().forEach(candidates -> candidates.removeIf(candidate -> names.contains(candidate.handler)));
+        versionCandidates.values().removeIf(List::isEmpty);
+        replayCandidates(removedPaths);
+        return removed;
+    }
+
+    /**
+     * <b>中文：</b>重新注册版本路径已空出的候选接口，例如插件接口卸载后恢复被其以优先级压过的宿主接口 <br>
+     * <b>English:</b>Register again the candidates whose versioned path became free, e.g. restore the host handlers a
+     * plugin handler had beaten on priority once the plugin is unloaded
+     *
+     * @param removedPaths 已注销的版本路径，例如 {@code "/v2/orders"} / Unregistered versioned paths, e.g. {@code "/v2/orders"}
+     */
+    private void replayCandidates(Set<String> removedPaths) {
+        if (removedPaths.isEmpty()) {
+            return;
+        }
+        boolean replayingBefore = replaying;
+        replaying = true;
+        try {
+            for (Map.Entry<String, List<VersionCandidate>> entry : versionCandidates.entrySet()) {
+                for (VersionCandidate candidate : new ArrayList<>(entry.getValue())) {
+                    String newPath = "/" + entry.getKey() + drm.getMethodPath(candidate.mapping);
+                    if (removedPaths.contains(newPath)) {
+                        registerHandlerMethod(candidate.handler, candidate.method, candidate.mapping);
+                    }
+                }
+            }
+        } finally {
+            replaying = replayingBefore;
+        }
+    }
+
+    /**
+     * <b>中文：</b>判断版本当前是否已注册了接口 <br>
+     * <b>English:</b>Whether the version currently has registered handlers
+     */
+    public synchronized boolean isVersionActive(String version) {
+        return versionMappings.containsKey("/" + version);
+    }
+
+    /**
+     * <b>中文：</b>更新文件控制的可访问版本，并发布复用原路由索引的新快照 <br>
+     * <b>English:</b>Replace the file-controlled accessible versions and publish a snapshot that reuses the current route index
+     *
+     * <p><b>中文：</b>版本集合只复制一次为不可变集合，由快照直接引用，请求线程通过 {@code volatile} 的快照引用以 O(1) 无锁查询；
+     * 集合未变化时不发布新快照，接口解析缓存保持有效。<br>
+     * <b>English:</b>The versions are copied once into an immutable set that the snapshot references directly, so
+     * request threads check it in O(1) without locking through the {@code volatile} snapshot reference; an unchanged
+     * set publishes nothing and keeps the handler cache warm.</p>
+     *
+     * @param fileConfiguration 可访问版本，例如 {@code ["/v1", "/v2"]} / Accessible versions, e.g. {@code ["/v1", "/v2"]}
+     * @return 是否发布了新快照 / Whether a new snapshot was published
+     */
+    public synchronized boolean setFileConfiguration(Collection<String> fileConfiguration) {
+        Set<String> versions = Collections.unmodifiableSet(new HashSet<>(fileConfiguration));
+        if (versions.equals(FileConfiguration)) {
+            return false;
+        }
+        this.FileConfiguration = versions;
+        this.routing = routing.withFileConfiguration(mf.isFileConfiguration(), FileConfiguration).withTenants(tenantVersions, mp.isTenantStrict());
+        invalidateHandlerCache();
+        return true;
+    }
+
+    /**
+     * <b>中文：</b>当前文件控制的可访问版本 <br>
+     * <b>English:</b>The current file-controlled accessible versions
+     */
+    public Set<String> getFileConfiguration() {
+        return routing.getFileConfiguration();
+    }
+
+    /**
+     * <b>中文：</b>注册表发生变化；初始化完成后立即重新构建并发布路由快照 <br>
+     * <b>English:</b>The registry changed; after initialization the routing snapshot is rebuilt and published immediately
+     */
+    protected void routingChanged() {
+        // 重放期间由 activateVersion 统一增量发布,批量操作结束后统一发布
+        if (initialized && !replaying && !batching) {
+            publishRouting();
+        }
+    }
+
+    /**
+     * <b>中文：</b>根据当前注册表构建新的不可变路由快照，并通过 {@code volatile} 引用整体替换 <br>
+     * <b>English:</b>Build a new immutable routing snapshot from the current registry and swap it in through the {@code volatile} reference
+     *
+     * <p><b>中文：</b>构建过程在调用线程上完成，请求线程在替换前后分别看到完整的旧快照或新快照；替换后接口解析缓存随即失效。<br>
+     * <b>English:</b>The snapshot is built on the calling thread; request threads see either the complete old
+     * snapshot or the complete new one, and the handler cache is invalidated right after the swap.</p>
+     */
+    protected synchronized void publishRouting() {
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = this.getHandlerMethods();
+        this.routing = new RoutingSnapshot(versionPrefixes, interfacePriorities, UNACTIVATED_VERSION,
+                mf.isFileConfiguration(), FileConfiguration,
+                buildVersionRoutes(), buildVersionTables(), buildPathFilter(handlerMethods), handlerMethods)
+                .withTenants(tenantVersions, mp.isTenantStrict());
+        refreshStickyResolvers();
+        invalidateHandlerCache();
+    }
+
+    /**
+     * <b>中文：</b>增量发布单个版本的变化：只修改该版本涉及的路由索引路径，其余结构与旧快照共享 <br>
+     * <b>English:</b>Publish the change of a single version incrementally: only the route index paths of that
+     * version are rewritten, every other structure is shared with the previous snapshot
+     *
+     * @param versionPrefix 版本前缀 / Version prefix
+     * @param versionPaths  该版本的版本原路径 / Versioned paths of the version
+     * @param mappings      新增或移除的接口 / Added or removed mappings
+     * @param added         {@code true} 表示启用，{@code false} 表示停用 / {@code true} when enabling, {@code false} when disabling
+     */
+    protected synchronized void publishVersionChange(String versionPrefix, List<String> versionPaths,
+                                                     List<VersionMapping> mappings, boolean added) {
+        RoutingSnapshot previous = this.routing;
+        RouteTrie<VersionRoute> previousRoutes = previous.getVersionRoutes();
+        // 受影响路径 -> 去掉该版本后的原有条目,启用时再把该版本的条目追加到末尾(该版本位于版本顺序末尾)
+        Map<String, List<VersionRoute>> changes = new LinkedHashMap<>();
+        List<String> unprefixedPaths = new ArrayList<>();
+        for (String versionPath : versionPaths) {
+            routesWithout(changes, previousRoutes, versionPath, versionPrefix);
+        }
+        for (VersionMapping versionMapping : mappings) {
+            for (String pattern : versionMapping.getPatterns()) {
+                if (pattern.startsWith(versionPrefix)) {
+                    String unprefixed = pattern.substring(versionPrefix.length());
+                    unprefixedPaths.add(unprefixed);
+                    routesWithout(changes, previousRoutes, unprefixed, versionPrefix);
+                }
+            }
+        }
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = new LinkedHashMap<>(previous.getHandlerMethods());
+        Map<String, VersionTable> versionTables = relinkVersionTables(previous.getVersionTables(), versionPrefix.substring(1),
+                added ? buildOwnHandlers(versionPrefix, mappings) : null);
+        PathBloomFilter pathFilter = previous.getPathFilter();
+        if (added) {
+            for (String versionPath : versionPaths) {
+                changes.get(versionPath).add(new VersionRoute(versionPrefix, null));
+            }
+            for (VersionMapping versionMapping : mappings) {
+                for (String pattern : versionMapping.getPatterns()) {
+                    if (pattern.startsWith(versionPrefix)) {
+                        changes.get(pattern.substring(versionPrefix.length()))
+                                .add(new VersionRoute(versionPrefix, versionMapping.handlerMethod));
+                    }
+                }
+                handlerMethods.put(versionMapping.info, versionMapping.handlerMethod);
+            }
+            if (pathFilter != null) {
+                // 新增路径需加入过滤器;停用时保留旧条目,过滤器仍是已注册路径的超集
+                pathFilter = pathFilter.copy();
+                for (VersionMapping versionMapping : mappings) {
+                    versionMapping.getPatterns().forEach(pathFilter::addPattern);
+                }
+                unprefixedPaths.forEach(pathFilter::addExact);
+            }
+        } else {
+            for (VersionMapping versionMapping : mappings) {
+                handlerMethods.remove(versionMapping.info);
+            }
+        }
+        this.routing = new RoutingSnapshot(versionPrefixes, interfacePriorities, UNACTIVATED_VERSION,
+                mf.isFileConfiguration(), FileConfiguration,
+                previousRoutes.withValues(changes), versionTables, pathFilter,
+                Collections.unmodifiableMap(handlerMethods)).withTenants(tenantVersions, mp.isTenantStrict());
+        refreshStickyResolvers();
+        invalidateHandlerCache();
+    }
+
+    /**
+     * <b>中文：</b>记录某路径去掉指定版本后的路由条目（每个路径只计算一次） <br>
+     * <b>English:</b>Record the routes of a path without the given version (computed once per path)
+     */
+    private static void routesWithout(Map<String, List<VersionRoute>> changes, RouteTrie<VersionRoute> routes,
+                                      String path, String versionPrefix) {
+        if (!changes.containsKey(path)) {
+            List<VersionRoute> remaining = new ArrayList<>();
+            for (VersionRoute route : routes.get(path)) {
+                if (!route.versionPrefix.equals(versionPrefix)) {
+                    remaining.add(route);
+                }
+            }
+            changes.put(path, remaining);
+        }
+    }
+
+    /**
+     * <b>中文：</b>获取当前发布的路由快照 <br>
+     * <b>English:</b>Get the currently published routing snapshot
+     */
+    public RoutingSnapshot getRoutingSnapshot() {
+        return routing;
+    }
+
+    /**
+     * <b>中文：</b>使接口解析缓存失效，在版本前缀、文件控制版本或接口优先级变化时调用 <br>
+     * <b>English:</b>Invalidate the resolved-handler cache; called whenever version prefixes, file-controlled versions or priorities change
+     */
+    protected void invalidateHandlerCache() {
+        if (handlerCache != null) {
+            handlerCache.invalidate();
+        }
+    }
+
+    /**
+     * <b>中文：</b>获取接口解析结果缓存，可用于查看命中/未命中次数；未开启时返回 {@code null} <br>
+     * <b>English:</b>Get the resolved-handler cache to read its hit/miss counters; {@code null} when disabled
+     */
+    public HandlerLookupCache<HandlerMethod> getHandlerCache() {
+        return handlerCache;
+    }
+
+    /**
+     * <b>中文：</b>设置请求指标，设置后每个带版本的接口在执行链中加入指标拦截器 <br>
+     * <b>English:</b>Set the request metrics; every versioned handler then gets a metrics interceptor in its execution chain
+     */
+    @Autowired(required = false)
+    public void setVersionMetrics(VersionMetrics versionMetrics) {
+        this.versionMetrics = versionMetrics;
+        this.metricsInterceptors.clear();
+    }
+
+    public VersionMetrics getVersionMetrics() {
+        return versionMetrics;
+    }
+
+    /**
+     * <b>中文：</b>构建执行链，并为接口方法加入按版本统计的指标拦截器 <br>
+     * <b>English:</b>Build the execution chain and add the per-version metrics interceptor for handler methods
+     */
+    @Override
+    protected HandlerExecutionChain getHandlerExecutionChain(Object handler, HttpServletRequest request) {
+        HandlerExecutionChain chain = super.getHandlerExecutionChain(handler, request);
+        VersionMetrics metrics = versionMetrics;
+        if (metrics != null && handler instanceof HandlerMethod handlerMethod) {
+            chain.addInterceptor(0, metricsInterceptors.computeIfAbsent(handlerMethod.getMethod(), m -> {
+                CoexistenceVersion cv = getCV(m);
+                String version = cv != null ? cv.version() : VersionMetrics.UNVERSIONED;
+                // 带上参数类型,重载方法分别统计
+                StringJoiner parameters = new StringJoiner(",", "(", ")");
+                for (Class<?> parameterType : m.getParameterTypes()) {
+                    parameters.add(parameterType.getSimpleName());
+                }
+                String endpoint = handlerMethod.getBeanType().getSimpleName() + "#" + m.getName() + parameters;
+                return new VersionMetricsInterceptor(metrics.endpoint(version, endpoint));
+            }));
+        }
+        return chain;
+    }
+
     /**
      * <b>中文：</b>检查方法或类上是否有 @CoexistenceVersion 注解 <br>
      * <b>English:</b>Check if method or declaring class has @CoexistenceVersion
      */
-    private CoexistenceVersion getCV(Method method){
+    protected CoexistenceVersion getCV(Method method){
         CoexistenceVersion cv = method.getAnnotation(CoexistenceVersion.class);
         return cv != null?cv:method.getDeclaringClass().getAnnotation(CoexistenceVersion.class);
     }
@@ -314,8 +1248,429 @@ public class DualRequestMappingHandlerMapping extends RequestMappingHandlerMappi
     @Override
     public void afterPropertiesSet() {
         super.afterPropertiesSet(); // 确保父类逻辑执行
+        registerPendingHandlerMethods();
         // UNACTIVATED_VERSION
         v.refreshActiveVersions(UNACTIVATED_VERSION);
+        initialized = true;
+        publishRouting();
+    }
+
+    /**
+     * <b>中文：</b>裁决启动阶段收集的版本接口并统一注册 <br>
+     * <b>English:</b>Resolve the versioned handlers collected at startup and register the winners
+     *
+     * <p><b>中文：</b>第一阶段按出现顺序模拟逐个注册的规则：无 {@link InterfacePriority} 的接口直接入选，
+     * 按 {@code SortingMethod} 更优的接口替换同路径上最早入选的接口，优先级相同视为冲突，较差的接口被忽略；
+     * 最大版本数的限制与逐个注册时一致。第二阶段按出现顺序注册入选接口，每个路径只注册一次，
+     * 全部冲突最后通过 {@link org.bailiun.multipleversionscoexist.Abstraction.MulRegisterHandlerMethod#PrintConflicts(Map)} 一次性输出。<br>
+     * <b>English:</b>The first phase replays the one-by-one rules in encounter order: handlers without
+     * {@link InterfacePriority} always win, a handler that is better by {@code SortingMethod} replaces the earliest
+     * winner of its path, equal priorities are conflicts and worse ones are ignored; the maximum version count
+     * applies exactly as before. The second phase registers the winners in encounter order, each path exactly once,
+     * and every conflict is reported in one batch through
+     * {@link org.bailiun.multipleversionscoexist.Abstraction.MulRegisterHandlerMethod#PrintConflicts(Map)}.</p>
+     *
+     * <p><b>中文：</b>存在与当前接口一致的版本路由清单时（见 {@link #matchRouteManifest(VersionRouteManifest)}），第一阶段直接采用清单中编译期的裁决结果。
+     * 配置了 {@code multi.version.routing-table-file} 时，优先复用上次启动持久化的路由表（见 {@link PersistedRoutingTable}），
+     * 未能复用且没有冲突时在裁决完成后重写该文件。<br>
+     * <b>English:</b>When a version route manifest matching the current handlers exists (see {@link #matchRouteManifest(VersionRouteManifest)}),
+     * the first phase takes the build-time resolution from the manifest instead. With {@code multi.version.routing-table-file}
+     * set, the routing table persisted by the previous boot (see {@link PersistedRoutingTable}) is preferred; when it
+     * cannot be reused and there are no conflicts, the file is rewritten after resolution.</p>
+     */
+    protected synchronized void registerPendingHandlerMethods() {
+        if (pendingRegistrations.isEmpty()) {
+            return;
+        }
+        Map<String, Integer> priorities = new HashMap<>();
+        Map<String, List<PendingRegistration>> winners = new HashMap<>();
+        Map<String, List<Method>> conflicts = new LinkedHashMap<>();
+        Set<String> prefixes = new HashSet<>(versionPrefixes.keySet());
+        Path tableFile = StringUtils.hasText(mp.getRoutingTableFile()) ? Paths.get(mp.getRoutingTableFile()) : null;
+        byte[] tableKey = tableFile != null ? PersistedRoutingTable.computeKey(mp, mi) : null;
+        PersistedRoutingTable persisted = tableFile != null ? PersistedRoutingTable.read(tableFile, tableKey) : null;
+        Map<PendingRegistration, ManifestRoute> manifestRoutes = matchRouteManifest(persisted);
+        boolean reused = manifestRoutes != null;
+        if (reused) {
+            for (String version : persisted.getUnactivatedVersions()) {
+                if (!UNACTIVATED_VERSION.contains(version)) {
+                    UNACTIVATED_VERSION.add(version);
+                }
+            }
+        } else {
+            manifestRoutes = matchRouteManifest(routeManifest);
+        }
+        for (PendingRegistration pending : pendingRegistrations) {
+            if (prefixes.size() >= mp.getMaxNum()) {
+                System.err.println("超出可注册版本最大数量,以下版本被拒绝注册:" + pending.cv.version());
+                continue;
+            }
+            if (manifestRoutes != null) {
+                ManifestRoute route = manifestRoutes.get(pending);
+                if (!route.isActive()) {
+                    System.out.println("忽略低优先级接口:" + pending.newPath + "/--优先级:" + route.getPriority());
+                    continue;
+                }
+                priorities.put(pending.newPath, route.getPriority() != null ? route.getPriority() : 0);
+                winners.computeIfAbsent(pending.newPath, k -> new ArrayList<>(1)).add(pending);
+                prefixes.add("/" + pending.cv.version());
+                continue;
+            }
+            InterfacePriority ip = pending.method.getAnnotation(InterfacePriority.class);
+            Integer existingPriority = priorities.get(pending.newPath);
+            List<PendingRegistration> pathWinners = winners.computeIfAbsent(pending.newPath, k -> new ArrayList<>(1));
+            if (ip != null && existingPriority != null) {
+                if (drm.SortingMethod(mp, ip.value(), existingPriority)) {
+                    // 当前接口优先级更高，替换最早入选的接口
+                    if (!pathWinners.isEmpty()) {
+                        pathWinners.remove(0);
+                    }
+                } else if (ip.value() == existingPriority) {
+                    conflicts.computeIfAbsent(pending.newPath, k -> new ArrayList<>()).add(pending.method);
+                    continue;
+                } else {
+                    // 当前接口优先级低，不注册
+                    System.out.println("忽略低优先级接口:" + pending.newPath + "/--优先级:" + ip.value());
+                    continue;
+                }
+            }
+            priorities.put(pending.newPath, ip != null ? ip.value() : 0);
+            pathWinners.add(pending);
+            prefixes.add("/" + pending.cv.version());
+        }
+        Set<PendingRegistration> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        winners.values().forEach(selected::addAll);
+        for (PendingRegistration pending : pendingRegistrations) {
+            if (!selected.contains(pending)) {
+                continue;
+            }
+            interfacePriorities.put(pending.newPath, priorities.get(pending.newPath));
+            RequestMappingInfo newMapping = drm.InterfaceInjection(pending.mapping, pending.newPath, pending.cv, versionPrefixes);
+            try {
+                registerIndexed(pending.handler, pending.method, newMapping);
+                versionMappings.computeIfAbsent("/" + pending.cv.version(), k -> new LinkedHashMap<>())
+                        .put(newMapping, new VersionMapping(newMapping, createHandlerMethod(pending.handler, pending.method)));
+            } catch (IllegalStateException e) {
+                conflicts.computeIfAbsent(pending.newPath, k -> new ArrayList<>()).add(pending.method);
+            }
+        }
+        if (tableFile != null && !reused && conflicts.isEmpty()) {
+            persistRoutingTable(tableFile, tableKey, selected);
+        }
+        pendingRegistrations.clear();
+        if (!conflicts.isEmpty()) {
+            drm.PrintConflicts(conflicts);
+        }
+    }
+
+    /**
+     * <b>中文：</b>将待注册接口与版本路由清单逐一对应 <br>
+     * <b>English:</b>Match every pending handler to its version route manifest entry
+     *
+     * <p><b>中文：</b>清单的排序方式与当前配置不一致，任一待注册接口在清单中找不到相同方法与相同版本路径的条目，
+     * 条目记录的优先级与方法上当前的 {@link InterfacePriority} 不一致，或某个版本路径对应的条目全部落选
+     * （例如清单生成后控制器又被修改），则返回 {@code null}，改为启动时裁决。<br>
+     * <b>English:</b>Returns {@code null}, falling back to startup resolution, when the manifest was built for another
+     * sorting method, any pending handler has no entry with the same method and versioned path, an entry's priority
+     * differs from the method's current {@link InterfacePriority}, or every matched entry of a versioned path lost
+     * (e.g. the manifest is stale).</p>
+     */
+    protected Map<PendingRegistration, ManifestRoute> matchRouteManifest(VersionRouteManifest manifest) {
+        if (manifest == null || !manifest.getSortingMethod().equalsIgnoreCase(mp.getSortingMethod())) {
+            return null;
+        }
+        Map<String, ManifestRoute> routesByMethod = new HashMap<>();
+        for (ManifestRoute route : manifest.getRoutes()) {
+            routesByMethod.put(route.getMethodKey() + " " + route.getVersionedPath(), route);
+        }
+        Map<PendingRegistration, ManifestRoute> matched = new IdentityHashMap<>();
+        for (PendingRegistration pending : pendingRegistrations) {
+            ManifestRoute route = routesByMethod.get(ManifestRoute.methodKey(pending.method.getDeclaringClass().getName(),
+                    pending.method.getName(), parameterTypeNames(pending.method)) + " " + pending.newPath);
+            if (route == null) {
+                return null;
+            }
+            // 重新编译后优先级可能已变化,以方法上当前的注解为准
+            InterfacePriority ip = pending.method.getAnnotation(InterfacePriority.class);
+            if (!Objects.equals(route.getPriority(), ip != null ? ip.value() : null)) {
+                return null;
+            }
+            matched.put(pending, route);
+        }
+        // 胜出的接口已被删除时,剩下的接口在清单中都是落选状态
+        Set<String> activePaths = new HashSet<>();
+        matched.values().forEach(route -> {
+            if (route.isActive()) {
+                activePaths.add(route.getVersionedPath());
+            }
+        });
+        for (ManifestRoute route : matched.values()) {
+            if (!activePaths.contains(route.getVersionedPath())) {
+                return null;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * <b>中文：</b>将本次裁决结果写入路由表文件，供下次启动复用 <br>
+     * <b>English:</b>Persist the resolution of this boot to the routing table file for reuse on the next boot
+     */
+    protected void persistRoutingTable(Path tableFile, byte[] tableKey, Set<PendingRegistration> selected) {
+        List<ManifestRoute> routes = new ArrayList<>(pendingRegistrations.size());
+        for (PendingRegistration pending : pendingRegistrations) {
+            String version = pending.cv.version();
+            InterfacePriority ip = pending.method.getAnnotation(InterfacePriority.class);
+            routes.add(new ManifestRoute(version, pending.method.getDeclaringClass().getName(), pending.method.getName(),
+                    parameterTypeNames(pending.method), List.of(pending.newPath.substring(version.length() + 1)),
+                    Collections.emptyList(), ip != null ? ip.value() : null, selected.contains(pending),
+                    selected.contains(pending) ? null : ""));
+        }
+        new PersistedRoutingTable(mp.getSortingMethod(), routes, new LinkedHashSet<>(UNACTIVATED_VERSION)).write(tableFile, tableKey);
+    }
+
+    private static List<String> parameterTypeNames(Method method) {
+        List<String> parameterTypes = new ArrayList<>();
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            parameterTypes.add(parameterType.getCanonicalName());
+        }
+        return parameterTypes;
+    }
+
+    /**
+     * <b>中文：</b>根据已注册的接口构建版本路由索引 <br>
+     * <b>English:</b>Build the versioned route index from the registered handler methods
+     *
+     * <p><b>中文：</b>对每个版本前缀（按 {@link #versionPrefixes} 的遍历顺序），先登记该版本的原路径（直接访问时拒绝），
+     * 再按注册顺序登记该版本接口去掉前缀后的路径，查找结果与逐个版本遍历已注册接口的结果一致。<br>
+     * <b>English:</b>For every version prefix (in {@link #versionPrefixes} iteration order), first records the
+     * versioned paths themselves (rejected on direct access), then the version's registered patterns under their
+     * unprefixed path in registration order, so a lookup yields the same result as probing the registered handlers version by version.</p>
+     */
+    protected RouteTrie<VersionRoute> buildVersionRoutes() {
+        RouteTrie<VersionRoute> routes = new RouteTrie<>();
+        for (String versionPrefix : versionPrefixes.keySet()) {
+            for (String versionPath : versionPrefixes.get(versionPrefix)) {
+                routes.put(versionPath, new VersionRoute(versionPrefix, null));
+            }
+            for (VersionMapping versionMapping : versionMappings.getOrDefault(versionPrefix, Collections.emptyMap()).values()) {
+                for (String pattern : versionMapping.getPatterns()) {
+                    if (pattern.startsWith(versionPrefix)) {
+                        routes.put(pattern.substring(versionPrefix.length()), new VersionRoute(versionPrefix, versionMapping.handlerMethod));
+                    }
+                }
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * <b>中文：</b>构建每个版本的接口表，请求已指定版本时只需一次哈希查找 <br>
+     * <b>English:</b>Build the per-version handler tables, so a request naming its version needs a single hash lookup
+     *
+     * <p><b>中文：</b>声明了回退链（{@link MultiVersionInfo#getFallbackChain(String)}）的版本，其接口表在构建时即合并
+     * 回退版本的接口：本版本优先，其余路径取链上第一个提供该路径的版本，请求时不再逐个版本探测。<br>
+     * <b>English:</b>For versions declaring a fallback chain ({@link MultiVersionInfo#getFallbackChain(String)}) the
+     * table is merged at build time: the version's own handlers win, every other path is taken from the first version
+     * in the chain that provides it, so no per-request probing is needed.</p>
+     */
+    protected Map<String, VersionTable> buildVersionTables() {
+        Map<String, Map<String, VersionRoute>> ownHandlers = new HashMap<>();
+        for (Map.Entry<String, Map<RequestMappingInfo, VersionMapping>> entry : versionMappings.entrySet()) {
+            ownHandlers.put(entry.getKey().substring(1), buildOwnHandlers(entry.getKey(), entry.getValue().values()));
+        }
+        Map<String, VersionTable> tables = new HashMap<>();
+        for (String version : tableVersions(ownHandlers.keySet())) {
+            VersionTable table = linkVersionTable(version, ownHandlers);
+            if (table != null) {
+                tables.put(version, table);
+            }
+        }
+        return Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * <b>中文：</b>单个版本变化后，只重新合并该版本以及回退链包含该版本的接口表 <br>
+     * <b>English:</b>After a single version changed, re-merge only its table and the tables whose fallback chain contains it
+     *
+     * @param previous     旧接口表 / Previous tables
+     * @param version      变化的版本名称 / Name of the changed version
+     * @param ownHandlers  该版本新的接口，停用时为空 / The version's new handlers, {@code null} when disabled
+     */
+    protected Map<String, VersionTable> relinkVersionTables(Map<String, VersionTable> previous, String version,
+                                                            Map<String, VersionRoute> ownHandlers) {
+        Map<String, Map<String, VersionRoute>> own = new HashMap<>();
+        previous.forEach((k, table) -> {
+            if (!table.ownHandlers.isEmpty()) {
+                own.put(k, table.ownHandlers);
+            }
+        });
+        own.remove(version);
+        if (ownHandlers != null) {
+            own.put(version, ownHandlers);
+        }
+        Map<String, VersionTable> tables = new HashMap<>(previous);
+        tables.remove(version);
+        tables.keySet().removeIf(candidate -> !isVersionServed(candidate));
+        for (String candidate : tableVersions(own.keySet())) {
+            if (candidate.equals(version) || mi.getFallbackChain(candidate).contains(version)) {
+                VersionTable table = linkVersionTable(candidate, own);
+                if (table != null) {
+                    tables.put(candidate, table);
+                } else {
+                    tables.remove(candidate);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(tables);
+    }
+
+    /**
+     * <b>中文：</b>需要接口表的版本：已注册接口的版本与声明了回退链的版本，去掉停用与未激活的版本 <br>
+     * <b>English:</b>Versions that get a table: those with registered handlers and those declaring a fallback chain,
+     * minus disabled and unactivated versions
+     */
+    private Set<String> tableVersions(Set<String> registered) {
+        Set<String> versions = new LinkedHashSet<>(registered);
+        versions.addAll(mi.getFallbackVersions());
+        versions.removeIf(version -> !isVersionServed(version));
+        return versions;
+    }
+
+    /**
+     * <b>中文：</b>版本当前是否对外提供服务：运行时开关优先，其次为未激活列表与 {@code multi.info} 的启用状态 <br>
+     * <b>English:</b>Whether the version is currently served: the runtime switch wins, then the unactivated list and
+     * the {@code multi.info} enable state
+     */
+    private boolean isVersionServed(String version) {
+        Boolean runtimeState = runtimeVersionStates.get(version);
+        if (runtimeState != null) {
+            return runtimeState;
+        }
+        return !UNACTIVATED_VERSION.contains(version) && mi.getVersionsInfo().versionIsOk(version) != 2;
+    }
+
+    /**
+     * <b>中文：</b>按回退链合并出版本的有效接口表，没有任何接口时返回 {@code null} <br>
+     * <b>English:</b>Merge the effective table of a version along its fallback chain; {@code null} when it would be empty
+     */
+    protected VersionTable linkVersionTable(String version, Map<String, Map<String, VersionRoute>> ownHandlers) {
+        Map<String, VersionRoute> own = ownHandlers.getOrDefault(version, Collections.emptyMap());
+        List<String> chain = mi.getFallbackChain(version);
+        if (chain.isEmpty()) {
+            return own.isEmpty() ? null : new VersionTable("/" + version, own, own);
+        }
+        // 每条记录保留提供接口的版本前缀,请求时按该版本的可访问性判断
+        Map<String, VersionRoute> handlers = new HashMap<>(own);
+        for (String fallback : chain) {
+            ownHandlers.getOrDefault(fallback, Collections.emptyMap()).forEach(handlers::putIfAbsent);
+        }
+        return handlers.isEmpty() ? null : new VersionTable("/" + version, Collections.unmodifiableMap(handlers), own);
+    }
+
+    /**
+     * <b>中文：</b>构建单个版本自身的接口表，键为去掉版本前缀后的路径 <br>
+     * <b>English:</b>Build the own handler table of one version, keyed by the path without the version prefix
+     */
+    protected Map<String, VersionRoute> buildOwnHandlers(String versionPrefix, Collection<VersionMapping> mappings) {
+        Map<String, VersionRoute> handlers = new HashMap<>();
+        for (VersionMapping versionMapping : mappings) {
+            for (String pattern : versionMapping.getPatterns()) {
+                if (pattern.startsWith(versionPrefix)) {
+                    handlers.putIfAbsent(pattern.substring(versionPrefix.length()), new VersionRoute(versionPrefix, versionMapping.handlerMethod));
+                }
+            }
+        }
+        return Collections.unmodifiableMap(handlers);
+    }
+
+    /**
+     * <b>中文：</b>根据已注册的接口构建路径快速排除过滤器 <br>
+     * <b>English:</b>Build the fast-reject path filter from the registered handler methods
+     *
+     * <p><b>中文：</b>登记每个接口的 Ant 与 PathPattern 模式，以及版本路由索引中去掉版本前缀后的路径，
+     * 保证任何能被 {@link #lookupHandlerMethod} 匹配到的路径都不会被误拒。<br>
+     * <b>English:</b>Records every Ant and PathPattern pattern plus the unprefixed paths of the versioned route
+     * index, so no path that {@link #lookupHandlerMethod} could match is ever rejected.</p>
+     */
+    protected PathBloomFilter buildPathFilter(Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        List<String> patterns = new ArrayList<>();
+        List<String> versionPaths = new ArrayList<>();
+        for (RequestMappingInfo info : handlerMethods.keySet()) {
+            if (info.getPathPatternsCondition() != null) {
+                patterns.addAll(info.getPathPatternsCondition().getPatternValues());
+            }
+            if (info.getPatternsCondition() != null) {
+                patterns.addAll(info.getPatternsCondition().getPatterns());
+            }
+        }
+        for (Map.Entry<String, Map<RequestMappingInfo, VersionMapping>> entry : versionMappings.entrySet()) {
+            for (VersionMapping versionMapping : entry.getValue().values()) {
+                for (String pattern : versionMapping.getPatterns()) {
+                    if (pattern.startsWith(entry.getKey())) {
+                        versionPaths.add(pattern.substring(entry.getKey().length()));
+                    }
+                }
+            }
+        }
+        PathBloomFilter filter = new PathBloomFilter(patterns.size() * 2 + versionPaths.size(), 0.01);
+        patterns.forEach(filter::addPattern);
+        versionPaths.forEach(filter::addExact);
+        return filter;
+    }
+
+    /**
+     * <b>中文：</b>启动阶段等待裁决的版本接口 <br>
+     * <b>English:</b>A versioned handler waiting for priority resolution at startup
+     */
+    protected static final class PendingRegistration {
+        final Object handler;
+        final Method method;
+        final RequestMappingInfo mapping;
+        final String newPath;
+        final CoexistenceVersion cv;
+
+        PendingRegistration(Object handler, Method method, RequestMappingInfo mapping, String newPath, CoexistenceVersion cv) {
+            this.handler = handler;
+            this.method = method;
+            this.mapping = mapping;
+            this.newPath = newPath;
+            this.cv = cv;
+        }
+    }
+
+    /**
+     * <b>中文：</b>版本候选接口，保存注册时的原始参数，用于运行时重放 <br>
+     * <b>English:</b>A versioned handler candidate, keeping the original registration arguments for runtime replay
+     */
+    protected static final class VersionCandidate {
+        final Object handler;
+        final Method method;
+        final RequestMappingInfo mapping;
+
+        VersionCandidate(Object handler, Method method, RequestMappingInfo mapping) {
+            this.handler = handler;
+            this.method = method;
+            this.mapping = mapping;
+        }
+    }
+
+    /**
+     * <b>中文：</b>已注册的版本接口及其 Handler 方法 <br>
+     * <b>English:</b>A registered versioned mapping and its handler method
+     */
+    protected static final class VersionMapping {
+        final RequestMappingInfo info;
+        final HandlerMethod handlerMethod;
+
+        VersionMapping(RequestMappingInfo info, HandlerMethod handlerMethod) {
+            this.info = info;
+            this.handlerMethod = handlerMethod;
+        }
+
+        Set<String> getPatterns() {
+            return info.getPatternsCondition() != null ? info.getPatternsCondition().getPatterns() : Collections.emptySet();
+        }
     }
 
 }
\ No newline at end of file
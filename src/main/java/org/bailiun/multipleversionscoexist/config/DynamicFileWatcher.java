@@ -1,49 +1,68 @@
 package org.bailiun.multipleversionscoexist.config;
 
 import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.bailiun.multipleversionscoexist.en.FileRevision;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.TaskScheduler;
-import org.springframework.stereotype.Component;
 
 import javax.annotation.Resource;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
 /**
  * DynamicFileWatcher — 动态文件监听器 / Dynamic File Watcher
  *
  * <p><b>中文说明：</b><br>
  * 该类用于在启用 “本地文件控制版本访问” 功能后，
- * 定时读取配置文件内容（例如 {@code VersionConfig.txt}），
+ * 监听配置文件（例如 {@code VersionConfig.txt}）的变化并重新读取，
  * 将其转换为内存缓存（{@code List<String>}）以供版本控制逻辑使用。</p>
  *
  * <p>主要职责包括：</p>
  * <ul>
  *   <li>在程序启动时（实现 {@link CommandLineRunner} 接口）初始化本地文件配置</li>
- *   <li>基于 {@link TaskScheduler} 定期刷新配置内容</li>
- *   <li>支持动态间隔（由 {@code multi.version.file.FileRefreshTime} 控制）</li>
+ *   <li>通过 {@link WatchService} 监听文件所在目录，目录中任何变化都会触发重新加载（包括 Kubernetes ConfigMap
+ *       通过替换 {@code ..data} 符号链接完成的更新），内容未变化时只做一次属性比较</li>
+ *   <li>防抖：{@code FileDebounceTime} 内的连续修改只触发一次重新加载</li>
+ *   <li>{@code FileRefreshTime} 大于 0 时始终基于 {@link TaskScheduler} 定时轮询：监听可用时作为事件丢失的兜底，
+ *       文件系统不支持监听或关闭 {@code FileWatchService} 时作为唯一的刷新方式</li>
  *   <li>在控制台输出当前状态，如启动成功、未配置、文件刷新等信息</li>
  * </ul>
  *
  * <p><b>English Description:</b><br>
  * This component dynamically watches and reloads local version control files.
- * When local file-based version control is enabled, it periodically reads the
- * configuration file (e.g., {@code VersionConfig.txt}), converts its contents into
+ * When local file-based version control is enabled, it watches the configuration
+ * file (e.g., {@code VersionConfig.txt}) for changes, converts its contents into
  * an in-memory cache, and updates version access states automatically.</p>
  *
  * <p>Main responsibilities:</p>
  * <ul>
  *   <li>Initialize file configuration at startup (implements {@link CommandLineRunner})</li>
- *   <li>Refresh file contents periodically using {@link TaskScheduler}</li>
- *   <li>Support dynamic refresh interval via {@code multi.version.file.FileRefreshTime}</li>
+ *   <li>Watch the parent directory with a {@link WatchService}; any change in it triggers a reload (including
+ *       Kubernetes ConfigMap updates, which swap the {@code ..data} symlink), and an unchanged content only costs
+ *       an attribute comparison</li>
+ *   <li>Debounce: a burst of edits within {@code FileDebounceTime} triggers a single reload</li>
+ *   <li>Whenever {@code FileRefreshTime} is greater than 0, poll with {@link TaskScheduler} as well: next to the
+ *       watcher it is a safety net for lost events, and it is the only refresh when the file system cannot be
+ *       watched or {@code FileWatchService} is disabled</li>
  *   <li>Provide console logs for status and diagnostics</li>
  * </ul>
  *
@@ -56,6 +75,8 @@ import java.util.stream.Collectors;
  *       FileConfiguration: true
  *       FilePath: config/VersionConfig.txt
  *       FileRefreshTime: 5000
+ *       FileWatchService: true
+ *       FileDebounceTime: 300
  * }</pre>
  *
  * <pre>{@code
@@ -63,10 +84,17 @@ import java.util.stream.Collectors;
  * v1
  * v2
  * v3
+ * @canary /orders/** v2=5 v1=95
  * }</pre>
  *
+ * <p>以 {@code @canary} 开头的行是灰度分流规则，只替换 {@link DualRequestMappingHandlerMapping} 的规则引用，不重建注册表；
+ * 文件中没有 {@code @canary} 行时使用 {@code multi.version.canary} 配置的规则。<br>
+ * Lines starting with {@code @canary} are canary rules; they only swap the rule reference of
+ * {@link DualRequestMappingHandlerMapping} and never rebuild the registry. Without any {@code @canary} line the
+ * rules configured in {@code multi.version.canary} apply.</p>
+ *
  * <pre>{@code
- * ✅ 动态注册定时任务, 间隔: 5000ms
+ * ✅ 配置文件监听已启动: /app/config/VersionConfig.txt
  * [v1, v2, v3]
  * 配置文件已刷新
  * }</pre>
@@ -75,8 +103,7 @@ import java.util.stream.Collectors;
  * @version 1.0.0
  * @since 1.0.0
  */
-//@Component
-public class DynamicFileWatcher implements CommandLineRunner {
+public class DynamicFileWatcher implements CommandLineRunner, DisposableBean {
 
     /**
      * <p><b>中文说明：</b>任务调度器，用于定时执行配置文件刷新任务。</p>
@@ -100,10 +127,49 @@ public class DynamicFileWatcher implements CommandLineRunner {
     private MultiVersionFile mf;
 
     /**
-     * <p><b>中文说明：</b>当前文件中读取到的版本列表缓存。</p>
-     * <p><b>English Description:</b>Cached version list read from the local configuration file.</p>
+     * <p><b>中文说明：</b>多版本基础配置，文件中没有灰度规则时使用其中 {@code multi.version.canary} 的规则。</p>
+     * <p><b>English Description:</b>Multi-version base properties; their {@code multi.version.canary} rules apply
+     * when the file holds no canary rules.</p>
+     */
+    @Resource
+    private MultiVersionProperties mp;
+
+    /**
+     * <p><b>中文说明：</b>最近一次发布给请求映射处理器的可访问版本，不可变集合。</p>
+     * <p><b>English Description:</b>Accessible versions last published to the handler mapping, an immutable set.</p>
+     */
+    private Set<String> FileConfiguration = Collections.emptySet();
+
+    /**
+     * <p><b>中文说明：</b>当前文件中读取到的灰度分流规则。</p>
+     * <p><b>English Description:</b>Canary rules read from the local configuration file.</p>
+     */
+    private List<String> CanaryConfiguration = new ArrayList<>();
+
+    /**
+     * <p><b>中文说明：</b>多版本请求映射处理器，用于下发灰度规则。</p>
+     * <p><b>English Description:</b>Multi-version handler mapping receiving the canary rules.</p>
+     */
+    @Resource
+    private ObjectProvider<DualRequestMappingHandlerMapping> mapping;
+
+    /**
+     * <p><b>中文说明：</b>监听配置文件所在目录的文件系统事件服务，回退为轮询时为 {@code null}。</p>
+     * <p><b>English Description:</b>Watch service on the parent directory of the file, {@code null} when polling.</p>
+     */
+    private WatchService watchService;
+
+    /**
+     * <p><b>中文说明：</b>等待执行的重新加载任务，用于防抖。</p>
+     * <p><b>English Description:</b>Pending reload task, used for debouncing.</p>
+     */
+    private ScheduledFuture<?> pendingReload;
+
+    /**
+     * <p><b>中文说明：</b>配置文件变化检测，内容未变化时跳过解析。</p>
+     * <p><b>English Description:</b>Change detector of the file; parsing is skipped while the content is unchanged.</p>
      */
-    private List<String> FileConfiguration = new ArrayList<>();
+    private final FileChangeDetector changeDetector = new FileChangeDetector();
 
     /**
      * 程序启动入口 / Application Startup Entry
@@ -112,8 +178,8 @@ public class DynamicFileWatcher implements CommandLineRunner {
      * 当程序启动时执行：</p>
      * <ul>
      *   <li>如果启用了文件控制功能，则立即读取配置文件内容</li>
-     *   <li>若配置了刷新间隔，则注册定时任务以周期性更新文件内容</li>
-     *   <li>否则输出警告信息提示未启用定时刷新</li>
+     *   <li>随后监听文件所在目录，并在配置了 {@code FileRefreshTime} 时注册定时任务周期性检查文件内容</li>
+     *   <li>两者都不可用时输出警告信息提示未启用刷新</li>
      * </ul>
      *
      *
@@ -121,8 +187,8 @@ public class DynamicFileWatcher implements CommandLineRunner {
      * Executed on application startup:</p>
      * <ul>
      *   <li>Reads configuration file if file-based control is enabled</li>
-     *   <li>Registers a scheduled refresh task if {@code FileRefreshTime} is set</li>
-     *   <li>Otherwise, prints a warning message to console</li>
+     *   <li>Then watches its parent directory, and registers a scheduled refresh task when {@code FileRefreshTime} is set</li>
+     *   <li>Prints a warning when neither is available</li>
      * </ul>
      *
      *
@@ -130,45 +196,135 @@ public class DynamicFileWatcher implements CommandLineRunner {
      */
     @Override
     public void run(String... args) {
+        boolean watching = false;
         if (mf.isFileConfiguration()) {
             Path path = Paths.get(mf.getFilePath());
             try {
-                FileConfiguration = Files.readAllLines(path).stream()
-                        .filter(line -> !line.trim().isEmpty())
-                        .map(line -> line.startsWith("/") ? line : "/" + line.trim())
-                        .collect(Collectors.toList());
+                reload(path);
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
+            watching = mf.isFileWatchService() && startWatching(path);
         }
 
-        if (refreshTime > 0) {
-            taskScheduler.scheduleWithFixedDelay(this::watchConfigFile, Duration.ofMillis(refreshTime));
-            System.out.println("✅ 动态注册定时任务, 间隔: " + refreshTime + "ms");
-        } else {
+        long interval = refreshTime > 0 ? refreshTime : mf.getFileRefreshTime() != null ? mf.getFileRefreshTime() : 0;
+        if (mf.isFileConfiguration() && interval > 0) {
+            // 监听可用时轮询作为兜底,覆盖网络文件系统等丢失事件的情况;内容未变化时只比较文件属性
+            taskScheduler.scheduleWithFixedDelay(this::watchConfigFile, Duration.ofMillis(interval));
+            System.out.println((watching ? "✅ 兜底轮询已启动, 间隔: " : "✅ 动态注册定时任务, 间隔: ") + interval + "ms");
+        } else if (!watching) {
             System.out.println("⚠️ 未配置 FileRefreshTime, 不启动定时刷新任务");
         }
     }
 
+    /**
+     * 监听配置文件 / Watch Configuration File
+     *
+     * <p><b>中文说明：</b>在文件所在目录上注册 {@link WatchService}，由守护线程等待事件，目录中的任何事件都经防抖后重新加载。
+     * 不按文件名过滤：编辑器以“写临时文件再重命名”方式保存，Kubernetes ConfigMap 通过替换 {@code ..data} 符号链接更新，
+     * 这些情况下事件都不带配置文件本身的名称；是否真正变化由 {@link FileChangeDetector} 判断。
+     * 文件系统不支持监听时返回 {@code false}，由调用方回退为轮询。</p>
+     *
+     * <p><b>English Description:</b>Registers a {@link WatchService} on the parent directory and waits for events on
+     * a daemon thread; any event in the directory triggers a debounced reload. Events are not filtered by file name:
+     * editors that save by writing a temporary file and renaming it, and Kubernetes ConfigMaps that swap the
+     * {@code ..data} symlink, produce events that do not name the configuration file itself; whether it really
+     * changed is left to {@link FileChangeDetector}. Returns {@code false} when the file system cannot be watched, so
+     * the caller falls back to polling.</p>
+     *
+     * @param file 配置文件 / Configuration file
+     * @return 是否已开始监听 / Whether watching has started
+     */
+    protected boolean startWatching(Path file) {
+        Path absolute = file.toAbsolutePath().normalize();
+        Path directory = absolute.getParent();
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("配置文件目录无法监听,回退为定时轮询:" + directory + " " + e);
+            closeWatchService();
+            return false;
+        }
+        WatchService service = watchService;
+        Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    WatchKey key = service.take();
+                    // 目录中的任何事件(含 OVERFLOW)都重新检查,符号链接替换时事件中不会出现配置文件名
+                    if (!key.pollEvents().isEmpty()) {
+                        scheduleReload();
+                    }
+                    if (!key.reset()) {
+                        System.err.println("配置文件目录已失效,停止监听:" + directory);
+                        return;
+                    }
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // 应用关闭
+            }
+        }, "multi-version-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("✅ 配置文件监听已启动: " + absolute + ", 防抖: " + mf.getFileDebounceTime() + "ms");
+        return true;
+    }
+
+    /**
+     * <b>中文：</b>防抖：取消尚未执行的重新加载，在 {@code FileDebounceTime} 之后重新加载 <br>
+     * <b>English:</b>Debounce: cancel the pending reload and reload after {@code FileDebounceTime}
+     */
+    private synchronized void scheduleReload() {
+        if (pendingReload != null) {
+            pendingReload.cancel(false);
+        }
+        long debounce = mf.getFileDebounceTime() != null ? Math.max(mf.getFileDebounceTime(), 0) : 0;
+        pendingReload = taskScheduler.schedule(this::watchConfigFile, Instant.now().plusMillis(debounce));
+    }
+
+    /**
+     * <b>中文：</b>应用关闭时停止监听 <br>
+     * <b>English:</b>Stop watching when the application shuts down
+     */
+    @Override
+    public void destroy() {
+        closeWatchService();
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // 关闭失败不影响应用退出
+            }
+            watchService = null;
+        }
+    }
+
     /**
      * 文件刷新逻辑 / File Refresh Logic
      *
      * <p><b>中文说明：</b>
-     * 定期检查并重新加载指定路径的配置文件内容：</p>
+     * 文件变化（或轮询）时重新加载指定路径的配置文件内容：</p>
      * <ul>
+     *   <li>先通过 {@link FileChangeDetector} 比较文件属性与内容校验值，内容未变化时不解析也不输出</li>
      *   <li>忽略空行</li>
      *   <li>为每个版本号自动添加前缀“/”</li>
-     *   <li>更新本地缓存 {@code FileConfiguration}</li>
+     *   <li>与上次发布的版本比较，有变化时发布给请求映射处理器</li>
      *   <li>打印刷新结果到控制台</li>
      * </ul>
      *
      *
      * <p><b>English Description:</b>
-     * Periodically checks and reloads the file content:</p>
+     * Reloads the file content when it changes (or on every poll):</p>
      * <ul>
+     *   <li>Compares the file attributes and content checksum through {@link FileChangeDetector} first; an unchanged
+     *       content is neither parsed nor printed</li>
      *   <li>Ignores blank lines</li>
      *   <li>Prefixes each version with “/”</li>
-     *   <li>Updates the {@code FileConfiguration} cache</li>
+     *   <li>Publishes the versions to the handler mapping when they differ from the last published ones</li>
      *   <li>Prints refresh results to console</li>
      * </ul>
      *
@@ -177,17 +333,112 @@ public class DynamicFileWatcher implements CommandLineRunner {
         if (mf.isFileConfiguration()) {
             Path configPath = Paths.get(mf.getFilePath());
             try {
-                if (Files.exists(configPath)) {
-                    FileConfiguration = Files.readAllLines(configPath).stream()
-                            .filter(line -> !line.trim().isEmpty())
-                            .map(line -> line.startsWith("/") ? line : "/" + line.trim())
-                            .collect(Collectors.toList());
+                if (Files.exists(configPath) && reload(configPath)) {
                     System.out.println(Arrays.toString(FileConfiguration.stream().map(line -> line.substring(1)).toArray()));
-                    System.out.println("配置文件已刷新");
+                    System.out.println("配置文件已刷新, 版本: " + changeDetector.getAppliedRevision());
                 }
             } catch (Exception e) {
                 throw new RuntimeException(e);
             }
         }
     }
+
+    /**
+     * <b>中文：</b>内容变化时解析并应用配置文件 <br>
+     * <b>English:</b>Parse and apply the file when its content changed
+     *
+     * @param path 配置文件 / Configuration file
+     * @return 是否重新应用了文件内容 / Whether the content was applied again
+     */
+    private synchronized boolean reload(Path path) throws IOException {
+        FileChangeDetector.Change change = changeDetector.detect(path);
+        if (change == null) {
+            return false;
+        }
+        // 解析检测时读入的同一份内容,不再次读取文件
+        applyLines(change.getLines());
+        changeDetector.applied(change);
+        return true;
+    }
+
+    /**
+     * <b>中文：</b>最近一次成功应用的配置文件版本，内容标识可用于跨节点确认配置一致；尚未加载时为 {@code null} <br>
+     * <b>English:</b>The last applied revision of the file; its content id can be compared across nodes to confirm
+     * they run the same configuration; {@code null} before the first load
+     */
+    public FileRevision getRevision() {
+        return changeDetector.getAppliedRevision();
+    }
+
+    /**
+     * 解析文件内容 / Parse File Content
+     *
+     * <p><b>中文说明：</b>普通行为可访问版本（自动添加前缀“/”），{@code @canary} 行为灰度规则；
+     * 可访问版本与灰度规则变化时分别下发给请求映射处理器，版本只在新增或移除后才发布新的路由快照；
+     * 文件中不再有 {@code @canary} 行时恢复 {@code multi.version.canary} 配置的规则。</p>
+     *
+     * <p><b>English Description:</b>Plain lines are accessible versions (prefixed with “/”), {@code @canary}
+     * lines are canary rules. Each is pushed to the handler mapping when it changes; versions only publish a new
+     * routing snapshot when some were added or removed. When the file no longer holds any {@code @canary} line the
+     * rules configured in {@code multi.version.canary} are restored.</p>
+     *
+     * @param lines 文件内容 / File lines
+     */
+    private synchronized void applyLines(List<String> lines) {
+        Set<String> versions = new LinkedHashSet<>();
+        List<String> canary = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.startsWith("@canary")) {
+                canary.add(trimmed.substring("@canary".length()).trim());
+            } else {
+                versions.add(trimmed.startsWith("/") ? trimmed : "/" + trimmed);
+            }
+        }
+        publishVersions(versions);
+        if (!canary.equals(CanaryConfiguration)) {
+            DualRequestMappingHandlerMapping m = mapping.getIfAvailable();
+            if (m != null) {
+                try {
+                    // 文件中不再有灰度规则时恢复 multi.version.canary 配置的规则,而不是清空
+                    m.setCanaryRules(canary.isEmpty() ? mp.getCanary() : canary);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("灰度规则解析失败,继续使用原规则:" + e.getMessage());
+                    return;
+                }
+            }
+            CanaryConfiguration = canary;
+        }
+    }
+
+    /**
+     * 发布可访问版本 / Publish Accessible Versions
+     *
+     * <p><b>中文说明：</b>计算与上次发布的差异，无差异时不做任何操作；有差异时输出新增与移除的版本，
+     * 并以不可变集合整体替换请求映射处理器中的可访问版本。</p>
+     *
+     * <p><b>English Description:</b>Diffs against the last published versions and does nothing when they are
+     * equal; otherwise logs the added and removed versions and swaps the accessible versions of the handler
+     * mapping as one immutable set.</p>
+     *
+     * @param versions 文件中的可访问版本 / Accessible versions read from the file
+     */
+    private void publishVersions(Set<String> versions) {
+        Set<String> added = new LinkedHashSet<>(versions);
+        added.removeAll(FileConfiguration);
+        Set<String> removed = new LinkedHashSet<>(FileConfiguration);
+        removed.removeAll(versions);
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        DualRequestMappingHandlerMapping m = mapping.getIfAvailable();
+        if (m != null) {
+            m.setFileConfiguration(versions);
+        }
+        FileConfiguration = Collections.unmodifiableSet(versions);
+        System.out.println("可访问版本已更新, 新增: " + added + ", 移除: " + removed);
+    }
 }
@@ -0,0 +1,162 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.en.FileRevision;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * FileChangeDetector — 配置文件变化检测 / Configuration File Change Detector
+ *
+ * <p><b>中文说明：</b><br>
+ * 以尽可能低的代价判断配置文件的内容是否变化：</p>
+ * <ol>
+ *   <li>先比较文件属性（大小与修改时间），与上次检测一致时直接判定未变化，不读取文件</li>
+ *   <li>属性变化时一次性读入文件内容并计算 CRC32，与已应用版本的内容相同则判定未变化</li>
+ *   <li>只有内容确实变化时才返回 {@link Change}，其中的行由同一份字节解码，调用方无需再次读取文件；
+ *       解析成功后调用 {@link #applied(Change)}</li>
+ * </ol>
+ *
+ * <p><b>English Description:</b><br>
+ * Tells, as cheaply as possible, whether the content of a configuration file changed:</p>
+ * <ol>
+ *   <li>File attributes (size and modification time) are compared first; when they match the previous check the
+ *       file is not read at all</li>
+ *   <li>When they differ, the file is read once and the CRC32 computed over those bytes; content identical to the
+ *       applied revision counts as unchanged</li>
+ *   <li>Only a real content change returns a {@link Change}, whose lines are decoded from the same bytes so the
+ *       caller never reads the file again; the caller calls {@link #applied(Change)} once parsing succeeded</li>
+ * </ol>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>修改时间的精度有限（部分文件系统为 1～2 秒），检测后同一时间单位内的再次修改不会改变修改时间。
+ *       与 git 的 “racy clean” 处理相同：修改时间距上次检测不足 {@link #RACY_WINDOW_MILLIS} 时，即使属性一致也重新比较内容 /
+ *       Modification times have a limited resolution (1–2 s on some file systems), so a second write within the
+ *       same tick after a check leaves the time unchanged. As git does for racily clean entries, the content is
+ *       compared again whenever the modification time is within {@link #RACY_WINDOW_MILLIS} of the last check, even
+ *       if the attributes match</li>
+ *   <li>修改时间晚于本机时间（例如网络文件系统的时钟超前）时无法按时间差判断。此时只重新比较一次内容：
+ *       再次读取时属性仍然一致，说明这一时间单位内没有新的写入，之后直接信任属性，不会每次检测都读取文件 /
+ *       A modification time ahead of the local clock (for example a network file system whose clock runs fast)
+ *       cannot be judged by the time difference. The content is then compared once more: when the attributes are
+ *       still identical on that second read no write happened within the tick, and the attributes are trusted from
+ *       then on instead of reading the file on every check</li>
+ *   <li>配置文件通常只有几十行，一次性读入内存的代价小于读取两次 /
+ *       Configuration files are usually a few dozen lines, so holding one in memory is cheaper than reading it twice</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class FileChangeDetector {
+
+    /** 修改时间与检测时间相差小于该值时视为不可靠（毫秒） / Modification times this close to the check are not trusted, in milliseconds */
+    static final long RACY_WINDOW_MILLIS = 2000;
+
+    /** 内容与已应用版本一致时的文件大小 / Size last seen with the applied content */
+    private long lastSize = -1;
+
+    /** 内容与已应用版本一致时的修改时间 / Modification time last seen with the applied content */
+    private long lastModified = -1;
+
+    /** 上次读取文件内容的时间 / Time the content was last read */
+    private long lastCheckedAt = -1;
+
+    /** 属性一致时已再次读取并确认过内容，之后不再受修改时间精度影响 / The content was re-read and confirmed with identical attributes, so the modification time resolution no longer matters */
+    private boolean confirmed;
+
+    /** 最近一次成功应用的版本 / Last successfully applied revision */
+    private volatile FileRevision appliedRevision;
+
+    /**
+     * <b>中文：</b>检测文件内容是否相对已应用版本发生变化 <br>
+     * <b>English:</b>Check whether the file content changed since the applied revision
+     *
+     * @param file 配置文件 / Configuration file
+     * @return 内容变化时返回变化，否则返回 {@code null} / The change when the content changed, otherwise {@code null}
+     * @throws IOException 读取失败 / When the file cannot be read
+     */
+    public synchronized Change detect(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        if (appliedRevision != null && size == lastSize && modified == lastModified
+                && (confirmed || lastCheckedAt - modified >= RACY_WINDOW_MILLIS)) {
+            return null;
+        }
+        long checkedAt = System.currentTimeMillis();
+        byte[] content = Files.readAllBytes(file);
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        FileRevision revision = new FileRevision(content.length, modified, crc.getValue(), 0);
+        if (revision.sameContent(appliedRevision)) {
+            confirmed = size == lastSize && modified == lastModified;
+            lastSize = size;
+            lastModified = modified;
+            lastCheckedAt = checkedAt;
+            return null;
+        }
+        return new Change(revision, size, checkedAt, content);
+    }
+
+    /**
+     * <b>中文：</b>记录变化已被成功应用 <br>
+     * <b>English:</b>Record that a change was applied successfully
+     *
+     * @param change {@link #detect(Path)} 返回的变化 / The change returned by {@link #detect(Path)}
+     */
+    public synchronized void applied(Change change) {
+        lastSize = change.size;
+        lastModified = change.revision.getLastModified();
+        lastCheckedAt = change.checkedAt;
+        confirmed = false;
+        appliedRevision = change.revision.applied(System.currentTimeMillis());
+    }
+
+    /**
+     * <b>中文：</b>最近一次成功应用的版本，尚未应用时为 {@code null} <br>
+     * <b>English:</b>The last applied revision, {@code null} before the first one
+     */
+    public FileRevision getAppliedRevision() {
+        return appliedRevision;
+    }
+
+    /**
+     * <b>中文：</b>检测到的内容变化：新版本及其内容 <br>
+     * <b>English:</b>A detected content change: the new revision and its content
+     */
+    public static final class Change {
+        private final FileRevision revision;
+        /** 读取前的文件属性大小 / File size from the attributes read before the content */
+        private final long size;
+        private final long checkedAt;
+        private final byte[] content;
+
+        Change(FileRevision revision, long size, long checkedAt, byte[] content) {
+            this.revision = revision;
+            this.size = size;
+            this.checkedAt = checkedAt;
+            this.content = content;
+        }
+
+        public FileRevision getRevision() {
+            return revision;
+        }
+
+        /**
+         * <b>中文：</b>按 UTF-8 解码的内容行，与计算校验值的是同一份字节 <br>
+         * <b>English:</b>Content lines decoded as UTF-8 from the very bytes that were checksummed
+         */
+        public List<String> getLines() {
+            return new String(content, StandardCharsets.UTF_8).lines().collect(Collectors.toList());
+        }
+    }
+}
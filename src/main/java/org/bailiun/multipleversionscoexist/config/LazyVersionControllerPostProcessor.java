@@ -0,0 +1,115 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Aspect.CoexistenceVersion;
+import org.bailiun.multipleversionscoexist.Aspect.NotIncCoexistenceVersion;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * LazyVersionControllerPostProcessor — 版本控制器延迟初始化 / Lazy Versioned Controller Initialization
+ *
+ * <p><b>中文说明：</b><br>
+ * 将只包含非常驻版本接口的控制器标记为延迟初始化。{@link DualRequestMappingHandlerMapping} 按 Bean 名称注册接口，
+ * 路由表在启动时即包含这些版本的全部路径，而控制器及其依赖只在该版本第一次被访问时才创建；
+ * 从未被访问（包括未激活）的版本不会创建控制器，也不会占用堆内存。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Marks controllers that only serve non-resident versions as lazy-init. {@link DualRequestMappingHandlerMapping}
+ * registers handlers by bean name, so the routing table still knows every path of those versions at startup, while
+ * the controller and its dependency graph are created on the version's first hit; versions that are never hit
+ * (including unactivated ones) never create their controllers and take no heap.</p>
+ *
+ * <p><b>判定规则 / Rules:</b></p>
+ * <ul>
+ *   <li>控制器的每个接口方法都带有 {@code @CoexistenceVersion}（方法或类上），且版本都不在 {@code multi.version.eager-versions} 中 /
+ *       Every handler method of the controller carries {@code @CoexistenceVersion} (on the method or the class) with a version
+ *       not listed in {@code multi.version.eager-versions}</li>
+ *   <li>包含普通接口或 {@code @NotIncCoexistenceVersion} 接口的控制器保持立即初始化 /
+ *       Controllers with plain or {@code @NotIncCoexistenceVersion} handlers stay eager</li>
+ *   <li>显式声明了 {@code @Lazy} 的 Bean 保持原有设置 / Beans with an explicit {@code @Lazy} keep their setting</li>
+ * </ul>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>被其他立即初始化的 Bean 注入的控制器仍会在启动时创建 /
+ *       A controller injected into an eager bean is still created at startup</li>
+ *   <li>第一次访问该版本的请求需承担控制器的创建耗时 / The first request to such a version pays for creating the controller</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class LazyVersionControllerPostProcessor implements BeanFactoryPostProcessor {
+
+    /** 保持立即初始化的版本 / Versions whose controllers stay eager */
+    private final Set<String> eagerVersions;
+
+    public LazyVersionControllerPostProcessor(Collection<String> eagerVersions) {
+        this.eagerVersions = new HashSet<>(eagerVersions);
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        List<String> lazyBeans = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (!(definition instanceof AbstractBeanDefinition abd) || abd.isAbstract() || !abd.isSingleton()
+                    || abd.getLazyInit() != null || abd.getBeanClassName() == null) {
+                continue;
+            }
+            Class<?> beanClass;
+            try {
+                beanClass = ClassUtils.forName(abd.getBeanClassName(), beanFactory.getBeanClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                continue;
+            }
+            if (isLazyVersionController(beanClass)) {
+                abd.setLazyInit(true);
+                lazyBeans.add(beanName);
+            }
+        }
+        if (!lazyBeans.isEmpty()) {
+            System.out.println("延迟初始化的版本控制器:" + lazyBeans);
+        }
+    }
+
+    /**
+     * <b>中文：</b>判断控制器是否只包含非常驻版本的接口 <br>
+     * <b>English:</b>Whether the controller only has handlers of non-resident versions
+     */
+    protected boolean isLazyVersionController(Class<?> beanClass) {
+        boolean hasHandler = false;
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(ClassUtils.getUserClass(beanClass), ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (!AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                continue;
+            }
+            if (method.getAnnotation(NotIncCoexistenceVersion.class) != null) {
+                return false;
+            }
+            CoexistenceVersion cv = method.getAnnotation(CoexistenceVersion.class);
+            if (cv == null) {
+                cv = method.getDeclaringClass().getAnnotation(CoexistenceVersion.class);
+            }
+            if (cv == null || eagerVersions.contains(cv.version())) {
+                return false;
+            }
+            hasHandler = true;
+        }
+        return hasHandler;
+    }
+}
@@ -3,17 +3,30 @@ package org.bailiun.multipleversionscoexist.config;
 import org.bailiun.multipleversionscoexist.Aspect.SynchronousOperationAspect;
 import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
 import org.bailiun.multipleversionscoexist.Properties.MultiVersionInfo;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionPlugin;
 import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.bailiun.multipleversionscoexist.en.EventLevel;
+import org.bailiun.multipleversionscoexist.en.EventLog;
+import org.bailiun.multipleversionscoexist.en.VersionMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -22,7 +35,8 @@ import java.util.concurrent.Executors;
 @EnableConfigurationProperties({
         MultiVersionProperties.class,
         MultiVersionInfo.class,
-        MultiVersionFile.class
+        MultiVersionFile.class,
+        MultiVersionPlugin.class
 })
 public class MultipleVersionsAutoConfiguration {
 
@@ -31,6 +45,17 @@ public class MultipleVersionsAutoConfiguration {
         return Executors.newFixedThreadPool(4);
     }
 
+    /**
+     * 异步事件日志,按配置设置级别与采样;后台为守护线程,随进程退出
+     */
+    @Bean(destroyMethod = "")
+    public EventLog multiVersionEventLog(MultiVersionProperties mp) {
+        EventLog eventLog = EventLog.getDefault();
+        eventLog.setLevel(EventLevel.valueOf(mp.getEventLogLevel().trim().toUpperCase(Locale.ROOT)));
+        mp.getEventSampling().forEach(eventLog::setSampling);
+        return eventLog;
+    }
+
     @Bean
     public RetryPolicy syncOperationRetryPolicy() {
         return new RetryPolicy(3, 1000, 5000);
@@ -68,7 +93,69 @@ public class MultipleVersionsAutoConfiguration {
         return new DualControllerMappingConfig(mp, mi, mf);
     }
     @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "multi.version", name = "admin-endpoint", havingValue = "true")
+    public VersionAdminController versionAdminController(ObjectProvider<DualRequestMappingHandlerMapping> mapping,
+                                                         ObjectProvider<DynamicFileWatcher> fileWatcher) {
+        return new VersionAdminController(mapping, fileWatcher);
+    }
+    /**
+     * 按版本与接口统计请求指标,默认关闭,multi.version.metrics=true 时开启
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "multi.version", name = "metrics", havingValue = "true", matchIfMissing = false)
+    public VersionMetrics versionMetrics() {
+        return new VersionMetrics();
+    }
+    /**
+     * 非常驻版本的控制器延迟到首次访问时创建,multi.version.lazy-versions=true 时开启;
+     * 在配置属性绑定之前运行,因此直接从 Environment 读取常驻版本
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "multi.version", name = "lazy-versions", havingValue = "true")
+    public static LazyVersionControllerPostProcessor lazyVersionControllerPostProcessor(Environment environment) {
+        return new LazyVersionControllerPostProcessor(Binder.get(environment)
+                .bind("multi.version.eager-versions", Bindable.listOf(String.class))
+                .orElse(Collections.emptyList()));
+    }
+    /**
+     * 本地文件控制可访问版本,multi.file.file-configuration=true 时开启
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "multi.file", name = "file-configuration", havingValue = "true")
+    public DynamicFileWatcher dynamicFileWatcher() {
+        return new DynamicFileWatcher();
+    }
+    /**
+     * 以独立 jar 热部署版本,multi.plugin.plugin-configuration=true 时开启
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "multi.plugin", name = "plugin-configuration", havingValue = "true")
+    public VersionPluginLoader versionPluginLoader(MultiVersionPlugin plugin,
+                                                   ObjectProvider<DualRequestMappingHandlerMapping> mapping,
+                                                   TaskScheduler taskScheduler,
+                                                   ConfigurableApplicationContext context) {
+        return new VersionPluginLoader(plugin, mapping, taskScheduler, context);
+    }
+    @Bean
     public TaskScheduler taskScheduler() {
         return new ThreadPoolTaskScheduler();
     }
+
+    /**
+     * 类路径中存在 Micrometer 时导出版本指标
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class VersionMetricsMicrometerConfiguration {
+        @Bean
+        @ConditionalOnBean(VersionMetrics.class)
+        @ConditionalOnMissingBean
+        public VersionMetricsMeterBinder versionMetricsMeterBinder(VersionMetrics versionMetrics) {
+            return new VersionMetricsMeterBinder(versionMetrics);
+        }
+    }
 }
@@ -0,0 +1,280 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Abstraction.VersionRouteManifest;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionInfo;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.bailiun.multipleversionscoexist.en.ManifestRoute;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * PersistedRoutingTable — 持久化的版本路由表 / Persisted Versioned Routing Table
+ *
+ * <p><b>中文说明：</b><br>
+ * 将启动时裁决完成的版本路由表（每个版本接口是否胜出及其优先级）与未激活版本写入本地文件，
+ * 文件以类路径与版本相关配置的 SHA-256 摘要为键。下次启动时若摘要一致，则以内存映射方式读取并直接复用裁决结果；
+ * 摘要不一致、文件损坏或与当前接口对不上时，回退为完整裁决并重写文件。<br>
+ * 与编译期的 {@link VersionRouteManifest} 使用同一套匹配逻辑，因此实现该接口。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Writes the routing table resolved at startup (whether each versioned handler won and its priority) together
+ * with the unactivated versions to a local file keyed by a SHA-256 digest of the classpath and the
+ * version-related configuration. When the digest matches on the next boot the file is memory-mapped and its
+ * resolution reused; a different digest, a corrupt file or a table that no longer matches the handlers falls
+ * back to a full resolution and rewrites the file.<br>
+ * It shares the matching logic of the build-time {@link VersionRouteManifest}, hence implements that interface.</p>
+ *
+ * <p><b>文件格式 / File format:</b></p>
+ * <pre>
+ * int     MAGIC
+ * int     FORMAT_VERSION
+ * byte[32] key
+ * string  sortingMethod
+ * int n, string[n] unactivatedVersions
+ * int n, route[n]: string version, className, methodName, int m, string[m] parameterTypes,
+ *                  string path, byte active, int priority (Integer.MIN_VALUE = none)
+ * string = int length + UTF-8 bytes
+ * </pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class PersistedRoutingTable implements VersionRouteManifest {
+
+    private static final int MAGIC = 0x4D565254; // "MVRT"
+    private static final int FORMAT_VERSION = 1;
+    private static final int NO_PRIORITY = Integer.MIN_VALUE;
+
+    private final String sortingMethod;
+    private final List<ManifestRoute> routes;
+    private final Set<String> unactivatedVersions;
+
+    public PersistedRoutingTable(String sortingMethod, List<ManifestRoute> routes, Set<String> unactivatedVersions) {
+        this.sortingMethod = sortingMethod;
+        this.routes = Collections.unmodifiableList(new ArrayList<>(routes));
+        this.unactivatedVersions = Collections.unmodifiableSet(new LinkedHashSet<>(unactivatedVersions));
+    }
+
+    /**
+     * <b>中文：</b>计算类路径与版本相关配置的摘要，作为路由表文件的键 <br>
+     * <b>English:</b>Digest of the classpath and the version-related configuration, used as the key of the table file
+     *
+     * <p><b>中文：</b>类路径中每个 jar 计入路径、大小与修改时间；目录在重新编译后自身的大小与修改时间不变，
+     * 因此逐个计入其中文件的相对路径、大小与修改时间。配置计入排序方式、最大版本数、黑白名单与版本信息。<br>
+     * <b>English:</b>Every classpath jar contributes its path, size and modification time. A directory keeps its own
+     * size and modification time across recompiles, so each file inside it contributes its relative path, size and
+     * modification time instead. The configuration contributes the sorting method, maximum version count,
+     * include/exclude lists and version infos.</p>
+     */
+    public static byte[] computeKey(MultiVersionProperties mp, MultiVersionInfo mi) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String classPath = System.getProperty("java.class.path", "");
+        for (String entry : classPath.split(File.pathSeparator)) {
+            File file = new File(entry);
+            if (file.isDirectory()) {
+                updateDirectory(digest, file.toPath());
+            } else {
+                update(digest, entry + "|" + file.length() + "|" + file.lastModified());
+            }
+        }
+        update(digest, String.valueOf(mp.getSortingMethod()));
+        update(digest, String.valueOf(mp.getMaxNum()));
+        update(digest, String.valueOf(mp.getInclude()));
+        update(digest, String.valueOf(mp.getExclude()));
+        update(digest, String.valueOf(mi.getVersionInfoList()));
+        return digest.digest();
+    }
+
+    /**
+     * <b>中文：</b>以内存映射方式读取路由表文件，文件不存在、键不一致或格式错误时返回 {@code null} <br>
+     * <b>English:</b>Memory-map and read a table file; returns {@code null} when it is missing, has another key or is malformed
+     */
+    public static PersistedRoutingTable read(Path file, byte[] key) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            byte[] storedKey = new byte[key.length];
+            buffer.get(storedKey);
+            if (!Arrays.equals(storedKey, key)) {
+                return null;
+            }
+            String sortingMethod = readString(buffer);
+            int unactivatedCount = buffer.getInt();
+            Set<String> unactivated = new LinkedHashSet<>();
+            for (int i = 0; i < unactivatedCount; i++) {
+                unactivated.add(readString(buffer));
+            }
+            int routeCount = buffer.getInt();
+            List<ManifestRoute> routes = new ArrayList<>(routeCount);
+            for (int i = 0; i < routeCount; i++) {
+                String version = readString(buffer);
+                String className = readString(buffer);
+                String methodName = readString(buffer);
+                int parameterCount = buffer.getInt();
+                List<String> parameterTypes = new ArrayList<>(parameterCount);
+                for (int j = 0; j < parameterCount; j++) {
+                    parameterTypes.add(readString(buffer));
+                }
+                String path = readString(buffer);
+                boolean active = buffer.get() != 0;
+                int priority = buffer.getInt();
+                routes.add(new ManifestRoute(version, className, methodName, parameterTypes, List.of(path),
+                        Collections.emptyList(), priority == NO_PRIORITY ? null : priority, active, active ? null : ""));
+            }
+            return new PersistedRoutingTable(sortingMethod, routes, unactivated);
+        } catch (IOException | RuntimeException e) {
+            // BufferUnderflowException、IllegalArgumentException 等均视为文件损坏
+            System.err.println("版本路由表文件无法读取,将重新裁决:" + file + " " + e);
+            return null;
+        }
+    }
+
+    /**
+     * <b>中文：</b>写入路由表文件，先写临时文件再原子替换，写入失败只输出提示 <br>
+     * <b>English:</b>Write the table file through a temporary file and an atomic move; failures are only reported
+     */
+    public void write(Path file, byte[] key) {
+        List<byte[]> strings = new ArrayList<>();
+        int size = 4 + 4 + key.length + 4 + 4;
+        size += sizeOf(sortingMethod, strings);
+        for (String version : unactivatedVersions) {
+            size += sizeOf(version, strings);
+        }
+        for (ManifestRoute route : routes) {
+            size += sizeOf(route.getVersion(), strings) + sizeOf(route.getClassName(), strings)
+                    + sizeOf(route.getMethodName(), strings) + 4 + 1 + 4;
+            for (String parameterType : route.getParameterTypes()) {
+                size += sizeOf(parameterType, strings);
+            }
+            size += sizeOf(route.getPaths().get(0), strings);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        int next = 0;
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).put(key);
+        next = putString(buffer, strings, next);
+        buffer.putInt(unactivatedVersions.size());
+        for (int i = 0; i < unactivatedVersions.size(); i++) {
+            next = putString(buffer, strings, next);
+        }
+        buffer.putInt(routes.size());
+        for (ManifestRoute route : routes) {
+            next = putString(buffer, strings, next);
+            next = putString(buffer, strings, next);
+            next = putString(buffer, strings, next);
+            buffer.putInt(route.getParameterTypes().size());
+            for (int i = 0; i < route.getParameterTypes().size(); i++) {
+                next = putString(buffer, strings, next);
+            }
+            next = putString(buffer, strings, next);
+            buffer.put((byte) (route.isActive() ? 1 : 0));
+            buffer.putInt(route.getPriority() != null ? route.getPriority() : NO_PRIORITY);
+        }
+        buffer.flip();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("版本路由表文件写入失败:" + file + " " + e);
+        }
+    }
+
+    @Override
+    public List<ManifestRoute> getRoutes() {
+        return routes;
+    }
+
+    @Override
+    public String getSortingMethod() {
+        return sortingMethod;
+    }
+
+    public Set<String> getUnactivatedVersions() {
+        return unactivatedVersions;
+    }
+
+    /**
+     * 计入目录中全部文件的相对路径、大小与修改时间，按路径排序保证结果稳定 /
+     * Digest the relative path, size and modification time of every file in a directory, sorted for a stable result
+     */
+    private static void updateDirectory(MessageDigest digest, Path directory) {
+        update(digest, directory.toString());
+        try (Stream<Path> files = Files.walk(directory)) {
+            List<Path> sorted = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            for (Path file : sorted) {
+                update(digest, directory.relativize(file) + "|" + Files.size(file) + "|" + Files.getLastModifiedTime(file).toMillis());
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // 无法遍历时计入随机值,使本次不会复用旧路由表
+            update(digest, "unreadable|" + System.nanoTime());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static int sizeOf(String value, List<byte[]> strings) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        strings.add(bytes);
+        return 4 + bytes.length;
+    }
+
+    private static int putString(ByteBuffer buffer, List<byte[]> strings, int index) {
+        byte[] bytes = strings.get(index);
+        buffer.putInt(bytes.length).put(bytes);
+        return index + 1;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
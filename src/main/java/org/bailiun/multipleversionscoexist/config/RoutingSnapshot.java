@@ -0,0 +1,404 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.en.PathBloomFilter;
+import org.bailiun.multipleversionscoexist.en.RouteTrie;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+/**
+ * RoutingSnapshot — 不可变路由快照 / Immutable Routing Snapshot
+ *
+ * <p><b>中文说明：</b><br>
+ * 保存某一时刻多版本路由所需的全部状态：版本顺序、版本路径、接口优先级、未激活版本、
+ * 文件控制的可访问版本、版本路由索引、路径快速排除过滤器以及 Handler 注册表副本。<br>
+ * 快照一经创建便不再修改，{@link DualRequestMappingHandlerMapping} 通过一个 {@code volatile} 引用发布它：
+ * 请求线程无锁读取当前快照，版本变更时在请求路径之外构建新快照并整体替换。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Holds every piece of routing state at one point in time: version order, versioned paths, interface
+ * priorities, unactivated versions, file-controlled accessible versions, the versioned route index, the
+ * fast-reject path filter and a copy of the handler registry.<br>
+ * A snapshot is never modified after construction. {@link DualRequestMappingHandlerMapping} publishes it
+ * through a single {@code volatile} reference: request threads read it without locks, and a version change
+ * builds a new snapshot off the request path and swaps it in atomically.</p>
+ *
+ * <p><b>多租户 / Multi-tenancy:</b><br>
+ * 快照可携带按租户划分的视图（{@link #forTenant(String)}）：视图与原快照共享路由索引等全部结构，
+ * 只替换可访问版本集合；固定相同版本集合的租户共享同一个视图。未携带或未配置的租户默认使用完整快照，
+ * 严格模式下则使用不能访问任何版本的视图。<br>
+ * A snapshot may carry per-tenant views ({@link #forTenant(String)}) that share the route index and every other
+ * structure and only replace the accessible version set; tenants pinning the same set share one view. Missing or
+ * unconfigured tenants get the full snapshot by default, or a view without any accessible version in strict mode.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * RoutingSnapshot routing = mapping.getRoutingSnapshot();
+ * System.out.println(routing.getVersionOrder());        // [/v1, /v2]
+ * System.out.println(routing.isAccessible("/v2"));     // true
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class RoutingSnapshot {
+
+    /** 可访问版本集合标识的序号 / Sequence of accessible version set identifiers */
+    private static final AtomicInteger VERSION_SET_SEQUENCE = new AtomicInteger();
+
+    /** 初始化完成前使用的空快照 / Empty snapshot used before initialization */
+    static final RoutingSnapshot EMPTY = new RoutingSnapshot(Collections.emptyMap(), Collections.emptyMap(),
+            Collections.emptyList(), false, Collections.emptySet(), new RouteTrie<>(), Collections.emptyMap(), null,
+            Collections.emptyMap());
+
+    /** 版本前缀顺序 / Version prefixes in lookup order */
+    private final List<String> versionOrder;
+
+    /** <版本前缀,版本路径集合> / Version prefix to its versioned paths */
+    private final Map<String, List<String>> versionPaths;
+
+    /** <版本路径,优先级> / Versioned path to its interface priority */
+    private final Map<String, Integer> interfacePriorities;
+
+    /** 未激活版本 / Unactivated versions */
+    private final Set<String> unactivatedVersions;
+
+    /** 是否开启本地文件控制版本访问 / Whether file-based version access control is on */
+    private final boolean fileControl;
+
+    /** 文件控制的可访问版本 / Accessible versions controlled by local file */
+    private final Set<String> fileConfiguration;
+
+    /** 当前可访问版本集合的标识，开启文件控制的快照各不相同 / Identifier of the accessible version set, distinct for every file-controlled snapshot */
+    private final int versionSetKey;
+
+    /** 版本路由索引 / Versioned route index */
+    private final RouteTrie<VersionRoute> versionRoutes;
+
+    /** <版本名称,该版本的接口表>，用于请求已指定版本时直接定位 / Version name to its handler table, used when the request names a version */
+    private final Map<String, VersionTable> versionTables;
+
+    /** 路径快速排除过滤器，为空时放行所有路径 / Fast-reject path filter, {@code null} accepts every path */
+    private final PathBloomFilter pathFilter;
+
+    /** Handler 注册表副本 / Copy of the handler registry */
+    private final Map<RequestMappingInfo, HandlerMethod> handlerMethods;
+
+    /** <租户,租户视图> / Tenant to its view of this snapshot */
+    private final Map<String, RoutingSnapshot> tenantSnapshots;
+
+    /** 未携带或未配置租户时使用的视图，为空时使用当前快照 / View for missing or unconfigured tenants, {@code null} uses this snapshot */
+    private final RoutingSnapshot unknownTenantSnapshot;
+
+    RoutingSnapshot(Map<String, List<String>> versionPaths,
+                    Map<String, Integer> interfacePriorities,
+                    List<String> unactivatedVersions,
+                    boolean fileControl,
+                    Set<String> fileConfiguration,
+                    RouteTrie<VersionRoute> versionRoutes,
+                    Map<String, VersionTable> versionTables,
+                    PathBloomFilter pathFilter,
+                    Map<RequestMappingInfo, HandlerMethod> handlerMethods) {
+        Map<String, List<String>> paths = new LinkedHashMap<>();
+        versionPaths.forEach((k, v) -> paths.put(k, Collections.unmodifiableList(new ArrayList<>(v))));
+        this.versionPaths = Collections.unmodifiableMap(paths);
+        this.versionOrder = Collections.unmodifiableList(new ArrayList<>(paths.keySet()));
+        this.interfacePriorities = Collections.unmodifiableMap(new LinkedHashMap<>(interfacePriorities));
+        this.unactivatedVersions = Collections.unmodifiableSet(new HashSet<>(unactivatedVersions));
+        this.fileControl = fileControl;
+        this.fileConfiguration = fileConfiguration;
+        this.versionSetKey = fileControl ? VERSION_SET_SEQUENCE.incrementAndGet() : 0;
+        this.versionRoutes = versionRoutes;
+        this.versionTables = versionTables;
+        this.pathFilter = pathFilter;
+        this.handlerMethods = handlerMethods;
+        this.tenantSnapshots = Collections.emptyMap();
+        this.unknownTenantSnapshot = null;
+    }
+
+    private RoutingSnapshot(RoutingSnapshot source, boolean fileControl, Set<String> fileConfiguration,
+                            Map<String, RoutingSnapshot> tenantSnapshots) {
+        this(source, fileControl, fileConfiguration, tenantSnapshots, null);
+    }
+
+    private RoutingSnapshot(RoutingSnapshot source, boolean fileControl, Set<String> fileConfiguration,
+                            Map<String, RoutingSnapshot> tenantSnapshots, RoutingSnapshot unknownTenantSnapshot) {
+        this.versionPaths = source.versionPaths;
+        this.versionOrder = source.versionOrder;
+        this.interfacePriorities = source.interfacePriorities;
+        this.unactivatedVersions = source.unactivatedVersions;
+        this.fileControl = fileControl;
+        this.fileConfiguration = fileConfiguration;
+        this.versionSetKey = !fileControl ? 0
+                : source.fileControl && source.fileConfiguration.equals(fileConfiguration) ? source.versionSetKey
+                : VERSION_SET_SEQUENCE.incrementAndGet();
+        this.versionRoutes = source.versionRoutes;
+        this.versionTables = source.versionTables;
+        this.pathFilter = source.pathFilter;
+        this.handlerMethods = source.handlerMethods;
+        this.tenantSnapshots = tenantSnapshots;
+        this.unknownTenantSnapshot = unknownTenantSnapshot;
+    }
+
+    /**
+     * <p><b>中文说明：</b>复制当前快照，仅替换文件控制的可访问版本，路由索引等结构直接复用。</p>
+     * <p><b>English Description:</b> Copies this snapshot with new file-controlled versions, reusing the route
+     * index and every other structure.</p>
+     *
+     * @param fileControl       是否开启本地文件控制 / Whether file-based control is on
+     * @param fileConfiguration 可访问版本，不可变集合 / Accessible versions, an immutable set
+     * @return 新快照 / The new snapshot
+     */
+    RoutingSnapshot withFileConfiguration(boolean fileControl, Set<String> fileConfiguration) {
+        return new RoutingSnapshot(this, fileControl, fileConfiguration, Collections.emptyMap());
+    }
+
+    /**
+     * <p><b>中文说明：</b>复制当前快照并生成租户视图：每个租户只能访问其固定的版本（开启文件控制时再与文件中的版本取交集），
+     * 固定相同版本集合的租户共享同一个视图。</p>
+     * <p><b>English Description:</b> Copies this snapshot with per-tenant views: every tenant may only access its
+     * pinned versions (intersected with the file-controlled versions when file control is on), and tenants pinning
+     * the same set share one view.</p>
+     *
+     * @param tenantVersions <租户,固定版本>，例如 {@code {"acme": ["v1", "v2"]}} / Tenant to its pinned versions
+     * @return 新快照 / The new snapshot
+     */
+    RoutingSnapshot withTenants(Map<String, ? extends Collection<String>> tenantVersions) {
+        return withTenants(tenantVersions, false);
+    }
+
+    /**
+     * <p><b>中文说明：</b>同 {@link #withTenants(Map)}；{@code strict} 为 {@code true} 时，未携带或未配置的租户得到不能访问任何版本的视图，
+     * 否则得到当前快照（可访问全部版本）。未配置任何租户时不做租户隔离。</p>
+     * <p><b>English Description:</b> Same as {@link #withTenants(Map)}; when {@code strict} is {@code true}, missing
+     * or unconfigured tenants get a view without any accessible version, otherwise they get this snapshot and every
+     * version. No tenant isolation applies while no tenant is configured.</p>
+     *
+     * @param tenantVersions <租户,固定版本> / Tenant to its pinned versions
+     * @param strict         是否严格隔离未知租户 / Whether unknown tenants are strictly isolated
+     * @return 新快照 / The new snapshot
+     */
+    RoutingSnapshot withTenants(Map<String, ? extends Collection<String>> tenantVersions, boolean strict) {
+        if (tenantVersions.isEmpty()) {
+            return tenantSnapshots.isEmpty() ? this : new RoutingSnapshot(this, fileControl, fileConfiguration, Collections.emptyMap());
+        }
+        Map<Set<String>, RoutingSnapshot> interned = new HashMap<>();
+        Map<String, RoutingSnapshot> tenants = new HashMap<>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : tenantVersions.entrySet()) {
+            Set<String> prefixes = new HashSet<>();
+            for (String version : entry.getValue()) {
+                prefixes.add(version.startsWith("/") ? version : "/" + version);
+            }
+            if (fileControl) {
+                prefixes.retainAll(fileConfiguration);
+            }
+            tenants.put(entry.getKey(), interned.computeIfAbsent(prefixes,
+                    p -> new RoutingSnapshot(this, true, Collections.unmodifiableSet(p), Collections.emptyMap())));
+        }
+        RoutingSnapshot unknownTenant = strict ? interned.computeIfAbsent(Collections.emptySet(),
+                p -> new RoutingSnapshot(this, true, Collections.emptySet(), Collections.emptyMap())) : null;
+        return new RoutingSnapshot(this, fileControl, fileConfiguration, Collections.unmodifiableMap(tenants), unknownTenant);
+    }
+
+    /**
+     * <p><b>中文说明：</b>获取租户视图。租户为空或未配置时，默认返回当前快照，即可访问全部版本；
+     * 以严格模式生成租户视图时（{@code multi.version.tenant-strict=true}）返回不能访问任何版本的视图。</p>
+     * <p><b>English Description:</b> Returns the tenant's view. For a missing or unconfigured tenant it returns this
+     * snapshot by default, i.e. full access to every version; when the views were built in strict mode
+     * ({@code multi.version.tenant-strict=true}) it returns a view without any accessible version.</p>
+     *
+     * @param tenant 租户标识 / Tenant identifier
+     * @return 租户视图 / The tenant's view
+     */
+    public RoutingSnapshot forTenant(String tenant) {
+        RoutingSnapshot view = tenant == null ? null : tenantSnapshots.get(tenant);
+        if (view != null) {
+            return view;
+        }
+        return unknownTenantSnapshot != null ? unknownTenantSnapshot : this;
+    }
+
+    /**
+     * <p><b>中文说明：</b>判断指定版本当前是否允许访问（未开启文件控制时总是允许）。</p>
+     * <p><b>English Description:</b> Whether the version may currently be accessed; always true when
+     * file-based control is off.</p>
+     *
+     * @param versionPrefix 版本前缀，例如 {@code "/v1"} / Version prefix, e.g. {@code "/v1"}
+     * @return 是否可访问 / Whether accessible
+     */
+    public boolean isAccessible(String versionPrefix) {
+        return !fileControl || fileConfiguration.contains(versionPrefix);
+    }
+
+    /**
+     * <p><b>中文说明：</b>判断接口模式是否属于某个版本，即首段为已注册的版本前缀。</p>
+     * <p><b>English Description:</b> Whether a handler pattern belongs to a version, i.e. its first segment is a
+     * registered version prefix.</p>
+     *
+     * @param pattern 接口模式，例如 {@code "/v1/api/user"} / Handler pattern, e.g. {@code "/v1/api/user"}
+     * @return 是否属于某个版本 / Whether the pattern is versioned
+     */
+    public boolean isVersionedPattern(String pattern) {
+        int end = pattern.indexOf('/', 1);
+        return versionPaths.containsKey(end < 0 ? pattern : pattern.substring(0, end));
+    }
+
+    /**
+     * <p><b>中文说明：</b>判断已注册的接口模式当前是否允许访问：以版本前缀开头的模式要求该版本可访问，其余模式总是允许。</p>
+     * <p><b>English Description:</b> Whether a registered handler pattern is currently accessible: a pattern starting
+     * with a version prefix requires that version to be accessible, every other pattern always is.</p>
+     *
+     * @param pattern 接口模式，例如 {@code "/v2/orders"} / Handler pattern, e.g. {@code "/v2/orders"}
+     * @return 是否可访问 / Whether accessible
+     */
+    public boolean isPatternAccessible(String pattern) {
+        if (!fileControl) {
+            return true;
+        }
+        int end = pattern.indexOf('/', 1);
+        String prefix = end < 0 ? pattern : pattern.substring(0, end);
+        return !versionPaths.containsKey(prefix) || fileConfiguration.contains(prefix);
+    }
+
+    /**
+     * <p><b>中文说明：</b>判断访问路径是否可能匹配已注册的接口。</p>
+     * <p><b>English Description:</b> Whether the lookup path may match a registered handler.</p>
+     *
+     * @param lookupPath 访问路径 / The lookup path
+     * @return {@code false} 表示一定不匹配 / {@code false} means no handler can match
+     */
+    public boolean mightMatch(String lookupPath) {
+        return pathFilter == null || pathFilter.mightMatch(lookupPath);
+    }
+
+    /**
+     * <p><b>中文说明：</b>在指定版本的接口表中查找访问路径，版本不存在、不可访问或不包含该路径时返回 {@code null}；
+     * 由回退版本提供的接口还要求该回退版本本身可访问。</p>
+     * <p><b>English Description:</b> Looks the path up in the handler table of the given version; returns
+     * {@code null} when the version is unknown, not accessible, or has no such path. A handler merged in from a
+     * fallback version also requires that fallback version to be accessible.</p>
+     *
+     * @param version    版本名称，例如 {@code "v2"} / Version name, e.g. {@code "v2"}
+     * @param lookupPath 访问路径 / The lookup path
+     * @return 命中的接口 / The matching handler
+     */
+    public HandlerMethod getVersionHandler(String version, String lookupPath) {
+        VersionTable table = versionTables.get(version);
+        if (table == null || !isAccessible(table.versionPrefix)) {
+            return null;
+        }
+        VersionRoute route = table.handlers.get(lookupPath);
+        return route == null || !isAccessible(route.versionPrefix) ? null : route.handlerMethod;
+    }
+
+    public List<String> getVersionOrder() {
+        return versionOrder;
+    }
+
+    public Map<String, List<String>> getVersionPaths() {
+        return versionPaths;
+    }
+
+    public Map<String, Integer> getInterfacePriorities() {
+        return interfacePriorities;
+    }
+
+    public Set<String> getUnactivatedVersions() {
+        return unactivatedVersions;
+    }
+
+    public boolean isFileControl() {
+        return fileControl;
+    }
+
+    public Set<String> getFileConfiguration() {
+        return fileConfiguration;
+    }
+
+    public int getVersionSetKey() {
+        return versionSetKey;
+    }
+
+    public RouteTrie<VersionRoute> getVersionRoutes() {
+        return versionRoutes;
+    }
+
+    public Map<String, VersionTable> getVersionTables() {
+        return versionTables;
+    }
+
+    public PathBloomFilter getPathFilter() {
+        return pathFilter;
+    }
+
+    public Map<RequestMappingInfo, HandlerMethod> getHandlerMethods() {
+        return handlerMethods;
+    }
+
+    public Map<String, RoutingSnapshot> getTenantSnapshots() {
+        return tenantSnapshots;
+    }
+
+    /**
+     * <b>中文：</b>版本路由索引中的一项，{@code handlerMethod} 为空表示该路径是版本原路径，禁止直接访问 <br>
+     * <b>English:</b>An entry of the versioned route index; a {@code null} handler marks a versioned path that must not be accessed directly
+     */
+    public static final class VersionRoute {
+        final String versionPrefix;
+        final HandlerMethod handlerMethod;
+
+        VersionRoute(String versionPrefix, HandlerMethod handlerMethod) {
+            this.versionPrefix = versionPrefix;
+            this.handlerMethod = handlerMethod;
+        }
+
+        public String getVersionPrefix() {
+            return versionPrefix;
+        }
+
+        public HandlerMethod getHandlerMethod() {
+            return handlerMethod;
+        }
+    }
+
+    /**
+     * <b>中文：</b>单个版本的接口表，键为去掉版本前缀后的路径；{@code handlers} 已按回退链合并，{@code ownHandlers} 只含本版本接口，
+     * 每条记录都带有提供该接口的版本前缀 <br>
+     * <b>English:</b>Handler table of one version, keyed by the path without the version prefix; {@code handlers}
+     * already merges the fallback chain, {@code ownHandlers} holds the version's own handlers only, and every entry
+     * carries the prefix of the version that provides it
+     */
+    public static final class VersionTable {
+        final String versionPrefix;
+        final Map<String, VersionRoute> handlers;
+        final Map<String, VersionRoute> ownHandlers;
+
+        VersionTable(String versionPrefix, Map<String, VersionRoute> handlers, Map<String, VersionRoute> ownHandlers) {
+            this.versionPrefix = versionPrefix;
+            this.handlers = handlers;
+            this.ownHandlers = ownHandlers;
+        }
+
+        public String getVersionPrefix() {
+            return versionPrefix;
+        }
+
+        public Map<String, VersionRoute> getHandlers() {
+            return handlers;
+        }
+
+        public Map<String, VersionRoute> getOwnHandlers() {
+            return ownHandlers;
+        }
+    }
+}
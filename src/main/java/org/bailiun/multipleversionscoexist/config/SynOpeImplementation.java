@@ -2,6 +2,9 @@ package org.bailiun.multipleversionscoexist.config;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * <h2>同步操作基础实现类 / Base Class for Synchronous Operation Implementation</h2>
@@ -44,6 +47,8 @@ import java.util.Arrays;
  */
 public abstract class SynOpeImplementation {
 
+    /** 方法查找缓存<方法名称/参数数量,方法>，每个方法名称只反射查找一次 / Method lookup cache keyed by name and parameter count, so each name is looked up reflectively once */
+    private final Map<String, Optional<Method>> methodCache = new ConcurrentHashMap<>();
 
     /**
      * 判断当前实现类中是否存在指定的方法。
@@ -99,9 +104,36 @@ public abstract class SynOpeImplementation {
      * @return 匹配到的方法实例或 {@code null} / The matching {@link Method} instance, or {@code null} if not found
      */
     private Method findMethod(String methodName, Object... args) {
-        return Arrays.stream(this.getClass().getMethods())
-                .filter(m -> m.getName().equals(methodName) && m.getParameterCount() == args.length)
-                .findFirst()
-                .orElse(null);
+        return findMethod(methodName, args.length);
+    }
+
+    /**
+     * 获取供切面调用的钩子方法，即指定名称且参数为 {@code (Object[] args, Object result, Throwable throwable)} 的方法。
+     * <br>Returns the hook method invoked by the aspect: the method with the given name and the
+     * {@code (Object[] args, Object result, Throwable throwable)} signature.
+     *
+     * <p><b>中文说明：</b><br>
+     * 查找结果按方法名称缓存，切面执行时不再遍历 {@link Class#getMethods()}；
+     * 在 GraalVM 原生镜像中，反射查找只发生在首次调用时。</p>
+     *
+     * <p><b>English Description:</b><br>
+     * Lookups are cached per method name, so the aspect no longer walks {@link Class#getMethods()} on every call;
+     * in a GraalVM native image the reflective lookup only happens on first use.</p>
+     *
+     * @param methodName 方法名称 / The name of the hook method
+     * @return 匹配到的方法实例或 {@code null} / The matching {@link Method} instance, or {@code null} if not found
+     */
+    public Method getHookMethod(String methodName) {
+        return findMethod(methodName, 3);
+    }
+
+    /**
+     * 按方法名称与参数数量查找方法，结果会被缓存。
+     * <br>Finds a method by name and parameter count; the result is cached.
+     */
+    private Method findMethod(String methodName, int parameterCount) {
+        return methodCache.computeIfAbsent(methodName + "/" + parameterCount, k -> Arrays.stream(this.getClass().getMethods())
+                .filter(m -> m.getName().equals(methodName) && m.getParameterCount() == parameterCount)
+                .findFirst()).orElse(null);
     }
 }
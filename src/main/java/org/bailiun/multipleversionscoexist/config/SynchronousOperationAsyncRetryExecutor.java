@@ -1,5 +1,6 @@
 package org.bailiun.multipleversionscoexist.config;
 
+import org.bailiun.multipleversionscoexist.en.EventLog;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.Callable;
@@ -14,6 +15,7 @@ public class SynchronousOperationAsyncRetryExecutor {
 
     private final ExecutorService executor;
     private final RetryPolicy policy;
+    private final EventLog eventLog = EventLog.getDefault();
     public SynchronousOperationAsyncRetryExecutor(ExecutorService executor, RetryPolicy policy) {
         this.executor = executor;
         this.policy = policy;
@@ -37,6 +39,7 @@ public class SynchronousOperationAsyncRetryExecutor {
                         if (onFailure != null) onFailure.accept(ex);
                         return;
                     }
+                    eventLog.debug("sync.retry", "异步任务重试: 第{}次, 原因: {}", attempts, ex.getMessage());
                     try {
                         Thread.sleep(policy.getRetryIntervalMs());
                     } catch (InterruptedException e) {
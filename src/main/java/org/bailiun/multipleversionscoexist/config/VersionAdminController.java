@@ -0,0 +1,153 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.en.FileRevision;
+import org.bailiun.multipleversionscoexist.en.VersionMetrics;
+import org.bailiun.multipleversionscoexist.en.VersionUnloadResult;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * VersionAdminController — 运行时版本启停管理接口 / Runtime Version Admin Endpoint
+ *
+ * <p><b>中文说明：</b><br>
+ * 在不重启应用的情况下启用或停用某个版本，只重新注册/注销该版本的接口并增量发布路由快照。<br>
+ * 需配置 {@code multi.version.admin-endpoint=true} 才会注册，请自行在网关或安全框架中限制访问。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Enables or disables a version without a restart; only that version's handlers are registered or
+ * unregistered and the routing snapshot is published incrementally.<br>
+ * Registered only with {@code multi.version.admin-endpoint=true}; restrict access through your gateway or security setup.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * GET  /multi-version/versions            // {"versions":["/v1"],"unactivated":["v2"]}
+ * POST /multi-version/versions/v2/enable  // {"version":"v2","active":true,"handlers":3}
+ * POST /multi-version/versions/v2/disable // {"version":"v2","active":false,"handlers":3}
+ * POST /multi-version/versions/v1/unload  // {"version":"v1","active":false,"handlers":3,"beans":["userControllerV1"]}
+ * GET  /multi-version/versions/metrics    // [{"version":"v1","endpoint":"UserController#get(String)","count":42,...}]
+ * GET  /multi-version/versions/file-revision // {"revision":"1c291ca3-42","size":42,"lastModified":...,"appliedAt":...}
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("/multi-version/versions")
+public class VersionAdminController {
+
+    private final ObjectProvider<DualRequestMappingHandlerMapping> mapping;
+
+    private final ObjectProvider<DynamicFileWatcher> fileWatcher;
+
+    public VersionAdminController(ObjectProvider<DualRequestMappingHandlerMapping> mapping,
+                                  ObjectProvider<DynamicFileWatcher> fileWatcher) {
+        this.mapping = mapping;
+        this.fileWatcher = fileWatcher;
+    }
+
+    /**
+     * <b>中文：</b>查看当前已注册版本与未激活版本 <br>
+     * <b>English:</b>List registered and unactivated versions
+     */
+    @GetMapping
+    public Map<String, Object> versions() {
+        RoutingSnapshot routing = mapping.getObject().getRoutingSnapshot();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("versions", routing.getVersionOrder());
+        result.put("unactivated", routing.getUnactivatedVersions());
+        return result;
+    }
+
+    /**
+     * <b>中文：</b>启用版本 <br>
+     * <b>English:</b>Enable a version
+     */
+    @PostMapping("/{version}/enable")
+    public Map<String, Object> enable(@PathVariable("version") String version) {
+        return result(version, mapping.getObject().activateVersion(version));
+    }
+
+    /**
+     * <b>中文：</b>停用版本 <br>
+     * <b>English:</b>Disable a version
+     */
+    @PostMapping("/{version}/disable")
+    public Map<String, Object> disable(@PathVariable("version") String version) {
+        return result(version, mapping.getObject().deactivateVersion(version));
+    }
+
+    /**
+     * <b>中文：</b>卸载版本，释放其接口与只服务于该版本的控制器 Bean <br>
+     * <b>English:</b>Unload a version, releasing its handlers and the controller beans that only serve it
+     */
+    @PostMapping("/{version}/unload")
+    public Map<String, Object> unload(@PathVariable("version") String version) {
+        VersionUnloadResult unloaded = mapping.getObject().unloadVersion(version);
+        Map<String, Object> result = result(version, unloaded.getHandlers());
+        result.put("beans", unloaded.getBeans());
+        return result;
+    }
+
+    /**
+     * <b>中文：</b>查看按版本与接口统计的请求指标，耗时单位为微秒；未开启指标时返回空列表 <br>
+     * <b>English:</b>Per-version, per-endpoint request metrics with latencies in microseconds; empty when metrics are disabled
+     */
+    @GetMapping("/metrics")
+    public List<Map<String, Object>> metrics() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        VersionMetrics metrics = mapping.getObject().getVersionMetrics();
+        if (metrics == null) {
+            return result;
+        }
+        for (VersionMetrics.EndpointSnapshot s : metrics.snapshot()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("version", s.getVersion());
+            item.put("endpoint", s.getEndpoint());
+            item.put("count", s.getCount());
+            item.put("errors", s.getErrors());
+            item.put("meanMicros", s.getCount() == 0 ? 0 : s.getTotalNanos() / s.getCount() / 1000);
+            item.put("p50Micros", s.percentileNanos(0.5) / 1000);
+            item.put("p99Micros", s.percentileNanos(0.99) / 1000);
+            result.add(item);
+        }
+        return result;
+    }
+
+    /**
+     * <b>中文：</b>查看最近一次应用的版本配置文件版本，用于跨节点确认配置一致；未开启文件控制或尚未加载时返回空对象 <br>
+     * <b>English:</b>The last applied revision of the version config file, to confirm across nodes that everyone runs
+     * the same configuration; empty when file control is off or nothing was loaded yet
+     */
+    @GetMapping("/file-revision")
+    public Map<String, Object> fileRevision() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        DynamicFileWatcher watcher = fileWatcher.getIfAvailable();
+        FileRevision revision = watcher != null ? watcher.getRevision() : null;
+        if (revision == null) {
+            return result;
+        }
+        result.put("revision", revision.getId());
+        result.put("size", revision.getSize());
+        result.put("lastModified", revision.getLastModified());
+        result.put("appliedAt", revision.getAppliedAt());
+        return result;
+    }
+
+    private Map<String, Object> result(String version, int handlers) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", version);
+        result.put("active", mapping.getObject().isVersionActive(version));
+        result.put("handlers", handlers);
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.en.VersionMetrics.EndpointStats;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+/**
+ * VersionMetricsInterceptor — 版本请求指标拦截器 / Version Request Metrics Interceptor
+ *
+ * <p><b>中文说明：</b><br>
+ * 由 {@link DualRequestMappingHandlerMapping} 在构建执行链时加入，每个接口一个实例，
+ * 记录从进入拦截器到请求完成的耗时；抛出异常或响应状态码不低于 500 时计为错误。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Added by {@link DualRequestMappingHandlerMapping} when it builds the execution chain, one instance per
+ * endpoint. It records the time from entering the interceptor to request completion; an exception or a status
+ * code of 500 or above counts as an error.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class VersionMetricsInterceptor implements HandlerInterceptor {
+
+    /** 记录开始时间的请求属性 / Request attribute holding the start time */
+    static final String START_ATTRIBUTE = VersionMetricsInterceptor.class.getName() + ".START";
+
+    private final EndpointStats stats;
+
+    public VersionMetricsInterceptor(EndpointStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 异步请求的再次分派会重新调用 preHandle,保留首次分派的开始时间
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start instanceof Long startNanos) {
+            stats.record(System.nanoTime() - startNanos, ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    public EndpointStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,69 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.bailiun.multipleversionscoexist.en.VersionMetrics;
+import org.bailiun.multipleversionscoexist.en.VersionMetrics.EndpointStats;
+
+import java.util.concurrent.TimeUnit;
+/**
+ * VersionMetricsMeterBinder — 版本指标的 Micrometer 导出 / Micrometer Export of Version Metrics
+ *
+ * <p><b>中文说明：</b><br>
+ * 仅在类路径中存在 Micrometer 时注册。每个（版本，接口）导出：</p>
+ * <ul>
+ *   <li>{@code multi.version.requests} —— 请求数与总耗时（FunctionTimer）</li>
+ *   <li>{@code multi.version.errors} —— 错误数（FunctionCounter）</li>
+ *   <li>{@code multi.version.latency.p50} / {@code p99} —— 由直方图估算的分位耗时（秒）</li>
+ * </ul>
+ * <p>指标直接读取 {@link VersionMetrics} 中的计数器，不在请求路径上额外记录。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Registered only when Micrometer is on the classpath. Every (version, endpoint) exports:</p>
+ * <ul>
+ *   <li>{@code multi.version.requests} — request count and total time (FunctionTimer)</li>
+ *   <li>{@code multi.version.errors} — error count (FunctionCounter)</li>
+ *   <li>{@code multi.version.latency.p50} / {@code p99} — percentiles estimated from the histogram, in seconds</li>
+ * </ul>
+ * <p>Meters read the counters of {@link VersionMetrics} directly; nothing extra is recorded on the request path.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class VersionMetricsMeterBinder implements MeterBinder {
+
+    private final VersionMetrics metrics;
+
+    public VersionMetricsMeterBinder(VersionMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.onNewEndpoint(stats -> register(registry, stats));
+    }
+
+    private void register(MeterRegistry registry, EndpointStats stats) {
+        Tags tags = Tags.of("version", stats.getVersion(), "endpoint", stats.getEndpoint());
+        FunctionTimer.builder("multi.version.requests", stats, EndpointStats::getCount,
+                        EndpointStats::getTotalNanos, TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("multi.version.errors", stats, EndpointStats::getErrors)
+                .tags(tags)
+                .register(registry);
+        Gauge.builder("multi.version.latency.p50", stats, s -> s.snapshot().percentileNanos(0.5) / 1e9)
+                .tags(tags)
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("multi.version.latency.p99", stats, s -> s.snapshot().percentileNanos(0.99) / 1e9)
+                .tags(tags)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+}
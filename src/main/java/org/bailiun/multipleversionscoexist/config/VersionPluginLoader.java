@@ -0,0 +1,384 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionPlugin;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * VersionPluginLoader — 版本插件加载器 / Version Plugin Loader
+ *
+ * <p><b>中文说明：</b><br>
+ * 以独立 jar 的形式热部署新版本：监视 {@code multi.plugin.plugin-path} 目录，为每个 jar 创建独立的
+ * {@link URLClassLoader}（父加载器为应用类加载器，可直接使用宿主的 Bean 与类），将其中的控制器注册为 Bean，
+ * 再通过 {@link DualRequestMappingHandlerMapping#registerHandlers(java.util.Collection)} 走与启动时相同的注册流程。<br>
+ * jar 被删除时立即注销其接口；jar 被替换时旧版本继续服务，直到新 jar 稳定并加载成功后一次性切换。
+ * 旧版本的 Bean 定义、类加载器与临时副本在宽限期（{@code multi.plugin.plugin-release-delay}）后才释放，
+ * 切换前已进入旧接口的请求可以正常执行完毕，宿主应用无需重新部署。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Hot-deploys new versions as separate jars: watches the {@code multi.plugin.plugin-path} directory, gives every jar
+ * its own {@link URLClassLoader} (parented by the application class loader, so host beans and classes are visible),
+ * registers its controllers as beans and runs them through the regular pipeline via
+ * {@link DualRequestMappingHandlerMapping#registerHandlers(java.util.Collection)}.<br>
+ * Removing a jar unregisters its handlers at once; when a jar is replaced the old one keeps serving until the new
+ * jar is stable and loaded, then both are swapped in one step. The bean definitions, class loader and copy of the
+ * old version are only released after a grace period ({@code multi.plugin.plugin-release-delay}), so requests that
+ * entered the old handlers before the swap can finish, with no redeploy of the host application.</p>
+ *
+ * <p>主要职责包括 / Main responsibilities:</p>
+ * <ul>
+ *   <li>启动时加载目录中已有的 jar / Load the jars already present at startup</li>
+ *   <li>基于 {@link TaskScheduler} 定期扫描目录，大小与修改时间连续两次不变的 jar 才会加载 /
+ *       Scan the directory periodically with {@link TaskScheduler}; a jar is loaded once its size and modification
+ *       time are unchanged across two scans</li>
+ *   <li>加载前将 jar 复制到临时目录，原文件可随时被替换或删除 /
+ *       Copy each jar to a temporary directory before loading, so the original can be replaced or deleted at any time</li>
+ *   <li>新 jar 加载失败时保留旧版本，同一文件不再重试，直到它再次变化 /
+ *       When a new jar fails to load the old one is kept, and the same file is not retried until it changes again</li>
+ *   <li>应用关闭时立即释放全部插件并删除临时目录 /
+ *       Release every plugin immediately and delete the temporary directory when the application shuts down</li>
+ * </ul>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * # application.yml
+ * multi:
+ *   plugin:
+ *     plugin-configuration: true
+ *     plugin-path: plugins
+ *     plugin-refresh-time: 5000
+ *     plugin-release-delay: 30000
+ *
+ * # 部署 / Deploy
+ * cp orders-api-v4.jar plugins/
+ * # 卸载 / Undeploy
+ * rm plugins/orders-api-v4.jar
+ * }</pre>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>插件 jar 只应包含插件自身的类，宿主已有的依赖由父加载器提供 /
+ *       A plugin jar should only contain its own classes; shared dependencies come from the parent class loader</li>
+ *   <li>插件类被宿主 Bean 持有时，类加载器无法被回收 /
+ *       The class loader cannot be collected while host beans hold on to plugin classes</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class VersionPluginLoader implements CommandLineRunner, DisposableBean {
+
+    /** 插件配置 / Plugin configuration */
+    private final MultiVersionPlugin plugin;
+
+    /** 多版本请求映射处理器 / Multi-version handler mapping */
+    private final ObjectProvider<DualRequestMappingHandlerMapping> mapping;
+
+    /** 任务调度器 / Task scheduler */
+    private final TaskScheduler taskScheduler;
+
+    /** 应用上下文，用于注册与移除插件 Bean / Application context used to register and remove plugin beans */
+    private final ConfigurableApplicationContext context;
+
+    /** 已加载的插件<jar 路径,插件> / Loaded plugins keyed by jar path */
+    private final Map<Path, LoadedPlugin> plugins = new LinkedHashMap<>();
+
+    /** 上次扫描时各 jar 的大小与修改时间 / Size and modification time of each jar at the previous scan */
+    private Map<Path, String> lastScan = new HashMap<>();
+
+    /** 加载失败的 jar 及其大小与修改时间 / Jars that failed to load, with their size and modification time */
+    private final Map<Path, String> failed = new HashMap<>();
+
+    /** 加载次数，用于区分同一 jar 新旧版本的 Bean 名称 / Load counter keeping bean names of old and new jars apart */
+    private long generation;
+
+    /** 插件 jar 的临时副本目录 / Directory holding temporary copies of the plugin jars */
+    private Path workDirectory;
+
+    /** 接口已注销、等待宽限期结束后释放的插件 / Plugins whose handlers are gone, waiting for the grace period to end */
+    private final Map<LoadedPlugin, ScheduledFuture<?>> retiring = new IdentityHashMap<>();
+
+    public VersionPluginLoader(MultiVersionPlugin plugin,
+                               ObjectProvider<DualRequestMappingHandlerMapping> mapping,
+                               TaskScheduler taskScheduler,
+                               ConfigurableApplicationContext context) {
+        this.plugin = plugin;
+        this.mapping = mapping;
+        this.taskScheduler = taskScheduler;
+        this.context = context;
+    }
+
+    @Override
+    public void run(String... args) throws IOException {
+        Path directory = Paths.get(plugin.getPluginPath());
+        Files.createDirectories(directory);
+        workDirectory = Files.createTempDirectory("multi-version-plugins");
+        scan(true);
+        if (plugin.getPluginRefreshTime() != null && plugin.getPluginRefreshTime() > 0) {
+            taskScheduler.scheduleWithFixedDelay(() -> scan(false), Duration.ofMillis(plugin.getPluginRefreshTime()));
+            System.out.println("✅ 版本插件目录监视已启动: " + directory.toAbsolutePath() + ", 间隔: " + plugin.getPluginRefreshTime() + "ms");
+        }
+    }
+
+    /**
+     * <b>中文：</b>扫描插件目录：卸载已删除的 jar，加载新的 jar，并以变化后已稳定的 jar 替换旧版本 <br>
+     * <b>English:</b>Scan the plugin directory: unload jars that were removed, load new jars and replace the old
+     * version of changed jars once they are stable
+     *
+     * @param initial 启动时的首次扫描不等待文件稳定 / The first scan at startup does not wait for files to become stable
+     */
+    public synchronized void scan(boolean initial) {
+        Map<Path, String> current = new HashMap<>();
+        try (DirectoryStream<Path> jars = Files.newDirectoryStream(Paths.get(plugin.getPluginPath()), "*.jar")) {
+            for (Path jar : jars) {
+                current.put(jar.toAbsolutePath().normalize(), Files.size(jar) + "/" + Files.getLastModifiedTime(jar).toMillis());
+            }
+        } catch (IOException e) {
+            System.err.println("版本插件目录扫描失败:" + e);
+            return;
+        }
+        for (Path jar : new ArrayList<>(plugins.keySet())) {
+            if (!current.containsKey(jar)) {
+                unload(jar);
+            }
+        }
+        failed.keySet().retainAll(current.keySet());
+        for (Map.Entry<Path, String> entry : current.entrySet()) {
+            Path jar = entry.getKey();
+            LoadedPlugin loaded = plugins.get(jar);
+            if (loaded != null && loaded.signature.equals(entry.getValue()) || entry.getValue().equals(failed.get(jar))) {
+                continue;
+            }
+            // 变化中的 jar 等到稳定后再加载,期间旧版本继续服务
+            if (initial || entry.getValue().equals(lastScan.get(jar))) {
+                load(jar, entry.getValue(), loaded);
+            }
+        }
+        lastScan = current;
+    }
+
+    /**
+     * <b>中文：</b>加载插件 jar：复制到临时目录，创建独立类加载器，注册控制器 Bean 与接口；替换旧版本时一次性切换接口后再释放旧版本 <br>
+     * <b>English:</b>Load a plugin jar: copy it to the work directory, create its class loader and register its
+     * controller beans and handlers; when replacing an old version the handlers are swapped in one step before the
+     * old version is released
+     *
+     * @param previous 被替换的旧版本，首次加载时为 {@code null} / The version being replaced, {@code null} on first load
+     */
+    protected void load(Path jar, String signature, LoadedPlugin previous) {
+        DualRequestMappingHandlerMapping m = mapping.getIfAvailable();
+        if (m == null) {
+            return;
+        }
+        Path copy = null;
+        URLClassLoader loader = null;
+        List<String> beanNames = new ArrayList<>();
+        DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) context.getBeanFactory();
+        boolean swapping = false;
+        try {
+            copy = Files.copy(jar, workDirectory.resolve(System.nanoTime() + "-" + jar.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            loader = new URLClassLoader(new URL[]{copy.toUri().toURL()}, context.getClassLoader());
+            long loadGeneration = ++generation;
+            for (Class<?> controller : findControllers(copy, loader)) {
+                String beanName = "plugin:" + jar.getFileName() + "@" + loadGeneration + ":" + controller.getName();
+                beanFactory.registerBeanDefinition(beanName, BeanDefinitionBuilder.genericBeanDefinition(controller).getBeanDefinition());
+                beanNames.add(beanName);
+            }
+            swapping = true;
+            int handlers = previous == null ? m.registerHandlers(beanNames) : m.replaceHandlers(previous.beanNames, beanNames);
+            plugins.put(jar, new LoadedPlugin(signature, copy, loader, beanNames));
+            failed.remove(jar);
+            if (previous == null) {
+                System.out.println("版本插件已加载: " + jar.getFileName() + ", 控制器: " + beanNames.size() + ", 接口: " + handlers);
+            } else {
+                retire(previous);
+                System.out.println("版本插件已替换: " + jar.getFileName() + ", 控制器: " + beanNames.size() + ", 接口: " + handlers);
+            }
+        } catch (IOException | RuntimeException | LinkageError e) {
+            failed.put(jar, signature);
+            LoadedPlugin attempt = new LoadedPlugin(signature, copy, loader, beanNames);
+            if (previous != null && swapping) {
+                // 恢复旧版本的接口,新版本可能已短暂接收请求,同样等宽限期后释放
+                m.replaceHandlers(beanNames, previous.beanNames);
+                retire(attempt);
+            } else if (swapping) {
+                release(m, attempt);
+            } else {
+                releaseResources(attempt);
+            }
+            System.err.println("版本插件加载失败,已回滚" + (previous != null ? "并保留旧版本" : "") + ": " + jar.getFileName() + " " + e);
+        }
+    }
+
+    /**
+     * <b>中文：</b>卸载插件 jar：立即注销接口，宽限期后移除 Bean 定义并关闭类加载器 <br>
+     * <b>English:</b>Unload a plugin jar: unregister its handlers at once, then remove its bean definitions and close
+     * its class loader after the grace period
+     */
+    protected void unload(Path jar) {
+        LoadedPlugin loaded = plugins.remove(jar);
+        if (loaded == null) {
+            return;
+        }
+        int handlers = release(mapping.getIfAvailable(), loaded);
+        System.out.println("版本插件已卸载: " + jar.getFileName() + ", 接口: " + handlers);
+    }
+
+    private int release(DualRequestMappingHandlerMapping m, LoadedPlugin loaded) {
+        int handlers = m != null && !loaded.beanNames.isEmpty() ? m.unregisterHandlers(loaded.beanNames) : 0;
+        retire(loaded);
+        return handlers;
+    }
+
+    /**
+     * <b>中文：</b>接口已注销的插件在宽限期后释放资源：切换前已取得旧接口的请求仍需其 Bean 与类加载器才能执行完毕；
+     * 宽限期不大于 0 或调度器拒绝任务时立即释放 <br>
+     * <b>English:</b>Release the resources of a plugin whose handlers are gone after the grace period: requests that
+     * obtained an old handler before the swap still need its beans and class loader to finish. Released at once when
+     * the grace period is not positive or the scheduler rejects the task
+     */
+    private void retire(LoadedPlugin loaded) {
+        Integer delay = plugin.getPluginReleaseDelay();
+        if (delay == null || delay <= 0) {
+            releaseResources(loaded);
+            return;
+        }
+        try {
+            retiring.put(loaded, taskScheduler.schedule(() -> releaseRetired(loaded), Instant.now().plusMillis(delay)));
+        } catch (RuntimeException e) {
+            retiring.remove(loaded);
+            releaseResources(loaded);
+        }
+    }
+
+    private synchronized void releaseRetired(LoadedPlugin loaded) {
+        if (retiring.remove(loaded) != null) {
+            releaseResources(loaded);
+        }
+    }
+
+    /**
+     * <b>中文：</b>移除插件的 Bean 定义、关闭类加载器并删除临时副本，接口须已注销 <br>
+     * <b>English:</b>Remove the plugin's bean definitions, close its class loader and delete its copy; its handlers
+     * must already be unregistered
+     */
+    private void releaseResources(LoadedPlugin loaded) {
+        DefaultListableBeanFactory beanFactory = (DefaultListableBeanFactory) context.getBeanFactory();
+        for (String beanName : loaded.beanNames) {
+            if (beanFactory.containsBeanDefinition(beanName)) {
+                beanFactory.removeBeanDefinition(beanName);
+            }
+        }
+        try {
+            if (loaded.loader != null) {
+                loaded.loader.close();
+            }
+            if (loaded.copy != null) {
+                Files.deleteIfExists(loaded.copy);
+            }
+        } catch (IOException e) {
+            System.err.println("版本插件资源释放失败:" + e);
+        }
+    }
+
+    /**
+     * <b>中文：</b>找出 jar 中的具体控制器类，无法加载的类被跳过 <br>
+     * <b>English:</b>Find the concrete controller classes of a jar; classes that fail to load are skipped
+     */
+    protected List<Class<?>> findControllers(Path jar, ClassLoader loader) throws IOException {
+        List<Class<?>> controllers = new ArrayList<>();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")
+                        || name.endsWith("package-info.class")) {
+                    continue;
+                }
+                try {
+                    Class<?> type = Class.forName(name.substring(0, name.length() - 6).replace('/', '.'), false, loader);
+                    if (type.getClassLoader() == loader && !type.isInterface() && !Modifier.isAbstract(type.getModifiers())
+                            && AnnotatedElementUtils.hasAnnotation(type, Controller.class)) {
+                        controllers.add(type);
+                    }
+                } catch (ClassNotFoundException | LinkageError e) {
+                    System.err.println("版本插件类加载失败,已跳过: " + name + " " + e);
+                }
+            }
+        }
+        return controllers;
+    }
+
+    /**
+     * <b>中文：</b>应用关闭时卸载全部插件，不再等待宽限期，立即释放资源并删除临时目录 <br>
+     * <b>English:</b>Unload every plugin when the application shuts down; resources are released at once without
+     * waiting for the grace period, and the temporary directory is deleted
+     */
+    @Override
+    public synchronized void destroy() {
+        for (Path jar : new ArrayList<>(plugins.keySet())) {
+            unload(jar);
+        }
+        for (Map.Entry<LoadedPlugin, ScheduledFuture<?>> entry : retiring.entrySet()) {
+            entry.getValue().cancel(false);
+            releaseResources(entry.getKey());
+        }
+        retiring.clear();
+        if (workDirectory != null) {
+            try {
+                FileSystemUtils.deleteRecursively(workDirectory);
+            } catch (IOException e) {
+                System.err.println("版本插件临时目录删除失败:" + workDirectory + " " + e);
+            }
+        }
+    }
+
+    /**
+     * <b>中文：</b>已加载的插件 <br>
+     * <b>English:</b>A loaded plugin
+     */
+    protected static final class LoadedPlugin {
+        final String signature;
+        final Path copy;
+        final URLClassLoader loader;
+        final List<String> beanNames;
+
+        LoadedPlugin(String signature, Path copy, URLClassLoader loader, List<String> beanNames) {
+            this.signature = signature;
+            this.copy = copy;
+            this.loader = loader;
+            this.beanNames = beanNames;
+        }
+    }
+}
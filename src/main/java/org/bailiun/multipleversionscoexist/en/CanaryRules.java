@@ -0,0 +1,184 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h2>CanaryRules — 灰度分流规则 / Canary Traffic Splitting Rules</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 为未指定版本的请求按权重选择版本，每条规则形如 {@code /orders/** v2=5 v1=95}：
+ * 路径模式后跟若干 {@code 版本=权重}，按声明顺序取第一条匹配的规则。<br>
+ * 路径模式在解析时预编译：无通配符时按字面量比较，{@code /x/**} 形式按前缀比较，
+ * 二者匹配与抽取均不加锁、不分配对象；其余模式交由 {@link AntPathMatcher} 处理。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Picks a weighted version for requests that did not name one. A rule reads {@code /orders/** v2=5 v1=95}: a path
+ * pattern followed by {@code version=weight} pairs; the first matching rule in declaration order wins.<br>
+ * Patterns are compiled when parsed: literal patterns compare by equality and {@code /x/**} patterns by prefix,
+ * both lock-free and allocation-free together with the draw; any other pattern is handed to {@link AntPathMatcher}.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * CanaryRules rules = CanaryRules.parse(List.of("/orders/** v2=5 v1=95"));
+ * rules.select("/orders/42");   // "v2" 或 "v1" / "v2" or "v1"
+ * rules.select("/users/1");     // null
+ * }</pre>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>实例不可变，更新规则时整体替换 / Instances are immutable; replace the whole set to update the rules</li>
+ *   <li>格式错误时抛出 {@link IllegalArgumentException} / Malformed rules raise {@link IllegalArgumentException}</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class CanaryRules {
+
+    /** 无任何规则 / No rules */
+    public static final CanaryRules EMPTY = new CanaryRules(new Rule[0], Collections.emptyList());
+
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    /** 预编译的规则 / Compiled rules */
+    private final Rule[] rules;
+
+    /** 原始规则文本 / Source rule lines */
+    private final List<String> sources;
+
+    private CanaryRules(Rule[] rules, List<String> sources) {
+        this.rules = rules;
+        this.sources = sources;
+    }
+
+    /**
+     * <p><b>中文说明：</b>解析规则文本，空行与 {@code #} 开头的行被忽略。</p>
+     * <p><b>English Description:</b> Parses rule lines; blank lines and lines starting with {@code #} are ignored.</p>
+     *
+     * @param lines 规则文本 / Rule lines
+     * @return 规则集合 / The compiled rules
+     */
+    public static CanaryRules parse(List<String> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return EMPTY;
+        }
+        List<Rule> rules = new ArrayList<>();
+        List<String> sources = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            rules.add(Rule.parse(trimmed));
+            sources.add(trimmed);
+        }
+        return rules.isEmpty() ? EMPTY : new CanaryRules(rules.toArray(new Rule[0]), Collections.unmodifiableList(sources));
+    }
+
+    /**
+     * <p><b>中文说明：</b>为访问路径按权重选择版本，没有规则匹配时返回 {@code null}。</p>
+     * <p><b>English Description:</b> Picks a weighted version for the lookup path, or {@code null} when no rule matches.</p>
+     *
+     * @param lookupPath 访问路径 / The lookup path
+     * @return 版本名称 / The version name
+     */
+    public String select(String lookupPath) {
+        for (Rule rule : rules) {
+            if (rule.matches(lookupPath)) {
+                return rule.table.next();
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return rules.length == 0;
+    }
+
+    public List<String> getSources() {
+        return sources;
+    }
+
+    @Override
+    public String toString() {
+        return sources.toString();
+    }
+
+    /**
+     * 单条规则 / A single rule
+     */
+    private static final class Rule {
+        /** 字面量路径或前缀，ANT 模式时为完整模式 / Literal path or prefix; the whole pattern for ANT rules */
+        private final String pattern;
+        private final Kind kind;
+        private final WeightedAliasTable table;
+
+        private Rule(String pattern, Kind kind, WeightedAliasTable table) {
+            this.pattern = pattern;
+            this.kind = kind;
+            this.table = table;
+        }
+
+        private static Rule parse(String line) {
+            String[] parts = line.split("\\s+");
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("灰度规则格式错误,应为 '路径 版本=权重 ...': " + line);
+            }
+            String[] versions = new String[parts.length - 1];
+            int[] weights = new int[parts.length - 1];
+            for (int i = 1; i < parts.length; i++) {
+                int eq = parts[i].indexOf('=');
+                if (eq <= 0) {
+                    throw new IllegalArgumentException("灰度规则格式错误,应为 '版本=权重': " + parts[i]);
+                }
+                versions[i - 1] = parts[i].substring(0, eq);
+                try {
+                    weights[i - 1] = Integer.parseInt(parts[i].substring(eq + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("灰度规则权重不是整数: " + parts[i], e);
+                }
+            }
+            WeightedAliasTable table = new WeightedAliasTable(versions, weights);
+            String pattern = parts[0];
+            if (pattern.endsWith("/**") && isLiteral(pattern, pattern.length() - 3)) {
+                return new Rule(pattern.substring(0, pattern.length() - 3), Kind.PREFIX, table);
+            }
+            if (isLiteral(pattern, pattern.length())) {
+                return new Rule(pattern, Kind.EXACT, table);
+            }
+            return new Rule(pattern, Kind.ANT, table);
+        }
+
+        private static boolean isLiteral(String pattern, int end) {
+            for (int i = 0; i < end; i++) {
+                char c = pattern.charAt(i);
+                if (c == '*' || c == '?' || c == '{') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean matches(String path) {
+            switch (kind) {
+                case EXACT:
+                    return pattern.equals(path);
+                case PREFIX:
+                    // /orders/** 匹配 /orders 与 /orders/...
+                    return path.startsWith(pattern)
+                            && (path.length() == pattern.length() || path.charAt(pattern.length()) == '/');
+                default:
+                    return MATCHER.match(pattern, path);
+            }
+        }
+    }
+
+    private enum Kind {
+        EXACT, PREFIX, ANT
+    }
+}
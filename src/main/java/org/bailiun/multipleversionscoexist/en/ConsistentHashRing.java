@@ -0,0 +1,125 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * <h2>ConsistentHashRing — 一致性哈希环 / Consistent Hash Ring</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 每个版本在环上放置若干虚拟节点，客户端键经一次哈希后用二分查找定位到顺时针方向的第一个节点。<br>
+ * 移除一个版本时只有原本落在该版本上的客户端会改变归属，其余客户端保持不变；整个过程无需会话存储。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Every version places a number of virtual nodes on the ring; a client key is hashed once and located with a
+ * binary search on the first node clockwise.<br>
+ * Removing a version only moves the clients that were on that version, every other client keeps its assignment,
+ * and no session storage is involved.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * ConsistentHashRing ring = new ConsistentHashRing(List.of("v1", "v2"), 160);
+ * ring.locate("user-42");   // 同一用户总是得到相同版本 / always the same version for the same user
+ * }</pre>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>实例不可变，版本变化时整体替换 / Immutable; replace it when the versions change</li>
+ *   <li>节点位置只取决于版本名称，与传入顺序无关 / Node positions depend on version names only, not on their order</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class ConsistentHashRing {
+
+    /** 空环 / Empty ring */
+    public static final ConsistentHashRing EMPTY = new ConsistentHashRing(Collections.emptyList(), 1);
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /** 已排序的节点位置 / Sorted node positions */
+    private final long[] points;
+
+    /** 每个节点所属的版本 / Owning version of each node */
+    private final String[] owners;
+
+    /** 环上的版本 / Versions on the ring */
+    private final List<String> versions;
+
+    /**
+     * @param versions     版本名称 / Version names
+     * @param virtualNodes 每个版本的虚拟节点数 / Virtual nodes per version
+     */
+    public ConsistentHashRing(Collection<String> versions, int virtualNodes) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("虚拟节点数必须大于0: " + virtualNodes);
+        }
+        // 按名称排序,哈希冲突时的归属与传入顺序无关
+        List<String> sorted = new ArrayList<>(new TreeSet<>(versions));
+        long[][] nodes = new long[sorted.size() * virtualNodes][];
+        int n = 0;
+        for (int v = 0; v < sorted.size(); v++) {
+            for (int i = 0; i < virtualNodes; i++) {
+                nodes[n++] = new long[]{hash(sorted.get(v) + "#" + i), v};
+            }
+        }
+        Arrays.sort(nodes, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[n];
+        this.owners = new String[n];
+        for (int i = 0; i < n; i++) {
+            points[i] = nodes[i][0];
+            owners[i] = sorted.get((int) nodes[i][1]);
+        }
+        this.versions = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * <p><b>中文说明：</b>定位客户端键所属的版本，环为空时返回 {@code null}。</p>
+     * <p><b>English Description:</b> Locates the version owning the client key, or {@code null} for an empty ring.</p>
+     *
+     * @param key 客户端键 / Client key
+     * @return 版本名称 / Version name
+     */
+    public String locate(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+            if (index == points.length) {
+                index = 0;
+            }
+        }
+        return owners[index];
+    }
+
+    public List<String> getVersions() {
+        return versions;
+    }
+
+    /**
+     * FNV-1a 64 位哈希后接 MurmurHash3 混合函数 / FNV-1a 64-bit hash followed by the MurmurHash3 finalizer
+     */
+    static long hash(String key) {
+        long h = FNV_OFFSET;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            h = (h ^ (b & 0xFF)) * FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,19 +1,19 @@
 package org.bailiun.multipleversionscoexist.en;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 /**
  * <h2>DualMap — 简化版多值映射 / Simplified Multi-Value Map</h2>
  *
  * <p><b>中文说明：</b><br>
- * 这是一个对 {@link java.util.HashMap} 的轻量级扩展，主要用于一键式管理「一个键对应多个值」的场景。
+ * 这是一个对 {@link java.util.LinkedHashMap} 的轻量级扩展，主要用于一键式管理「一个键对应多个值」的场景，键按首次加入的顺序遍历。
  * 与传统的 <code>HashMap&lt;K, List&lt;V&gt;&gt;</code> 不同，<br>
  * 本类提供了更便捷的添加方法 {@link #put(Object, String)}，当指定的 key 不存在时会自动创建对应的 {@link java.util.List}。</p>
  *
  * <p><b>English Description:</b><br>
- * A lightweight extension of {@link java.util.HashMap} designed for scenarios where
- * one key maps to multiple values.
+ * A lightweight extension of {@link java.util.LinkedHashMap} designed for scenarios where
+ * one key maps to multiple values. Keys iterate in the order they were first added.
  * Unlike the standard <code>HashMap&lt;K, List&lt;V&gt;&gt;</code>, this class provides
  * a simplified {@link #put(Object, String)} method that automatically initializes
  * a new {@link java.util.List} when the key is not present.</p>
@@ -40,7 +40,7 @@ import java.util.List;
  * @version 1.0.0
  * @since 1.0.0
  */
-public class DualMap<K> extends HashMap<K, List<String>> {
+public class DualMap<K> extends LinkedHashMap<K, List<String>> {
 
     /**
      * <p><b>中文说明：</b>向指定的 key 对应的列表中添加一个 value。</p>
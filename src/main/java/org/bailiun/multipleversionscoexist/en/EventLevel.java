@@ -0,0 +1,12 @@
+package org.bailiun.multipleversionscoexist.en;
+
+/**
+ * 事件日志级别 / Event log level
+ */
+public enum EventLevel {
+    TRACE,  // 跟踪
+    DEBUG,  // 调试
+    INFO,   // 信息
+    WARN,   // 警告
+    ERROR;  // 错误
+}
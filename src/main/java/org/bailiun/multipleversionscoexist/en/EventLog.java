@@ -0,0 +1,356 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import org.bailiun.multipleversionscoexist.Abstraction.EventSink;
+import org.bailiun.multipleversionscoexist.Realization.Slf4jEventSink;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h2>EventLog — 异步采样事件日志 / Asynchronous Sampled Event Log</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 请求线程只把事件写入预分配的无锁环形缓冲区，由一个后台守护线程取出并交给 {@link EventSink}（默认 SLF4J），
+ * 请求路径上不再有同步的控制台 I/O，也不会在 {@code PrintStream} 的锁上排队。</p>
+ * <ul>
+ *   <li>级别过滤：低于当前级别的事件在写入前即被丢弃</li>
+ *   <li>按事件采样：{@code setSampling("route.match", 100)} 表示该事件平均每 100 次记录 1 次</li>
+ *   <li>缓冲区满时丢弃新事件并计数，绝不阻塞请求线程</li>
+ *   <li>消息使用 {@code {}} 占位符，格式化在后台线程完成</li>
+ * </ul>
+ *
+ * <p><b>English Description:</b><br>
+ * Request threads only write events into a preallocated lock-free ring buffer; a single daemon thread drains it
+ * into an {@link EventSink} (SLF4J by default), so no synchronous console I/O happens on the request path and no
+ * thread queues on the {@code PrintStream} lock.</p>
+ * <ul>
+ *   <li>Level filtering: events below the current level are dropped before they are written</li>
+ *   <li>Per-event sampling: {@code setSampling("route.match", 100)} keeps one in 100 such events on average</li>
+ *   <li>When the buffer is full new events are dropped and counted; request threads never block</li>
+ *   <li>Messages use {@code {}} placeholders and are formatted on the background thread</li>
+ * </ul>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * EventLog log = EventLog.getDefault();
+ * log.setLevel(EventLevel.DEBUG);
+ * log.setSampling("route.match", 100);
+ * log.debug("route.match", "匹配成功 => {}{}", "/v1", "/api/user");
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class EventLog {
+
+    /** 默认缓冲区容量 / Default buffer capacity */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** 后台线程挂起前的自旋次数 / Spins of the background thread before it parks */
+    private static final int SPIN_LIMIT = 64;
+
+    private static volatile EventLog defaultLog;
+
+    /** 环形缓冲区槽位 / Ring buffer slots */
+    private final Slot[] slots;
+
+    /** 下标掩码 / Index mask */
+    private final int mask;
+
+    /** 下一个写入位置，由请求线程竞争 / Next write position, contended by producers */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** 下一个读取位置，只由后台线程访问 / Next read position, only touched by the background thread */
+    private long head;
+
+    /** 输出目标 / Event sink */
+    private volatile EventSink sink;
+
+    /** 当前级别 / Current level */
+    private volatile EventLevel level = EventLevel.INFO;
+
+    /** <事件名称,采样间隔> / Event name to its sampling interval */
+    private final Map<String, Integer> sampling = new ConcurrentHashMap<>();
+
+    /** 因缓冲区满被丢弃的事件数 / Events dropped because the buffer was full */
+    private final LongAdder dropped = new LongAdder();
+
+    /** 后台线程 / Background thread */
+    private final Thread drainer;
+
+    private volatile boolean running = true;
+
+    /** 后台线程是否已挂起等待唤醒 / Whether the background thread is parked waiting to be woken up */
+    private volatile boolean parked;
+
+    /**
+     * @param capacity 缓冲区容量，向上取整为 2 的幂 / Buffer capacity, rounded up to a power of two
+     * @param sink     输出目标 / Event sink
+     */
+    public EventLog(int capacity, EventSink sink) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = size - 1;
+        this.sink = sink;
+        this.drainer = new Thread(this::drainLoop, "multi-version-event-log");
+        this.drainer.setDaemon(true);
+        this.drainer.start();
+    }
+
+    /**
+     * <p><b>中文说明：</b>获取全局默认事件日志（首次调用时创建，输出到 SLF4J）。</p>
+     * <p><b>English Description:</b> Returns the global default event log, created on first use with an SLF4J sink.</p>
+     *
+     * @return 默认事件日志 / The default event log
+     */
+    public static EventLog getDefault() {
+        EventLog log = defaultLog;
+        if (log == null) {
+            synchronized (EventLog.class) {
+                log = defaultLog;
+                if (log == null) {
+                    log = new EventLog(DEFAULT_CAPACITY, new Slf4jEventSink());
+                    defaultLog = log;
+                }
+            }
+        }
+        return log;
+    }
+
+    /**
+     * <p><b>中文说明：</b>判断事件是否会被记录（级别与采样），可在构造参数代价较高时先行判断。</p>
+     * <p><b>English Description:</b> Whether the event would be recorded (level and sampling); check it first when
+     * building the arguments is expensive.</p>
+     */
+    public boolean isEnabled(EventLevel level, String event) {
+        if (level.compareTo(this.level) < 0) {
+            return false;
+        }
+        if (sampling.isEmpty()) {
+            return true;
+        }
+        Integer interval = sampling.get(event);
+        return interval == null || interval <= 1 || ThreadLocalRandom.current().nextInt(interval) == 0;
+    }
+
+    public void trace(String event, String message, Object arg0) {
+        log(EventLevel.TRACE, event, message, arg0, null, null);
+    }
+
+    public void trace(String event, String message, Object arg0, Object arg1) {
+        log(EventLevel.TRACE, event, message, arg0, arg1, null);
+    }
+
+    public void debug(String event, String message, Object arg0) {
+        log(EventLevel.DEBUG, event, message, arg0, null, null);
+    }
+
+    public void debug(String event, String message, Object arg0, Object arg1) {
+        log(EventLevel.DEBUG, event, message, arg0, arg1, null);
+    }
+
+    public void info(String event, String message, Object arg0) {
+        log(EventLevel.INFO, event, message, arg0, null, null);
+    }
+
+    public void info(String event, String message, Object arg0, Object arg1) {
+        log(EventLevel.INFO, event, message, arg0, arg1, null);
+    }
+
+    public void warn(String event, String message, Object arg0) {
+        log(EventLevel.WARN, event, message, arg0, null, null);
+    }
+
+    public void warn(String event, String message, Object arg0, Object arg1) {
+        log(EventLevel.WARN, event, message, arg0, arg1, null);
+    }
+
+    public void warn(String event, String message, Object arg0, Throwable thrown) {
+        log(EventLevel.WARN, event, message, arg0, null, thrown);
+    }
+
+    public void warn(String event, String message, Object arg0, Object arg1, Throwable thrown) {
+        log(EventLevel.WARN, event, message, arg0, arg1, thrown);
+    }
+
+    public void error(String event, String message, Object arg0, Object arg1, Throwable thrown) {
+        log(EventLevel.ERROR, event, message, arg0, arg1, thrown);
+    }
+
+    /**
+     * <p><b>中文说明：</b>记录一条事件：通过级别与采样后写入缓冲区，缓冲区满时丢弃。</p>
+     * <p><b>English Description:</b> Records an event: after level and sampling checks it is written into the
+     * buffer, or dropped when the buffer is full.</p>
+     *
+     * @param level   事件级别 / Event level
+     * @param event   事件名称 / Event name
+     * @param message 消息模板 / Message template
+     * @param arg0    第一个参数 / First argument
+     * @param arg1    第二个参数 / Second argument
+     * @param thrown  异常 / Throwable
+     * @return 是否写入缓冲区 / Whether the event was buffered
+     */
+    public boolean log(EventLevel level, String event, String message, Object arg0, Object arg1, Throwable thrown) {
+        if (!running || !isEnabled(level, event)) {
+            return false;
+        }
+        long position = tail.get();
+        Slot slot;
+        while (true) {
+            slot = slots[(int) position & mask];
+            long difference = slot.sequence - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // 缓冲区已满
+                dropped.increment();
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+        slot.level = level;
+        slot.event = event;
+        slot.message = message;
+        slot.arg0 = arg0;
+        slot.arg1 = arg1;
+        slot.thrown = thrown;
+        // 写入序号即发布,后台线程读到新序号后才读取字段
+        slot.sequence = position + 1;
+        // 先发布再检查挂起标志,与后台线程先置标志再检查缓冲区配对,不会丢失唤醒
+        if (parked) {
+            LockSupport.unpark(drainer);
+        }
+        return true;
+    }
+
+    /**
+     * 后台线程：取出事件并写出，空闲时短暂自旋后挂起，直到请求线程写入事件时唤醒 /
+     * Background loop: drains events; when idle it spins briefly, then parks until a producer wakes it up
+     */
+    private void drainLoop() {
+        int idle = 0;
+        while (running || pending()) {
+            if (drainOnce()) {
+                idle = 0;
+            } else if (idle < SPIN_LIMIT) {
+                idle++;
+                Thread.onSpinWait();
+            } else {
+                parked = true;
+                // 置标志后再检查一次,避免请求线程在置标志前写入的事件等不到唤醒
+                if (running && !pending()) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        }
+    }
+
+    private boolean pending() {
+        return slots[(int) head & mask].sequence == head + 1;
+    }
+
+    /**
+     * 取出并写出一条事件 / Drains and writes one event
+     */
+    private boolean drainOnce() {
+        Slot slot = slots[(int) head & mask];
+        if (slot.sequence != head + 1) {
+            return false;
+        }
+        EventLevel level = slot.level;
+        String event = slot.event;
+        String message = slot.message;
+        Object arg0 = slot.arg0;
+        Object arg1 = slot.arg1;
+        Throwable thrown = slot.thrown;
+        slot.event = null;
+        slot.message = null;
+        slot.arg0 = null;
+        slot.arg1 = null;
+        slot.thrown = null;
+        slot.sequence = head + slots.length;
+        head++;
+        try {
+            sink.write(level, event, message, arg0, arg1, thrown);
+        } catch (RuntimeException e) {
+            // 输出目标异常不能影响后台线程
+        }
+        return true;
+    }
+
+    /**
+     * <p><b>中文说明：</b>停止接收事件，写出缓冲区中剩余的事件后结束后台线程。</p>
+     * <p><b>English Description:</b> Stops accepting events, writes out what is buffered and ends the background thread.</p>
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public EventLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(EventLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * <p><b>中文说明：</b>设置事件采样间隔，{@code 1} 表示全部记录。</p>
+     * <p><b>English Description:</b> Sets the sampling interval of an event; {@code 1} records every event.</p>
+     *
+     * @param event    事件名称 / Event name
+     * @param interval 平均每多少次记录 1 次 / Record one event in this many on average
+     */
+    public void setSampling(String event, int interval) {
+        if (interval <= 1) {
+            sampling.remove(event);
+        } else {
+            sampling.put(event, interval);
+        }
+    }
+
+    public void setSink(EventSink sink) {
+        this.sink = sink;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 缓冲区槽位 / Buffer slot
+     */
+    private static final class Slot {
+        /** 槽位序号：等于写入位置时可写，等于写入位置 + 1 时可读 / Writable at the position, readable at position + 1 */
+        private volatile long sequence;
+        private EventLevel level;
+        private String event;
+        private String message;
+        private Object arg0;
+        private Object arg1;
+        private Throwable thrown;
+
+        private Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.bailiun.multipleversionscoexist.en;
+
+/**
+ * <h2>FileRevision — 配置文件版本 / Configuration File Revision</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 描述配置文件某一时刻的内容：大小、修改时间与内容的 CRC32 校验值。<br>
+ * {@link #getId()} 只由内容（校验值与大小）决定，与修改时间无关，可用于跨节点确认各节点加载的是同一份配置。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Describes the content of a configuration file at one point in time: its size, modification time and the CRC32
+ * of its content.<br>
+ * {@link #getId()} only depends on the content (checksum and size), not on the modification time, so it can be
+ * compared across nodes to confirm they all run the same configuration.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class FileRevision {
+
+    /** 文件大小（字节） / File size in bytes */
+    private final long size;
+
+    /** 文件修改时间（毫秒） / File modification time in milliseconds */
+    private final long lastModified;
+
+    /** 内容的 CRC32 校验值 / CRC32 of the content */
+    private final long checksum;
+
+    /** 被应用的时间（毫秒），尚未应用时为 0 / Time it was applied in milliseconds, 0 when not applied yet */
+    private final long appliedAt;
+
+    public FileRevision(long size, long lastModified, long checksum, long appliedAt) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.checksum = checksum;
+        this.appliedAt = appliedAt;
+    }
+
+    /**
+     * <b>中文：</b>复制为已应用的版本 <br>
+     * <b>English:</b>Copy marked as applied
+     *
+     * @param appliedAt 应用时间（毫秒） / Time it was applied in milliseconds
+     * @return 已应用的版本 / The applied revision
+     */
+    public FileRevision applied(long appliedAt) {
+        return new FileRevision(size, lastModified, checksum, appliedAt);
+    }
+
+    /**
+     * <b>中文：</b>判断两个版本的内容是否相同 <br>
+     * <b>English:</b>Whether both revisions have the same content
+     */
+    public boolean sameContent(FileRevision other) {
+        return other != null && size == other.size && checksum == other.checksum;
+    }
+
+    /**
+     * <b>中文：</b>内容标识，例如 {@code 1c291ca3-42} <br>
+     * <b>English:</b>Content identifier, e.g. {@code 1c291ca3-42}
+     */
+    public String getId() {
+        return String.format("%08x-%d", checksum, size);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public long getAppliedAt() {
+        return appliedAt;
+    }
+
+    @Override
+    public String toString() {
+        return getId();
+    }
+}
@@ -0,0 +1,274 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <h2>HandlerLookupCache — 有界的接口解析结果缓存 / Bounded Handler Lookup Cache</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 以 {@link Key}（请求方法、访问路径、当前可访问版本集合）为键缓存接口解析结果，
+ * 容量达到上限时按“二次机会”（CLOCK）策略淘汰最近未命中的条目：条目占据固定长度的槽位数组，
+ * 时钟指针在写入之间保持位置，每次淘汰均摊 O(1)。<br>
+ * 读取无锁；写入与失效在同一把锁内串行执行，因此条目数不会超过上限。<br>
+ * 每次路由相关配置变化时调用 {@link #invalidate()}，缓存会整体失效；
+ * 失效前开始、失效后才写入的解析结果会因代数不一致被丢弃，不会写入过期数据。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Caches resolved handlers under a {@link Key} made of the HTTP method, the lookup path and the
+ * currently accessible version set. When full, entries that were not hit since the last sweep are
+ * evicted first (second-chance / CLOCK policy): entries occupy a fixed slot array and the clock hand keeps
+ * its position between writes, so each eviction is amortised O(1).<br>
+ * Reads are lock-free; writes and invalidations are serialised on one lock, so the entry count never
+ * exceeds the bound.<br>
+ * {@link #invalidate()} drops every entry whenever the routing configuration changes. Results
+ * computed before an invalidation but written after it carry a stale generation and are discarded.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * HandlerLookupCache<String> cache = new HandlerLookupCache<>(1024);
+ * HandlerLookupCache.Key key = new HandlerLookupCache.Key("GET", "/api/user", 0);
+ * long generation = cache.generation();
+ * if (cache.get(key) == null) {
+ *     cache.put(key, "resolved", generation);
+ * }
+ * System.out.println(cache.getHitCount() + "/" + cache.getMissCount());
+ * }</pre>
+ *
+ * @param <V> 缓存值类型 / The type of cached value
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class HandlerLookupCache<V> {
+
+    /** 最大缓存条目数 / Maximum number of cached entries */
+    private final int maxSize;
+
+    /** 缓存条目索引 / Index of the cached entries */
+    private final ConcurrentHashMap<Key, Entry<V>> entries;
+
+    /** 时钟槽位，每个条目占据一个槽位 / Clock slots, one per cached entry */
+    private final Entry<V>[] slots;
+
+    /** 时钟指针，指向下一个待检查的槽位，只在锁内访问 / Clock hand, the next slot to inspect; guarded by {@code this} */
+    private int hand;
+
+    /** 命中次数 / Hit counter */
+    private final LongAdder hits = new LongAdder();
+
+    /** 未命中次数 / Miss counter */
+    private final LongAdder misses = new LongAdder();
+
+    /** 淘汰次数 / Eviction counter */
+    private final LongAdder evictions = new LongAdder();
+
+    /** 失效次数 / Invalidation counter */
+    private final LongAdder invalidations = new LongAdder();
+
+    /** 当前缓存代数，每次失效后递增 / Current generation, incremented on every invalidation */
+    private volatile long generation;
+
+    /**
+     * @param maxSize 最大缓存条目数，必须大于 0 / Maximum number of entries, must be positive
+     */
+    public HandlerLookupCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("HandlerCacheSize必须大于0: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+        @SuppressWarnings("unchecked")
+        Entry<V>[] slots = (Entry<V>[]) new Entry<?>[maxSize];
+        this.slots = slots;
+    }
+
+    /**
+     * <p><b>中文说明：</b>获取当前缓存代数，应在开始解析之前读取，并在 {@link #put(Key, Object, long)} 时传回。</p>
+     * <p><b>English Description:</b> Returns the current generation. Read it before resolving and pass it
+     * back to {@link #put(Key, Object, long)}.</p>
+     *
+     * @return 当前缓存代数 / The current generation
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * <p><b>中文说明：</b>读取缓存，命中与未命中都会计数。</p>
+     * <p><b>English Description:</b> Reads a cached value; both hits and misses are counted.</p>
+     *
+     * @param key 缓存键 / The cache key
+     * @return 缓存值，未命中时返回 {@code null} / The cached value, or {@code null} on a miss
+     */
+    public V get(Key key) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.generation == generation) {
+            entry.referenced = true;
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * <p><b>中文说明：</b>写入缓存；若解析期间缓存已失效（代数不一致）则忽略本次写入。</p>
+     * <p><b>English Description:</b> Stores a value, unless the cache was invalidated while it was being
+     * resolved (generation mismatch).</p>
+     *
+     * @param key        缓存键 / The cache key
+     * @param value      缓存值 / The value to cache
+     * @param generation 解析开始时读取的代数 / The generation read before resolving
+     */
+    public synchronized void put(Key key, V value, long generation) {
+        if (value == null || generation != this.generation) {
+            return;
+        }
+        Entry<V> existing = entries.get(key);
+        int slot = existing != null ? existing.slot : advanceHand();
+        Entry<V> entry = new Entry<>(key, value, generation, slot);
+        slots[slot] = entry;
+        entries.put(key, entry);
+    }
+
+    /**
+     * <p><b>中文说明：</b>使全部缓存失效，在版本前缀、文件控制版本或接口优先级变化时调用。</p>
+     * <p><b>English Description:</b> Invalidates every entry. Call it whenever version prefixes,
+     * file-controlled versions or interface priorities change.</p>
+     */
+    public synchronized void invalidate() {
+        generation++;
+        entries.clear();
+        Arrays.fill(slots, null);
+        hand = 0;
+        invalidations.increment();
+    }
+
+    /**
+     * 按二次机会策略推进时钟指针并返回可写入的槽位，必要时淘汰该槽位上的条目 /
+     * Advances the clock hand using the second-chance policy and returns a free slot, evicting its entry if needed
+     *
+     * <p>指针最多绕行一圈即可找到未被引用的槽位，每次调用均摊 O(1)。<br>
+     * The hand finds an unreferenced slot within one lap, so each call is amortised O(1).</p>
+     */
+    private int advanceHand() {
+        while (slots[hand] != null && slots[hand].referenced) {
+            slots[hand].referenced = false;
+            hand = (hand + 1) % maxSize;
+        }
+        int slot = hand;
+        Entry<V> victim = slots[slot];
+        if (victim != null) {
+            entries.remove(victim.key, victim);
+            evictions.increment();
+        }
+        hand = (hand + 1) % maxSize;
+        return slot;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * <h3>缓存键 / Cache key</h3>
+     *
+     * <p>由请求方法、访问路径、请求指定的版本与当前可访问版本集合的标识组成。<br>
+     * Made of the HTTP method, the lookup path, the requested version and an identifier of the accessible version set.</p>
+     */
+    public static final class Key {
+        private final String method;
+        private final String path;
+        private final String version;
+        private final int versionSet;
+        private final int hash;
+
+        /**
+         * @param method     请求方法 / HTTP method
+         * @param path       访问路径 / Lookup path
+         * @param versionSet 当前可访问版本集合的标识 / Identifier of the accessible version set
+         */
+        public Key(String method, String path, int versionSet) {
+            this(method, path, null, versionSet);
+        }
+
+        /**
+         * @param method     请求方法 / HTTP method
+         * @param path       访问路径 / Lookup path
+         * @param version    请求指定的版本，可为空 / Requested version, may be {@code null}
+         * @param versionSet 当前可访问版本集合的标识 / Identifier of the accessible version set
+         */
+        public Key(String method, String path, String version, int versionSet) {
+            this.method = method;
+            this.path = path;
+            this.version = version;
+            this.versionSet = versionSet;
+            this.hash = Objects.hash(method, path, version, versionSet);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return versionSet == other.versionSet
+                    && Objects.equals(path, other.path)
+                    && Objects.equals(version, other.version)
+                    && Objects.equals(method, other.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path + (version != null ? " " + version : "") + " [" + versionSet + "]";
+        }
+    }
+
+    /**
+     * 缓存条目 / Cache entry
+     */
+    private static final class Entry<V> {
+        private final Key key;
+        private final V value;
+        private final long generation;
+        private final int slot;
+        private volatile boolean referenced;
+
+        private Entry(Key key, V value, long generation, int slot) {
+            this.key = key;
+            this.value = value;
+            this.generation = generation;
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import java.util.List;
+
+/**
+ * <h2>ManifestRoute — 版本路由清单条目 / Version Route Manifest Entry</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 编译期生成的版本路由清单中的一个接口：所属版本、接口方法、路径、请求方法与优先级，
+ * 以及编译期优先级裁决的结果。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * One handler of the version route manifest generated at build time: its version, handler method, paths,
+ * HTTP methods and priority, plus the outcome of the build-time priority resolution.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * ManifestRoute route = new ManifestRoute("v2", "com.example.UserController", "get",
+ *         List.of("java.lang.String"), List.of("/user/{id}"), List.of("GET"), 5, true, null);
+ * route.getVersionedPath();  // "/v2/user/{id}"
+ * route.getMethodKey();      // "com.example.UserController#get(java.lang.String)"
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class ManifestRoute {
+
+    /** 版本名称 / Version name */
+    private final String version;
+
+    /** 声明接口方法的类（二进制名称） / Binary name of the declaring class */
+    private final String className;
+
+    /** 接口方法名称 / Handler method name */
+    private final String methodName;
+
+    /** 参数类型（规范名称，已擦除泛型） / Parameter types as erased canonical names */
+    private final List<String> parameterTypes;
+
+    /** 接口路径，不含版本前缀 / Handler paths without the version prefix */
+    private final List<String> paths;
+
+    /** 请求方法，为空表示全部 / HTTP methods, empty means all */
+    private final List<String> httpMethods;
+
+    /** {@code @InterfacePriority} 的值，未标注时为 {@code null} / Value of {@code @InterfacePriority}, {@code null} when absent */
+    private final Integer priority;
+
+    /** 是否在优先级裁决中胜出 / Whether the route won the priority resolution */
+    private final boolean active;
+
+    /** 覆盖该接口的接口方法，胜出时为 {@code null} / Handler that overrode this route, {@code null} when active */
+    private final String overriddenBy;
+
+    public ManifestRoute(String version, String className, String methodName, List<String> parameterTypes,
+                         List<String> paths, List<String> httpMethods, Integer priority, boolean active,
+                         String overriddenBy) {
+        this.version = version;
+        this.className = className;
+        this.methodName = methodName;
+        this.parameterTypes = parameterTypes;
+        this.paths = paths;
+        this.httpMethods = httpMethods;
+        this.priority = priority;
+        this.active = active;
+        this.overriddenBy = overriddenBy;
+    }
+
+    /**
+     * <p><b>中文说明：</b>带版本前缀的路径，与运行时按第一个路径生成的注册名一致。</p>
+     * <p><b>English Description:</b> The versioned path, built from the first path as the runtime does.</p>
+     */
+    public String getVersionedPath() {
+        return "/" + version + (paths.isEmpty() ? "" : paths.get(0));
+    }
+
+    /**
+     * <p><b>中文说明：</b>接口方法的唯一标识：类名、方法名与参数类型。</p>
+     * <p><b>English Description:</b> Unique key of the handler method: class, name and parameter types.</p>
+     */
+    public String getMethodKey() {
+        return methodKey(className, methodName, parameterTypes);
+    }
+
+    /**
+     * <p><b>中文说明：</b>按类名、方法名与参数类型生成接口方法标识。</p>
+     * <p><b>English Description:</b> Builds a handler method key from class, name and parameter types.</p>
+     */
+    public static String methodKey(String className, String methodName, List<String> parameterTypes) {
+        return className + "#" + methodName + "(" + String.join(",", parameterTypes) + ")";
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public List<String> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public List<String> getHttpMethods() {
+        return httpMethods;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getOverriddenBy() {
+        return overriddenBy;
+    }
+
+    @Override
+    public String toString() {
+        return "ManifestRoute{" +
+                "version='" + version + '\'' +
+                ", method='" + getMethodKey() + '\'' +
+                ", paths=" + paths +
+                ", httpMethods=" + httpMethods +
+                ", priority=" + priority +
+                ", active=" + active +
+                (overriddenBy != null ? ", overriddenBy='" + overriddenBy + '\'' : "") +
+                '}';
+    }
+}
@@ -0,0 +1,258 @@
+package org.bailiun.multipleversionscoexist.en;
+
+/**
+ * <h2>PathBloomFilter — 路径快速排除过滤器 / Path Fast-Reject Bloom Filter</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 基于布隆过滤器记录所有已注册接口的完整路径与“字面量前缀”（第一个通配段之前的部分），
+ * 用于在进入版本匹配与 Ant/PathPattern 全量匹配之前，快速判断某个访问路径<b>一定不可能</b>匹配任何接口。</p>
+ * <ul>
+ *   <li>{@link #mightMatch(String)} 返回 {@code false} 时，该路径一定没有对应接口</li>
+ *   <li>返回 {@code true} 时仅表示“可能匹配”，仍需走完整的匹配流程</li>
+ *   <li>检查过程只遍历一次路径字符，不产生任何对象分配</li>
+ * </ul>
+ *
+ * <p><b>English Description:</b><br>
+ * A Bloom filter over every registered pattern, recording both the full pattern and its literal prefix
+ * (the segments before the first wildcard segment). It tells, before the version loop and the full
+ * Ant/PathPattern scan, that a lookup path <b>cannot</b> match any handler.</p>
+ * <ul>
+ *   <li>{@link #mightMatch(String)} returning {@code false} guarantees that no handler matches</li>
+ *   <li>{@code true} only means "may match"; the regular matching still has to run</li>
+ *   <li>A check reads the path once and allocates nothing</li>
+ * </ul>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * PathBloomFilter filter = new PathBloomFilter(3, 0.01);
+ * filter.addPattern("/api/user");
+ * filter.addPattern("/api/order/{id}");
+ * filter.addPattern("/static/**");
+ *
+ * filter.mightMatch("/api/order/42");  // true
+ * filter.mightMatch("/wp-login.php");  // false
+ * }</pre>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>若某个模式的第一段即为通配段（如 {@code /{version}/x}、{@code /**}），过滤器将放行所有路径 /
+ *       A pattern whose first segment is a wildcard makes the filter accept every path</li>
+ *   <li>包含 {@code %} 或 {@code ;} 的路径总是放行，由完整匹配流程处理编码与矩阵变量 /
+ *       Paths containing {@code %} or {@code ;} are always accepted so decoding and matrix variables are left to full matching</li>
+ *   <li>构建完成后只读，可被多个请求线程并发使用 / Read-only after building, safe for concurrent lookups</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class PathBloomFilter {
+
+    /** 完整路径条目的哈希标记 / Hash tag of full-path entries */
+    private static final long EXACT = 0x9E3779B97F4A7C15L;
+
+    /** 字面量前缀条目的哈希标记 / Hash tag of literal-prefix entries */
+    private static final long PREFIX = 0xC2B2AE3D27D4EB4FL;
+
+    /** FNV-1a 64 位初始值 / FNV-1a 64-bit offset basis */
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+
+    /** FNV-1a 64 位乘数 / FNV-1a 64-bit prime */
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    /** 位数组 / Bit array */
+    private final long[] bits;
+
+    /** 位数组下标掩码（位数为 2 的幂） / Index mask, the bit count is a power of two */
+    private final long mask;
+
+    /** 每个条目使用的哈希函数个数 / Number of hash functions per entry */
+    private final int hashes;
+
+    /** 是否放行所有路径 / Whether every path is accepted */
+    private boolean acceptAll;
+
+    /** 已加入的条目数 / Number of inserted entries */
+    private int entries;
+
+    private PathBloomFilter(PathBloomFilter source) {
+        this.bits = source.bits.clone();
+        this.mask = source.mask;
+        this.hashes = source.hashes;
+        this.acceptAll = source.acceptAll;
+        this.entries = source.entries;
+    }
+
+    /**
+     * @param expectedEntries 预计条目数（每个模式最多产生两个条目） / Expected number of entries (at most two per pattern)
+     * @param falsePositiveRate 期望误判率，例如 {@code 0.01} / Desired false-positive rate, e.g. {@code 0.01}
+     */
+    public PathBloomFilter(int expectedEntries, double falsePositiveRate) {
+        int n = Math.max(expectedEntries, 16);
+        double m = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        long size = Long.highestOneBit((long) Math.ceil(m));
+        if (size < m) {
+            size <<= 1;
+        }
+        size = Math.max(size, 64);
+        this.bits = new long[(int) (size >>> 6)];
+        this.mask = size - 1;
+        this.hashes = (int) Math.max(1, Math.min(8, Math.round(size / (double) n * Math.log(2))));
+    }
+
+    /**
+     * <p><b>中文说明：</b>加入一个接口模式：记录其完整字符串，若包含通配段则额外记录其字面量前缀。</p>
+     * <p><b>English Description:</b> Adds a handler pattern: its full string, plus its literal prefix when it
+     * contains a wildcard segment.</p>
+     *
+     * @param pattern Ant 或 PathPattern 风格的模式 / Ant-style or PathPattern-style pattern
+     */
+    public void addPattern(String pattern) {
+        addExact(pattern);
+        int segmentStart = 0;
+        for (int i = 0; i <= pattern.length(); i++) {
+            if (i == pattern.length() || pattern.charAt(i) == '/') {
+                if (isWildcard(pattern, segmentStart, i)) {
+                    // 字面量前缀为 pattern[0, segmentStart - 1)，即去掉通配段前的分隔符
+                    int prefixEnd = Math.max(segmentStart - 1, 0);
+                    if (prefixEnd == 0) {
+                        acceptAll = true;
+                    } else {
+                        set(hash(pattern, prefixEnd) ^ PREFIX);
+                        entries++;
+                    }
+                    return;
+                }
+                segmentStart = i + 1;
+            }
+        }
+    }
+
+    /**
+     * <p><b>中文说明：</b>加入一个只按字面量完全匹配的路径。</p>
+     * <p><b>English Description:</b> Adds a path that only matches literally.</p>
+     *
+     * @param path 路径 / The path
+     */
+    public void addExact(String path) {
+        set(hash(path, path.length()) ^ EXACT);
+        entries++;
+    }
+
+    /**
+     * <p><b>中文说明：</b>判断访问路径是否可能匹配已注册的接口。</p>
+     * <p><b>English Description:</b> Tells whether the lookup path may match a registered handler.</p>
+     *
+     * @param path 访问路径 / The lookup path
+     * @return {@code false} 表示一定不匹配 / {@code false} means no handler can match
+     */
+    public boolean mightMatch(String path) {
+        if (acceptAll) {
+            return true;
+        }
+        long h = FNV_OFFSET;
+        int length = path.length();
+        for (int i = 0; i < length; i++) {
+            char c = path.charAt(i);
+            if (c == '%' || c == ';') {
+                return true;
+            }
+            if (c == '/' && i > 0) {
+                // 前缀 path[0, i) 可能是某个通配模式的字面量前缀
+                if (contains(h ^ PREFIX)) {
+                    return true;
+                }
+                // 允许末尾多一个分隔符
+                if (i == length - 1 && contains(h ^ EXACT)) {
+                    return true;
+                }
+            }
+            h = (h ^ c) * FNV_PRIME;
+        }
+        return contains(h ^ EXACT) || contains(h ^ PREFIX);
+    }
+
+    /**
+     * <p><b>中文说明：</b>复制当前过滤器，用于在不影响正在使用的过滤器的前提下追加条目。</p>
+     * <p><b>English Description:</b> Copies this filter so entries can be added without touching the one in use.</p>
+     *
+     * @return 过滤器副本 / A copy of this filter
+     */
+    public PathBloomFilter copy() {
+        return new PathBloomFilter(this);
+    }
+
+    /**
+     * @return 已加入的条目数 / Number of inserted entries
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * @return 是否放行所有路径 / Whether every path is accepted
+     */
+    public boolean isAcceptAll() {
+        return acceptAll;
+    }
+
+    /**
+     * 判断 {@code s[start, end)} 是否为通配段 / Whether {@code s[start, end)} is a wildcard segment
+     */
+    private static boolean isWildcard(String s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '*' || c == '?' || c == '{') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 计算 {@code s[0, end)} 的 FNV-1a 哈希，与 {@link #mightMatch(String)} 的逐字符计算一致 /
+     * FNV-1a hash of {@code s[0, end)}, identical to the incremental hash in {@link #mightMatch(String)}
+     */
+    private static long hash(String s, int end) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < end; i++) {
+            h = (h ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * MurmurHash3 的 64 位混合函数 / 64-bit finalizer of MurmurHash3
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void set(long key) {
+        long h = mix(key);
+        long h1 = h;
+        long h2 = (h >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long index = (h1 + i * h2) & mask;
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    private boolean contains(long key) {
+        long h = mix(key);
+        long h1 = h;
+        long h2 = (h >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long index = (h1 + i * h2) & mask;
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,186 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <h2>RouteTrie — 按路径分段的路由前缀树 / Segment-Based Route Trie</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 以 {@code "/"} 为分隔符将路径切分为若干段，每一段对应前缀树中的一个节点，
+ * 路径终点节点上保存该路径对应的全部值（按插入顺序）。<br>
+ * 查找时只需沿路径逐段下降，耗时只与路径深度有关，而与已注册的路由数量无关。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Splits paths on {@code "/"} and stores one node per segment. The node reached at the end
+ * of a path keeps every value inserted for that path, in insertion order.<br>
+ * A lookup walks one node per segment, so its cost depends on the path depth rather than
+ * on the number of registered routes.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * RouteTrie<String> trie = new RouteTrie<>();
+ * trie.put("/api/user", "v1");
+ * trie.put("/api/user", "v2");
+ *
+ * System.out.println(trie.get("/api/user"));
+ * // 输出: [v1, v2]
+ * }</pre>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>仅做字面量匹配，{@code {id}}、{@code *} 等通配符按普通字符处理 / Literal matching only, wildcards are treated as plain text</li>
+ *   <li>{@code "/a/b"} 与 {@code "/a/b/"} 是两条不同的路径 / {@code "/a/b"} and {@code "/a/b/"} are different paths</li>
+ *   <li>非线程安全，构建完成后只读使用；增量修改请使用 {@link #withValues(Map)}，它返回新树且不修改原树 /
+ *       Not thread-safe while building, read-only afterwards; use {@link #withValues(Map)} for incremental
+ *       changes, which returns a new trie and leaves this one untouched</li>
+ * </ul>
+ *
+ * @param <T> 路径终点保存的值类型 / The type of value stored at the end of a path
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class RouteTrie<T> {
+
+    /** 根节点，对应空路径 / Root node, representing the empty path */
+    private final Node<T> root;
+
+    /** 已插入的值总数 / Total number of inserted values */
+    private int size;
+
+    public RouteTrie() {
+        this.root = new Node<>();
+    }
+
+    private RouteTrie(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * <p><b>中文说明：</b>在指定路径的终点节点上追加一个值。</p>
+     * <p><b>English Description:</b> Appends a value to the node at the end of the given path.</p>
+     *
+     * @param path  路径 / The path
+     * @param value 要追加的值 / The value to append
+     */
+    public void put(String path, T value) {
+        Node<T> node = root;
+        int start = 0;
+        while (true) {
+            int end = path.indexOf('/', start);
+            String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+            node = node.children.computeIfAbsent(segment, k -> new Node<>());
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+        size++;
+    }
+
+    /**
+     * <p><b>中文说明：</b>获取指定路径上保存的全部值，不存在时返回空列表。</p>
+     * <p><b>English Description:</b> Returns every value stored for the given path, or an empty list.</p>
+     *
+     * @param path 路径 / The path
+     * @return 按插入顺序排列的值列表 / Values in insertion order
+     */
+    public List<T> get(String path) {
+        Node<T> node = root;
+        int start = 0;
+        while (node != null) {
+            int end = path.indexOf('/', start);
+            String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+            node = node.children.get(segment);
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        if (node == null || node.values == null) {
+            return Collections.emptyList();
+        }
+        return node.values;
+    }
+
+    /**
+     * <p><b>中文说明：</b>以路径复制的方式生成新树：只复制被修改路径上的节点，其余节点与原树共享，原树保持不变。
+     * 耗时只与被修改的路径数量及深度有关。</p>
+     * <p><b>English Description:</b> Returns a new trie by path copying: only the nodes on the changed paths are
+     * copied, every other node is shared, and this trie is left untouched. The cost depends on the number and
+     * depth of the changed paths only.</p>
+     *
+     * @param values <路径,新的值列表>，空列表表示清空该路径 / Path to its new values; an empty list clears the path
+     * @return 新的前缀树 / The new trie
+     */
+    public RouteTrie<T> withValues(Map<String, List<T>> values) {
+        Set<Node<T>> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+        Node<T> newRoot = root.copy();
+        copied.add(newRoot);
+        int newSize = size;
+        for (Map.Entry<String, List<T>> entry : values.entrySet()) {
+            String path = entry.getKey();
+            Node<T> node = newRoot;
+            int start = 0;
+            while (true) {
+                int end = path.indexOf('/', start);
+                String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+                Node<T> child = node.children.get(segment);
+                if (child == null) {
+                    child = new Node<>();
+                    copied.add(child);
+                    node.children.put(segment, child);
+                } else if (!copied.contains(child)) {
+                    child = child.copy();
+                    copied.add(child);
+                    node.children.put(segment, child);
+                }
+                node = child;
+                if (end < 0) {
+                    break;
+                }
+                start = end + 1;
+            }
+            newSize -= node.values == null ? 0 : node.values.size();
+            node.values = entry.getValue().isEmpty() ? null : new ArrayList<>(entry.getValue());
+            newSize += entry.getValue().size();
+        }
+        return new RouteTrie<>(newRoot, newSize);
+    }
+
+    /**
+     * @return 已插入的值总数 / Total number of inserted values
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 前缀树节点 / Trie node
+     */
+    private static final class Node<T> {
+        /** 子节点，键为路径段 / Children keyed by path segment */
+        private final Map<String, Node<T>> children = new HashMap<>(4);
+        /** 以该节点结尾的路径所对应的值 / Values of the path ending at this node */
+        private List<T> values;
+
+        /** 浅复制：复制子节点表，共享子节点与值列表 / Shallow copy: copies the child table, shares children and values */
+        private Node<T> copy() {
+            Node<T> node = new Node<>();
+            node.children.putAll(children);
+            node.values = values;
+            return node;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package org.bailiun.multipleversionscoexist.en;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -47,8 +49,12 @@ public class VersionMeta {
     /** 自定义信息，可存储扩展字段 / Custom metadata map for extended attributes */
     private Map<String, Object> extra;
 
+    /** 回退版本，本版本未提供的接口依次由这些版本提供 / Fallback versions serving the endpoints this version does not provide, in order */
+    private List<String> fallback;
+
     public VersionMeta() {
         this.extra = new HashMap<>();
+        this.fallback = new ArrayList<>();
     }
 
     /**
@@ -89,6 +95,9 @@ public class VersionMeta {
                 ", desc='" + desc + '\'' +
                 ", enabled=" + enabled +
                 ", created='" + created);
+        if (fallback != null && !fallback.isEmpty()) {
+            a.append(", fallback=").append(fallback);
+        }
         if (extra != null) {
             for (String key : extra.keySet()) {
                 a.append(", ").append(key).append("='").append(extra.get(key)).append('\'');
@@ -144,4 +153,12 @@ public class VersionMeta {
     public void setExtra(Map<String, Object> extra) {
         this.extra = extra;
     }
+
+    public List<String> getFallback() {
+        return fallback;
+    }
+
+    public void setFallback(List<String> fallback) {
+        this.fallback = fallback;
+    }
 }
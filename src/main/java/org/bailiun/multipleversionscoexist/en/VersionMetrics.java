@@ -0,0 +1,283 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * <h2>VersionMetrics — 按版本与接口统计的请求指标 / Per-Version Request Metrics</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 按（版本，接口）记录请求数、错误数、总耗时以及按 2 的幂分桶的耗时直方图。
+ * 所有计数器都是分段的 {@link LongAdder}，请求线程之间不竞争同一缓存行；
+ * 记录一次请求只需一次哈希查找与若干次累加。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Records, per (version, endpoint), the request count, error count, total latency and a latency histogram with
+ * power-of-two buckets. Every counter is a striped {@link LongAdder}, so request threads do not contend on a
+ * cache line; recording a request costs one hash lookup and a few additions.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * VersionMetrics metrics = new VersionMetrics();
+ * metrics.endpoint("v1", "UserController#get(String)").record(1_200_000L, false);
+ * for (VersionMetrics.EndpointSnapshot s : metrics.snapshot()) {
+ *     System.out.println(s.getVersion() + " " + s.getEndpoint() + " " + s.getCount() + " p99<=" + s.percentileNanos(0.99));
+ * }
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class VersionMetrics {
+
+    /** 未标注版本的接口使用的版本名称 / Version name of endpoints without a version */
+    public static final String UNVERSIONED = "unversioned";
+
+    /** 直方图桶数，第 i 个桶统计耗时小于 2^i 纳秒的请求 / Histogram buckets; bucket i counts latencies below 2^i ns */
+    public static final int BUCKETS = 64;
+
+    /** 接口统计 / Endpoint statistics */
+    private final ConcurrentHashMap<Key, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    /** 新接口监听器 / Listeners notified of new endpoints */
+    private final List<Consumer<EndpointStats>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * <p><b>中文说明：</b>获取（必要时创建）某版本某接口的统计。</p>
+     * <p><b>English Description:</b> Returns, creating it if needed, the statistics of an endpoint of a version.</p>
+     *
+     * @param version  版本名称 / Version name
+     * @param endpoint 接口名称 / Endpoint name
+     * @return 接口统计 / Endpoint statistics
+     */
+    public EndpointStats endpoint(String version, String endpoint) {
+        Key key = new Key(version, endpoint);
+        EndpointStats stats = endpoints.get(key);
+        if (stats != null) {
+            return stats;
+        }
+        EndpointStats created = new EndpointStats(version, endpoint);
+        stats = endpoints.putIfAbsent(key, created);
+        if (stats == null) {
+            listeners.forEach(listener -> listener.accept(created));
+            return created;
+        }
+        return stats;
+    }
+
+    /**
+     * <p><b>中文说明：</b>注册新接口监听器，已存在的接口会立即回调一次。</p>
+     * <p><b>English Description:</b> Registers a listener for new endpoints; existing endpoints are replayed at once.</p>
+     */
+    public void onNewEndpoint(Consumer<EndpointStats> listener) {
+        listeners.add(listener);
+        endpoints.values().forEach(listener);
+    }
+
+    /**
+     * <p><b>中文说明：</b>获取全部接口统计的快照，按版本与接口排序。</p>
+     * <p><b>English Description:</b> Returns a snapshot of every endpoint, sorted by version and endpoint.</p>
+     *
+     * @return 快照列表 / Snapshots
+     */
+    public List<EndpointSnapshot> snapshot() {
+        List<EndpointSnapshot> snapshots = new ArrayList<>();
+        for (EndpointStats stats : endpoints.values()) {
+            snapshots.add(stats.snapshot());
+        }
+        snapshots.sort((a, b) -> {
+            int c = a.version.compareTo(b.version);
+            return c != 0 ? c : a.endpoint.compareTo(b.endpoint);
+        });
+        return Collections.unmodifiableList(snapshots);
+    }
+
+    /**
+     * <p><b>中文说明：</b>清空全部统计。</p>
+     * <p><b>English Description:</b> Clears every statistic.</p>
+     */
+    public void reset() {
+        endpoints.values().forEach(EndpointStats::reset);
+    }
+
+    /**
+     * 单个接口的统计 / Statistics of one endpoint
+     */
+    public static final class EndpointStats {
+        private final String version;
+        private final String endpoint;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        private EndpointStats(String version, String endpoint) {
+            this.version = version;
+            this.endpoint = endpoint;
+            for (int i = 0; i < BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * <p><b>中文说明：</b>记录一次请求。</p>
+         * <p><b>English Description:</b> Records one request.</p>
+         *
+         * @param nanos 耗时（纳秒） / Latency in nanoseconds
+         * @param error 是否出错 / Whether it failed
+         */
+        public void record(long nanos, boolean error) {
+            long latency = Math.max(nanos, 0);
+            count.increment();
+            totalNanos.add(latency);
+            histogram[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(latency))].increment();
+            if (error) {
+                errors.increment();
+            }
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public EndpointSnapshot snapshot() {
+            long[] buckets = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+            return new EndpointSnapshot(version, endpoint, count.sum(), errors.sum(), totalNanos.sum(), buckets);
+        }
+
+        private void reset() {
+            count.reset();
+            errors.reset();
+            totalNanos.reset();
+            for (LongAdder bucket : histogram) {
+                bucket.reset();
+            }
+        }
+    }
+
+    /**
+     * 接口统计快照 / Endpoint statistics snapshot
+     */
+    public static final class EndpointSnapshot {
+        private final String version;
+        private final String endpoint;
+        private final long count;
+        private final long errors;
+        private final long totalNanos;
+        private final long[] buckets;
+
+        EndpointSnapshot(String version, String endpoint, long count, long errors, long totalNanos, long[] buckets) {
+            this.version = version;
+            this.endpoint = endpoint;
+            this.count = count;
+            this.errors = errors;
+            this.totalNanos = totalNanos;
+            this.buckets = buckets;
+        }
+
+        /**
+         * <p><b>中文说明：</b>估算分位耗时，返回所在桶的上界（纳秒），误差不超过 2 倍。</p>
+         * <p><b>English Description:</b> Estimates a latency percentile as the upper bound of its bucket in
+         * nanoseconds, within a factor of two.</p>
+         *
+         * @param quantile 分位，例如 {@code 0.99} / Quantile, e.g. {@code 0.99}
+         * @return 耗时上界（纳秒），没有请求时为 0 / Upper bound in nanoseconds, 0 without requests
+         */
+        public long percentileNanos(double quantile) {
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return i >= 63 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+    }
+
+    private static final class Key {
+        private final String version;
+        private final String endpoint;
+        private final int hash;
+
+        private Key(String version, String endpoint) {
+            this.version = version;
+            this.endpoint = endpoint;
+            this.hash = Objects.hash(version, endpoint);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return version.equals(other.version) && endpoint.equals(other.endpoint);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
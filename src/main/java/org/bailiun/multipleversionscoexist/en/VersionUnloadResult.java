@@ -0,0 +1,56 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <h2>VersionUnloadResult — 版本卸载结果 / Version Unload Result</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 记录一次运行时卸载版本释放的接口数量与被销毁的 Bean 名称。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * The number of handlers and the names of the beans released by unloading a version at runtime.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class VersionUnloadResult {
+
+    /** 版本名称 / Version name */
+    private final String version;
+
+    /** 注销的接口数量 / Number of unregistered handlers */
+    private final int handlers;
+
+    /** 销毁的 Bean 名称 / Names of the destroyed beans */
+    private final List<String> beans;
+
+    public VersionUnloadResult(String version, int handlers, List<String> beans) {
+        this.version = version;
+        this.handlers = handlers;
+        this.beans = Collections.unmodifiableList(beans);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int getHandlers() {
+        return handlers;
+    }
+
+    public List<String> getBeans() {
+        return beans;
+    }
+
+    @Override
+    public String toString() {
+        return "VersionUnloadResult{" +
+                "version='" + version + '\'' +
+                ", handlers=" + handlers +
+                ", beans=" + beans +
+                '}';
+    }
+}
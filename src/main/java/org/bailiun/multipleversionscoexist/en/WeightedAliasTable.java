@@ -0,0 +1,113 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * <h2>WeightedAliasTable — 加权随机别名表 / Weighted Alias Table</h2>
+ *
+ * <p><b>中文说明：</b><br>
+ * 使用 Vose 别名法预先计算概率表与别名表，之后每次按权重抽取只需一次随机下标与一次随机比较，
+ * 耗时与候选数量无关，不加锁也不产生对象分配。随机数来自当前线程的 {@link ThreadLocalRandom}。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Precomputes probability and alias tables with Vose's alias method, so every weighted draw costs one random
+ * index and one random comparison regardless of the number of candidates, without locks or allocation.
+ * Random numbers come from the calling thread's {@link ThreadLocalRandom}.</p>
+ *
+ * <p><b>使用示例 / Example:</b></p>
+ * <pre>{@code
+ * WeightedAliasTable table = new WeightedAliasTable(new String[]{"v2", "v1"}, new int[]{5, 95});
+ * String version = table.next();   // 约 5% 为 v2 / about 5% "v2"
+ * }</pre>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class WeightedAliasTable {
+
+    /** 候选值 / Candidates */
+    private final String[] values;
+
+    /** 每个槽位保留自身的概率 / Probability of keeping the slot's own value */
+    private final double[] probability;
+
+    /** 每个槽位的别名下标 / Alias index of each slot */
+    private final int[] alias;
+
+    /** 原始权重 / Original weights */
+    private final int[] weights;
+
+    /**
+     * @param values  候选值 / Candidates
+     * @param weights 对应权重，非负且总和大于 0 / Matching weights, non-negative with a positive sum
+     */
+    public WeightedAliasTable(String[] values, int[] weights) {
+        if (values.length == 0 || values.length != weights.length) {
+            throw new IllegalArgumentException("候选值与权重数量不一致或为空");
+        }
+        long total = 0;
+        for (int weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("权重不能为负数: " + weight);
+            }
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("权重总和必须大于0");
+        }
+        int n = values.length;
+        this.values = values.clone();
+        this.weights = weights.clone();
+        this.probability = new double[n];
+        this.alias = new int[n];
+        double[] scaled = new double[n];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * (double) n / total;
+            (scaled[i] < 1.0 ? small : large).push(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int s = small.pop();
+            int l = large.pop();
+            probability[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = scaled[l] + scaled[s] - 1.0;
+            (scaled[l] < 1.0 ? small : large).push(l);
+        }
+        // 剩余槽位由于浮点误差接近 1,直接保留自身
+        while (!large.isEmpty()) {
+            int l = large.pop();
+            probability[l] = 1.0;
+            alias[l] = l;
+        }
+        while (!small.isEmpty()) {
+            int s = small.pop();
+            probability[s] = 1.0;
+            alias[s] = s;
+        }
+    }
+
+    /**
+     * <p><b>中文说明：</b>按权重随机抽取一个候选值。</p>
+     * <p><b>English Description:</b> Draws a candidate according to the weights.</p>
+     *
+     * @return 候选值 / The drawn candidate
+     */
+    public String next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int slot = random.nextInt(values.length);
+        return random.nextDouble() < probability[slot] ? values[slot] : values[alias[slot]];
+    }
+
+    public String[] getValues() {
+        return values.clone();
+    }
+
+    public int[] getWeights() {
+        return weights.clone();
+    }
+}
@@ -0,0 +1,540 @@
+package org.bailiun.multipleversionscoexist.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * VersionRouteProcessor — 版本路由清单注解处理器 / Version Route Manifest Annotation Processor
+ *
+ * <p><b>中文说明：</b><br>
+ * 在编译期收集全部 {@code @CoexistenceVersion} 接口（排除 {@code @NotIncCoexistenceVersion}），
+ * 按与运行时相同的规则裁决 {@code @InterfacePriority}，生成
+ * {@code org.bailiun.multipleversionscoexist.generated.GeneratedVersionRouteManifest}。
+ * 优先级相同的重复接口、以及胜出后路径与请求方法仍然重复的接口会直接导致编译失败。
+ * {@code DualRequestMappingHandlerMapping} 启动时若找到该类，则直接使用清单中的裁决结果。<br>
+ * 同时生成 GraalVM 原生镜像所需的 {@code reflect-config.json}，登记版本接口方法、
+ * {@code SynOpeImplementation} 子类的钩子方法与生成的清单类，原生镜像中无需运行时扫描即可反射调用。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Collects every {@code @CoexistenceVersion} handler at build time (skipping {@code @NotIncCoexistenceVersion}),
+ * resolves {@code @InterfacePriority} with the same rules as the runtime and generates
+ * {@code org.bailiun.multipleversionscoexist.generated.GeneratedVersionRouteManifest}. Same-priority duplicates, and
+ * winners that still share a path and HTTP method, fail the build. When {@code DualRequestMappingHandlerMapping}
+ * finds the class at startup it uses the manifest's resolution directly.<br>
+ * It also writes the {@code reflect-config.json} a GraalVM native image needs, registering the versioned handler
+ * methods, the hook methods of {@code SynOpeImplementation} subclasses and the generated manifest, so they can be
+ * invoked reflectively in a native image without runtime scanning.</p>
+ *
+ * <p><b>使用方式 / Usage:</b></p>
+ * <p>处理器未通过 {@code META-INF/services} 自动注册，需在编译参数中显式指定，避免影响未使用该功能的项目 /
+ * The processor is not registered through {@code META-INF/services}; enable it explicitly so projects that do not
+ * use it are unaffected:</p>
+ * <pre>{@code
+ * // Maven (maven-compiler-plugin)
+ * <annotationProcessors>
+ *     <annotationProcessor>org.bailiun.multipleversionscoexist.processor.VersionRouteProcessor</annotationProcessor>
+ * </annotationProcessors>
+ * <compilerArgs><arg>-Amulti.version.sortingMethod=MAX</arg></compilerArgs>
+ *
+ * // Gradle
+ * compileJava.options.compilerArgs += ['-processor', 'org.bailiun.multipleversionscoexist.processor.VersionRouteProcessor']
+ * }</pre>
+ *
+ * <p><b>注意事项 / Notes:</b></p>
+ * <ul>
+ *   <li>{@code -Amulti.version.sortingMethod} 需与运行时的 {@code multi.version.sorting-method} 一致，否则启动时忽略清单 /
+ *       {@code -Amulti.version.sortingMethod} must match the runtime setting, otherwise the manifest is ignored at startup</li>
+ *   <li>每个应用只应生成一份清单；接口分布在多个模块时，只在包含全部控制器的模块中启用 /
+ *       Generate one manifest per application; with controllers spread over modules, enable it in the module that has them all</li>
+ *   <li>只识别 {@code @RequestMapping} 及其 GET/POST/PUT/DELETE/PATCH 组合注解 /
+ *       Only {@code @RequestMapping} and its GET/POST/PUT/DELETE/PATCH composed annotations are recognized</li>
+ * </ul>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(VersionRouteProcessor.SORTING_METHOD_OPTION)
+public class VersionRouteProcessor extends AbstractProcessor {
+
+    static final String COEXISTENCE_VERSION = "org.bailiun.multipleversionscoexist.Aspect.CoexistenceVersion";
+    static final String NOT_INC_COEXISTENCE_VERSION = "org.bailiun.multipleversionscoexist.Aspect.NotIncCoexistenceVersion";
+    static final String INTERFACE_PRIORITY = "org.bailiun.multipleversionscoexist.Aspect.InterfacePriority";
+    static final String SORTING_METHOD_OPTION = "multi.version.sortingMethod";
+    static final String SYN_OPE_IMPLEMENTATION = "org.bailiun.multipleversionscoexist.config.SynOpeImplementation";
+
+    private static final String REQUEST_MAPPING = "org.springframework.web.bind.annotation.RequestMapping";
+
+    /** 组合注解与其请求方法 / Composed mapping annotations and their HTTP method */
+    private static final Map<String, String> COMPOSED_MAPPINGS = Map.of(
+            "org.springframework.web.bind.annotation.GetMapping", "GET",
+            "org.springframework.web.bind.annotation.PostMapping", "POST",
+            "org.springframework.web.bind.annotation.PutMapping", "PUT",
+            "org.springframework.web.bind.annotation.DeleteMapping", "DELETE",
+            "org.springframework.web.bind.annotation.PatchMapping", "PATCH");
+
+    private static final String PACKAGE = "org.bailiun.multipleversionscoexist.generated";
+    private static final String SIMPLE_NAME = "GeneratedVersionRouteManifest";
+
+    /** 生成代码中每个方法最多包含的条目数，避免超出方法字节码上限 / Routes per generated method, keeping methods under the bytecode limit */
+    private static final int ROUTES_PER_METHOD = 200;
+
+    /** 生成的原生镜像反射配置 / Generated native-image reflection configuration */
+    private static final String REFLECT_CONFIG = "META-INF/native-image/" + PACKAGE + "/reflect-config.json";
+
+    private boolean generated;
+
+    /** 需要在原生镜像中反射调用的方法<类的二进制名称,方法> / Methods invoked reflectively in a native image, keyed by binary class name */
+    private final Map<String, Set<ExecutableElement>> reflectiveMethods = new LinkedHashMap<>();
+
+    /** 需要反射实例化的类 / Classes instantiated reflectively */
+    private final Set<String> reflectiveTypes = new LinkedHashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeReflectConfig();
+            return false;
+        }
+        collectHookMethods(roundEnv);
+        List<Route> routes = collect(roundEnv);
+        if (routes.isEmpty()) {
+            return false;
+        }
+        if (generated) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "版本路由清单已生成,后续轮次新增的版本接口未包含在清单中 / The route manifest was already generated; "
+                            + "versioned handlers from later rounds are not included");
+            return false;
+        }
+        String sortingMethod = processingEnv.getOptions().getOrDefault(SORTING_METHOD_OPTION, "MAX").trim().toUpperCase(Locale.ROOT);
+        if (!"MAX".equals(sortingMethod) && !"MIN".equals(sortingMethod)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    SORTING_METHOD_OPTION + " 只能为 MAX 或 MIN / must be MAX or MIN: " + sortingMethod);
+            return false;
+        }
+        if (resolve(routes, sortingMethod)) {
+            write(routes, sortingMethod);
+            reflectiveTypes.add(PACKAGE + "." + SIMPLE_NAME);
+        }
+        for (Route route : routes) {
+            reflectiveMethods.computeIfAbsent(route.className, k -> new LinkedHashSet<>()).add(route.element);
+        }
+        generated = true;
+        return false;
+    }
+
+    /**
+     * 收集 {@code SynOpeImplementation} 子类中供切面调用的三参数公共方法 /
+     * Collects the three-argument public methods of {@code SynOpeImplementation} subclasses that the aspect may invoke
+     */
+    private void collectHookMethods(RoundEnvironment roundEnv) {
+        TypeElement base = processingEnv.getElementUtils().getTypeElement(SYN_OPE_IMPLEMENTATION);
+        if (base == null) {
+            return;
+        }
+        TypeMirror baseType = processingEnv.getTypeUtils().erasure(base.asType());
+        List<TypeElement> types = new ArrayList<>(ElementFilter.typesIn(roundEnv.getRootElements()));
+        for (int i = 0; i < types.size(); i++) {
+            TypeElement type = types.get(i);
+            types.addAll(ElementFilter.typesIn(type.getEnclosedElements()));
+            if (type.equals(base) || !processingEnv.getTypeUtils().isSubtype(processingEnv.getTypeUtils().erasure(type.asType()), baseType)) {
+                continue;
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                if (method.getModifiers().contains(Modifier.PUBLIC) && method.getParameters().size() == 3) {
+                    reflectiveMethods.computeIfAbsent(processingEnv.getElementUtils().getBinaryName(type).toString(),
+                            k -> new LinkedHashSet<>()).add(method);
+                }
+            }
+        }
+    }
+
+    /**
+     * 生成原生镜像反射配置 / Writes the native-image reflection configuration
+     */
+    private void writeReflectConfig() {
+        if (reflectiveMethods.isEmpty() && reflectiveTypes.isEmpty()) {
+            return;
+        }
+        StringBuilder json = new StringBuilder("[");
+        for (String type : reflectiveTypes) {
+            json.append(json.length() > 1 ? "," : "").append("\n  {\n    \"name\": ").append(literal(type))
+                    .append(",\n    \"allDeclaredConstructors\": true\n  }");
+        }
+        for (Map.Entry<String, Set<ExecutableElement>> entry : reflectiveMethods.entrySet()) {
+            json.append(json.length() > 1 ? "," : "").append("\n  {\n    \"name\": ").append(literal(entry.getKey()))
+                    .append(",\n    \"queryAllPublicMethods\": true,\n    \"methods\": [");
+            boolean first = true;
+            for (ExecutableElement method : entry.getValue()) {
+                List<String> parameterTypes = new ArrayList<>();
+                for (VariableElement parameter : method.getParameters()) {
+                    parameterTypes.add(literal(binaryName(parameter.asType())));
+                }
+                json.append(first ? "" : ",").append("\n      {\"name\": ").append(literal(method.getSimpleName().toString()))
+                        .append(", \"parameterTypes\": [").append(String.join(", ", parameterTypes)).append("]}");
+                first = false;
+            }
+            json.append("\n    ]\n  }");
+        }
+        json.append("\n]\n");
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", REFLECT_CONFIG);
+            try (Writer out = file.openWriter()) {
+                out.write(json.toString());
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "原生镜像反射配置生成失败 / Failed to write the reflection configuration: " + e);
+        }
+    }
+
+    /**
+     * 原生镜像配置使用的类型名称（二进制名称，数组以 {@code []} 结尾） /
+     * Type name as native-image configuration expects it: binary names, arrays ending in {@code []}
+     */
+    private String binaryName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind() == TypeKind.ARRAY) {
+            return binaryName(((ArrayType) erased).getComponentType()) + "[]";
+        }
+        if (erased.getKind() == TypeKind.DECLARED) {
+            return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+        }
+        return erased.toString();
+    }
+
+    /**
+     * 收集本轮全部版本接口，按源码顺序 / Collects every versioned handler of the round in source order
+     */
+    private List<Route> collect(RoundEnvironment roundEnv) {
+        TypeElement annotation = processingEnv.getElementUtils().getTypeElement(COEXISTENCE_VERSION);
+        if (annotation == null) {
+            return Collections.emptyList();
+        }
+        Set<ExecutableElement> methods = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+            if (element instanceof TypeElement type) {
+                methods.addAll(ElementFilter.methodsIn(type.getEnclosedElements()));
+            } else if (element instanceof ExecutableElement method) {
+                methods.add(method);
+            }
+        }
+        List<Route> routes = new ArrayList<>();
+        for (ExecutableElement method : methods) {
+            if (find(method, NOT_INC_COEXISTENCE_VERSION) != null) {
+                continue;
+            }
+            TypeElement type = (TypeElement) method.getEnclosingElement();
+            AnnotationMirror cv = find(method, COEXISTENCE_VERSION);
+            if (cv == null) {
+                cv = find(type, COEXISTENCE_VERSION);
+            }
+            Mapping methodMapping = mapping(method);
+            if (cv == null || methodMapping == null) {
+                continue;
+            }
+            Mapping typeMapping = mapping(type);
+            List<String> parameterTypes = new ArrayList<>();
+            for (VariableElement parameter : method.getParameters()) {
+                parameterTypes.add(processingEnv.getTypeUtils().erasure(parameter.asType()).toString());
+            }
+            AnnotationMirror ip = find(method, INTERFACE_PRIORITY);
+            Route route = new Route();
+            route.element = method;
+            route.version = (String) value(cv, "version");
+            route.className = processingEnv.getElementUtils().getBinaryName(type).toString();
+            route.methodName = method.getSimpleName().toString();
+            route.parameterTypes = parameterTypes;
+            route.paths = combine(typeMapping != null ? typeMapping.paths : Collections.emptyList(), methodMapping.paths);
+            route.httpMethods = methodMapping.httpMethods.isEmpty() && typeMapping != null
+                    ? typeMapping.httpMethods : methodMapping.httpMethods;
+            route.priority = ip != null ? (Integer) value(ip, "value") : null;
+            routes.add(route);
+        }
+        return routes;
+    }
+
+    /**
+     * 按运行时规则裁决优先级并检查重复，存在冲突时返回 {@code false} /
+     * Resolves priorities with the runtime rules and checks for duplicates; returns {@code false} on conflicts
+     */
+    private boolean resolve(List<Route> routes, String sortingMethod) {
+        Map<String, Integer> priorities = new HashMap<>();
+        Map<String, List<Route>> winners = new LinkedHashMap<>();
+        boolean ok = true;
+        for (Route route : routes) {
+            String versionedPath = route.versionedPath();
+            Integer existing = priorities.get(versionedPath);
+            List<Route> pathWinners = winners.computeIfAbsent(versionedPath, k -> new ArrayList<>(1));
+            if (route.priority != null && existing != null) {
+                boolean better = "MAX".equals(sortingMethod) ? route.priority > existing : route.priority < existing;
+                if (better) {
+                    if (!pathWinners.isEmpty()) {
+                        pathWinners.remove(0).overriddenBy = route.methodKey();
+                    }
+                } else if (route.priority.equals(existing)) {
+                    error(route, "接口" + versionedPath + "存在优先级相同(" + existing + ")的重复接口 / Duplicate handler with the same priority: "
+                            + describe(pathWinners));
+                    ok = false;
+                    continue;
+                } else {
+                    route.overriddenBy = pathWinners.isEmpty() ? "" : pathWinners.get(pathWinners.size() - 1).methodKey();
+                    continue;
+                }
+            }
+            priorities.put(versionedPath, route.priority != null ? route.priority : 0);
+            pathWinners.add(route);
+        }
+        for (List<Route> pathWinners : winners.values()) {
+            for (int i = 0; i < pathWinners.size(); i++) {
+                for (int j = 0; j < i; j++) {
+                    if (overlaps(pathWinners.get(i).httpMethods, pathWinners.get(j).httpMethods)) {
+                        error(pathWinners.get(i), "接口" + pathWinners.get(i).versionedPath() + "的路径与请求方法重复 / Duplicate path and HTTP method: "
+                                + pathWinners.get(j).methodKey());
+                        ok = false;
+                    }
+                }
+            }
+        }
+        return ok;
+    }
+
+    private void write(List<Route> routes, String sortingMethod) {
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(PACKAGE + "." + SIMPLE_NAME,
+                    routes.stream().map(r -> r.element).toArray(Element[]::new));
+            try (Writer out = file.openWriter()) {
+                out.write("package " + PACKAGE + ";\n\n");
+                out.write("import org.bailiun.multipleversionscoexist.Abstraction.VersionRouteManifest;\n");
+                out.write("import org.bailiun.multipleversionscoexist.en.ManifestRoute;\n\n");
+                out.write("import java.util.ArrayList;\n");
+                out.write("import java.util.Collections;\n");
+                out.write("import java.util.List;\n\n");
+                out.write("/**\n * 由 VersionRouteProcessor 生成,请勿修改 / Generated by VersionRouteProcessor, do not edit\n */\n");
+                out.write("@javax.annotation.processing.Generated(\"" + VersionRouteProcessor.class.getName() + "\")\n");
+                out.write("public final class " + SIMPLE_NAME + " implements VersionRouteManifest {\n\n");
+                out.write("    private static final List<ManifestRoute> ROUTES;\n\n");
+                out.write("    static {\n");
+                out.write("        List<ManifestRoute> routes = new ArrayList<>(" + routes.size() + ");\n");
+                int chunks = (routes.size() + ROUTES_PER_METHOD - 1) / ROUTES_PER_METHOD;
+                for (int i = 0; i < chunks; i++) {
+                    out.write("        add" + i + "(routes);\n");
+                }
+                out.write("        ROUTES = Collections.unmodifiableList(routes);\n");
+                out.write("    }\n");
+                for (int i = 0; i < chunks; i++) {
+                    out.write("\n    private static void add" + i + "(List<ManifestRoute> routes) {\n");
+                    for (Route route : routes.subList(i * ROUTES_PER_METHOD, Math.min(routes.size(), (i + 1) * ROUTES_PER_METHOD))) {
+                        out.write("        routes.add(new ManifestRoute(" + literal(route.version) + ", " + literal(route.className)
+                                + ", " + literal(route.methodName) + ", " + list(route.parameterTypes) + ", " + list(route.paths)
+                                + ", " + list(route.httpMethods) + ", " + (route.priority != null ? route.priority.toString() : "null")
+                                + ", " + (route.overriddenBy == null) + ", "
+                                + (route.overriddenBy != null ? literal(route.overriddenBy) : "null") + "));\n");
+                    }
+                    out.write("    }\n");
+                }
+                out.write("\n    @Override\n    public List<ManifestRoute> getRoutes() {\n        return ROUTES;\n    }\n");
+                out.write("\n    @Override\n    public String getSortingMethod() {\n        return " + literal(sortingMethod) + ";\n    }\n");
+                out.write("}\n");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "版本路由清单生成失败 / Failed to write the route manifest: " + e);
+        }
+    }
+
+    /**
+     * 读取 {@code @RequestMapping} 或组合注解的路径与请求方法 / Reads paths and HTTP methods of a mapping annotation
+     */
+    private Mapping mapping(Element element) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (!REQUEST_MAPPING.equals(name) && !COMPOSED_MAPPINGS.containsKey(name)) {
+                continue;
+            }
+            Mapping mapping = new Mapping();
+            mapping.paths.addAll(strings(value(mirror, "path")));
+            if (mapping.paths.isEmpty()) {
+                mapping.paths.addAll(strings(value(mirror, "value")));
+            }
+            if (REQUEST_MAPPING.equals(name)) {
+                mapping.httpMethods.addAll(strings(value(mirror, "method")));
+            } else {
+                mapping.httpMethods.add(COMPOSED_MAPPINGS.get(name));
+            }
+            return mapping;
+        }
+        return null;
+    }
+
+    /**
+     * 按 Spring 的规则拼接类与方法上的路径 / Combines type-level and method-level paths the way Spring does
+     */
+    private static List<String> combine(List<String> typePaths, List<String> methodPaths) {
+        List<String> prefixes = typePaths.isEmpty() ? List.of("") : typePaths;
+        List<String> suffixes = methodPaths.isEmpty() ? List.of("") : methodPaths;
+        List<String> paths = new ArrayList<>();
+        for (String prefix : prefixes) {
+            for (String suffix : suffixes) {
+                String path = normalize(prefix);
+                String tail = normalize(suffix);
+                if (path.endsWith("/") && tail.startsWith("/")) {
+                    path = path.substring(0, path.length() - 1);
+                }
+                path = path + tail;
+                paths.add(path.isEmpty() ? "" : path);
+            }
+        }
+        return paths;
+    }
+
+    private static String normalize(String path) {
+        if (path.isEmpty()) {
+            return path;
+        }
+        return path.startsWith("/") ? path : "/" + path;
+    }
+
+    private static boolean overlaps(List<String> a, List<String> b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return true;
+        }
+        for (String method : a) {
+            if (b.contains(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AnnotationMirror find(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private static List<String> strings(Object value) {
+        List<String> result = new ArrayList<>();
+        if (value instanceof List<?> values) {
+            for (Object item : values) {
+                Object v = ((AnnotationValue) item).getValue();
+                result.add(v instanceof VariableElement e ? e.getSimpleName().toString() : String.valueOf(v));
+            }
+        }
+        return result;
+    }
+
+    private void error(Route route, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, route.element);
+    }
+
+    private static String describe(List<Route> routes) {
+        List<String> keys = new ArrayList<>();
+        routes.forEach(r -> keys.add(r.methodKey()));
+        return String.join(", ", keys);
+    }
+
+    private static String list(List<String> values) {
+        if (values.isEmpty()) {
+            return "List.of()";
+        }
+        StringBuilder sb = new StringBuilder("List.of(");
+        for (int i = 0; i < values.size(); i++) {
+            sb.append(i == 0 ? "" : ", ").append(literal(values.get(i)));
+        }
+        return sb.append(')').toString();
+    }
+
+    private static String literal(String value) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * 映射注解中的路径与请求方法 / Paths and HTTP methods of a mapping annotation
+     */
+    private static final class Mapping {
+        final List<String> paths = new ArrayList<>();
+        final List<String> httpMethods = new ArrayList<>();
+    }
+
+    /**
+     * 编译期的版本接口 / A versioned handler at build time
+     */
+    private static final class Route {
+        ExecutableElement element;
+        String version;
+        String className;
+        String methodName;
+        List<String> parameterTypes;
+        List<String> paths;
+        List<String> httpMethods;
+        Integer priority;
+        String overriddenBy;
+
+        String versionedPath() {
+            return "/" + version + (paths.isEmpty() ? "" : paths.get(0));
+        }
+
+        String methodKey() {
+            return className + "#" + methodName + "(" + String.join(",", parameterTypes) + ")";
+        }
+    }
+}
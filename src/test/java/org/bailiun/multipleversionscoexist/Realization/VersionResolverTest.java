@@ -0,0 +1,86 @@
+package org.bailiun.multipleversionscoexist.Realization;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * VersionResolverTest — 版本解析器 / Version Resolvers
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class VersionResolverTest {
+
+    @Test
+    void headerResolverTrimsAndIgnoresBlankValues() {
+        HeaderVersionResolver resolver = new HeaderVersionResolver("X-API-Version");
+        assertEquals("v2", resolver.resolveVersion(request("X-API-Version", " v2 ")));
+        assertNull(resolver.resolveVersion(request("X-API-Version", "   ")));
+        assertNull(resolver.resolveVersion(request("X-API-Version", "")));
+        assertNull(resolver.resolveVersion(new MockHttpServletRequest("GET", "/api/user")));
+    }
+
+    @Test
+    void queryParameterResolverReadsOnlyTheQueryString() {
+        QueryParameterVersionResolver resolver = new QueryParameterVersionResolver("version");
+        assertEquals("v2", resolver.resolveVersion(query("a=1&version=v2&version=v3")));
+        assertEquals("v 2", resolver.resolveVersion(query("version=v+2")));
+        assertEquals("v2", resolver.resolveVersion(query("%76ersion=%20v2")));
+        assertNull(resolver.resolveVersion(query("version=&a=1")));
+        assertNull(resolver.resolveVersion(query("version")));
+        assertNull(resolver.resolveVersion(query("versions=v2&xversion=v3")));
+        assertNull(resolver.resolveVersion(query("version=%zz")));
+        assertNull(resolver.resolveVersion(query(null)));
+
+        // 表单 POST 的请求体不属于查询字符串,不能被读取
+        MockHttpServletRequest form = new MockHttpServletRequest("POST", "/api/user");
+        form.setContentType("application/x-www-form-urlencoded");
+        form.addParameter("version", "v2");
+        assertNull(resolver.resolveVersion(form));
+    }
+
+    @Test
+    void mediaTypeResolverReadsParameterOrVendorType() {
+        MediaTypeVersionResolver resolver = new MediaTypeVersionResolver("version");
+        assertEquals("v2", resolver.resolveVersion(request("Accept", "application/json;version=v2")));
+        assertEquals("v3", resolver.resolveVersion(request("Accept", "text/html, application/vnd.shop.v3+json")));
+        assertNull(resolver.resolveVersion(request("Accept", "application/vnd.shop+json")));
+        assertNull(resolver.resolveVersion(request("Accept", "application/json")));
+    }
+
+    @Test
+    void hostResolverOnlyAcceptsVersionLabels() {
+        HostVersionResolver resolver = new HostVersionResolver();
+        assertEquals("v2", resolver.resolveVersion(host("v2.api.example.com")));
+        assertEquals("V1_1", resolver.resolveVersion(host("V1_1.example.com")));
+        assertNull(resolver.resolveVersion(host("www.example.com")));
+        assertNull(resolver.resolveVersion(host("v2.com")));
+    }
+
+    @Test
+    void pathResolverNeverResolvesAVersion() {
+        assertNull(new PathVersionResolver().resolveVersion(new MockHttpServletRequest("GET", "/v2/api/user")));
+    }
+
+    private static MockHttpServletRequest request(String header, String value) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user");
+        request.addHeader(header, value);
+        return request;
+    }
+
+    private static MockHttpServletRequest query(String queryString) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user");
+        request.setQueryString(queryString);
+        return request;
+    }
+
+    private static MockHttpServletRequest host(String serverName) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user");
+        request.setServerName(serverName);
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionInfo;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * FallbackChainTest — 版本回退链 / Version Fallback Chains
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class FallbackChainTest {
+
+    private DualRequestMappingHandlerMapping mapping;
+
+    @BeforeEach
+    void setUp() {
+        MultiVersionProperties mp = new MultiVersionProperties();
+        mp.setResolvers(Collections.singletonList("header"));
+        MultiVersionInfo mi = new MultiVersionInfo();
+        mi.setFallbackOrder(Arrays.asList("v3", "v2", "v1"));
+        mapping = TestMappings.create(mp, mi, new MultiVersionFile(), "v1", "v2", "v3");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/item");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/order");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/item");
+        TestMappings.register(mapping, new TestMappings.V3Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V3Api(), "/api/report");
+        TestMappings.initialize(mapping);
+    }
+
+    @Test
+    void ownHandlersWinAndMissingPathsComeFromTheChain() throws Exception {
+        assertEquals(TestMappings.V3Api.class, lookup("/api/user", "v3").getBeanType());
+        assertEquals(TestMappings.V2Api.class, lookup("/api/item", "v3").getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/api/order", "v3").getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/api/order", "v2").getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user", "v1").getBeanType());
+    }
+
+    @Test
+    void chainsOnlyPointBackwards() throws Exception {
+        // v2 与 v1 的回退链不包含 v3,v3 独有的接口不能由它们的请求命中
+        assertNull(lookup("/api/report", "v2"));
+        assertNull(lookup("/api/report", "v1"));
+        assertNull(lookup("/api/missing", "v3"));
+        // 直接访问带前缀的版本路径仍被拒绝
+        assertNull(lookup("/v2/api/item", "v3"));
+    }
+
+    @Test
+    void deactivatingAVersionInTheChainRemergesTheTables() throws Exception {
+        mapping.deactivateVersion("v2");
+        assertEquals(TestMappings.V1Api.class, lookup("/api/item", "v3").getBeanType());
+        mapping.activateVersion("v2");
+        assertEquals(TestMappings.V2Api.class, lookup("/api/item", "v3").getBeanType());
+    }
+
+    private HandlerMethod lookup(String path, String version) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("X-API-Version", version);
+        try {
+            return mapping.lookupHandlerMethod(path, request);
+        } catch (NoHandlerFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * FileChangeDetectorTest — 配置文件变化检测 / Configuration File Change Detection
+ *
+ * <p><b>中文说明：</b>验证内容不变时不再解析、修改时间可信时不读取文件、同一时间单位内的再次写入（racy clean）仍被发现，
+ * 以及修改时间晚于本机时间时只多读取一次。是否读取了文件通过上次读取时间判断。</p>
+ *
+ * <p><b>English Description:</b> Verifies that unchanged content is not parsed again, that the file is not read while
+ * its modification time can be trusted, that a second write within the same tick (racy clean) is still found, and
+ * that a modification time ahead of the local clock costs only one extra read. Whether the file was read is told by
+ * the time of the last read.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class FileChangeDetectorTest {
+
+    @TempDir
+    Path directory;
+
+    private final FileChangeDetector detector = new FileChangeDetector();
+
+    @Test
+    void unchangedContentIsNotReportedAgain() throws Exception {
+        Path file = write("v1\nv2\n", System.currentTimeMillis() - 60_000);
+        FileChangeDetector.Change change = detector.detect(file);
+        assertNotNull(change);
+        assertEquals(Arrays.asList("v1", "v2"), change.getLines());
+        detector.applied(change);
+
+        // 只有修改时间变化、内容相同的保存不算变化
+        write("v1\nv2\n", System.currentTimeMillis() - 30_000);
+        assertNull(detector.detect(file));
+        assertEquals(change.getRevision().getId(), detector.getAppliedRevision().getId());
+
+        write("v1\nv3\n", System.currentTimeMillis() - 20_000);
+        assertNotNull(detector.detect(file));
+    }
+
+    @Test
+    void trustedAttributesSkipReadingTheFile() throws Exception {
+        Path file = write("v1\n", System.currentTimeMillis() - 60_000);
+        detector.applied(detector.detect(file));
+        long checkedAt = lastCheckedAt();
+        Thread.sleep(5);
+
+        assertNull(detector.detect(file));
+        assertEquals(checkedAt, lastCheckedAt());
+    }
+
+    @Test
+    void racyCleanWriteWithinTheSameTickIsDetected() throws Exception {
+        long modified = System.currentTimeMillis();
+        Path file = write("v1\n", modified);
+        detector.applied(detector.detect(file));
+
+        // 大小与修改时间都不变的再次写入,只能通过比较内容发现
+        write("v2\n", modified);
+        FileChangeDetector.Change change = detector.detect(file);
+        assertNotNull(change);
+        assertEquals(Arrays.asList("v2"), change.getLines());
+    }
+
+    @Test
+    void futureModificationTimeIsReadOnlyOnceMore() throws Exception {
+        long future = System.currentTimeMillis() + 3_600_000;
+        Path file = write("v1\n", future);
+        detector.applied(detector.detect(file));
+        long appliedAt = lastCheckedAt();
+        Thread.sleep(5);
+
+        assertNull(detector.detect(file));
+        long confirmedAt = lastCheckedAt();
+        assertNotEquals(appliedAt, confirmedAt);
+        Thread.sleep(5);
+        for (int i = 0; i < 3; i++) {
+            assertNull(detector.detect(file));
+            assertEquals(confirmedAt, lastCheckedAt());
+        }
+
+        write("v2\n", future + 1000);
+        assertNotNull(detector.detect(file));
+    }
+
+    private Path write(String content, long modified) throws Exception {
+        Path file = directory.resolve("VersionConfig.txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(modified));
+        return file;
+    }
+
+    private long lastCheckedAt() {
+        return (Long) ReflectionTestUtils.getField(detector, "lastCheckedAt");
+    }
+}
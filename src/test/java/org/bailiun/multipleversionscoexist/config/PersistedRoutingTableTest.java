@@ -0,0 +1,113 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionInfo;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.bailiun.multipleversionscoexist.en.ManifestRoute;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * PersistedRoutingTableTest — 持久化路由表 / Persisted Routing Table
+ *
+ * <p><b>中文说明：</b><br>
+ * 验证写入后读回的路由表与原表一致，以及键不一致、文件被截断或不存在时读取返回 {@code null}。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Verifies that a table read back after writing equals the original, and that reading returns {@code null} for
+ * another key, a truncated file or a missing file.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class PersistedRoutingTableTest {
+
+    private static final byte[] KEY = key(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripPreservesEveryRoute() {
+        PersistedRoutingTable table = table();
+        Path file = directory.resolve("routing.bin");
+        table.write(file, KEY);
+
+        PersistedRoutingTable read = PersistedRoutingTable.read(file, KEY);
+        assertNotNull(read);
+        assertEquals("MAX", read.getSortingMethod());
+        assertEquals(table.getUnactivatedVersions(), read.getUnactivatedVersions());
+        assertEquals(table.getRoutes().size(), read.getRoutes().size());
+        for (int i = 0; i < table.getRoutes().size(); i++) {
+            ManifestRoute expected = table.getRoutes().get(i);
+            ManifestRoute actual = read.getRoutes().get(i);
+            assertEquals(expected.getVersion(), actual.getVersion());
+            assertEquals(expected.getMethodKey(), actual.getMethodKey());
+            assertEquals(expected.getVersionedPath(), actual.getVersionedPath());
+            assertEquals(expected.getPriority(), actual.getPriority());
+            assertEquals(expected.isActive(), actual.isActive());
+        }
+        assertFalse(Files.exists(directory.resolve("routing.bin.tmp")));
+    }
+
+    @Test
+    void fileWrittenUnderAnotherKeyIsRejected() {
+        Path file = directory.resolve("routing.bin");
+        table().write(file, KEY);
+        assertNull(PersistedRoutingTable.read(file, key(2)));
+        assertNull(PersistedRoutingTable.read(directory.resolve("missing.bin"), KEY));
+    }
+
+    @Test
+    void truncatedFileIsRejectedAtEveryLength() throws Exception {
+        Path file = directory.resolve("routing.bin");
+        table().write(file, KEY);
+        byte[] bytes = Files.readAllBytes(file);
+        Path truncated = directory.resolve("truncated.bin");
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertNull(PersistedRoutingTable.read(truncated, KEY), "length " + length);
+        }
+    }
+
+    @Test
+    void keyChangesWithTheVersionConfiguration() {
+        MultiVersionProperties mp = new MultiVersionProperties();
+        MultiVersionInfo mi = new MultiVersionInfo();
+        byte[] key = PersistedRoutingTable.computeKey(mp, mi);
+        assertArrayEquals(key, PersistedRoutingTable.computeKey(mp, mi));
+        mp.setSortingMethod("MIN");
+        assertFalse(Arrays.equals(key, PersistedRoutingTable.computeKey(mp, mi)));
+    }
+
+    private static PersistedRoutingTable table() {
+        List<ManifestRoute> routes = Arrays.asList(
+                new ManifestRoute("v1", "com.example.UserController", "user", Collections.emptyList(),
+                        Collections.singletonList("/api/user"), Collections.emptyList(), null, true, null),
+                new ManifestRoute("v2", "com.example.UserController", "user",
+                        Arrays.asList("java.lang.String", "int"), Collections.singletonList("/api/用户"),
+                        Collections.emptyList(), 3, true, null),
+                new ManifestRoute("v2", "com.example.LegacyController", "user", Collections.emptyList(),
+                        Collections.singletonList("/api/用户"), Collections.emptyList(), 1, false, ""));
+        return new PersistedRoutingTable("MAX", routes, new LinkedHashSet<>(Collections.singletonList("v3")));
+    }
+
+    private static byte[] key(int seed) {
+        byte[] key = new byte[32];
+        Arrays.fill(key, (byte) seed);
+        return key;
+    }
+}
@@ -0,0 +1,160 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Aspect.CoexistenceVersion;
+import org.bailiun.multipleversionscoexist.Aspect.InterfacePriority;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * PriorityResolutionTest — 启动阶段批量裁决优先级 / Batch Priority Resolution at Startup
+ *
+ * <p><b>中文说明：</b><br>
+ * 以运行期逐个注册（立即覆盖）的结果为参照，验证启动阶段批量裁决对同一路径上各种注册顺序都选出相同的接口、
+ * 记录相同的优先级，且每个路径只留下一个注册。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Uses one-by-one registration at runtime (immediate override) as the reference and verifies that batch resolution at
+ * startup picks the same handler and records the same priority for every registration order on one path, leaving
+ * exactly one registration per path.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class PriorityResolutionTest {
+
+    private static final String PATH = "/api/order";
+
+    @Test
+    void batchMatchesImmediateForEveryRegistrationOrder() {
+        for (String sortingMethod : Arrays.asList("MAX", "MIN")) {
+            for (List<Object> order : permutations(Arrays.asList(new Low(), new High(), new SameAsHigh(), new Lowest()))) {
+                DualRequestMappingHandlerMapping batch = create(sortingMethod);
+                order.forEach(controller -> TestMappings.register(batch, controller, PATH));
+                TestMappings.initialize(batch);
+
+                DualRequestMappingHandlerMapping immediate = create(sortingMethod);
+                TestMappings.initialize(immediate);
+                order.forEach(controller -> TestMappings.register(immediate, controller, PATH));
+
+                String description = sortingMethod + " " + order;
+                assertSame(winner(immediate), winner(batch), description);
+                assertEquals(immediate.interfacePriorities, batch.interfacePriorities, description);
+            }
+        }
+    }
+
+    @Test
+    void batchKeepsTheFirstOfEqualPriorities() {
+        Object high = new High();
+        DualRequestMappingHandlerMapping batch = create("MAX");
+        TestMappings.register(batch, new Low(), PATH);
+        TestMappings.register(batch, high, PATH);
+        TestMappings.register(batch, new SameAsHigh(), PATH);
+        TestMappings.initialize(batch);
+        assertSame(high, winner(batch));
+        assertEquals(Collections.singletonMap("/v1" + PATH, 5), batch.interfacePriorities);
+    }
+
+    private static DualRequestMappingHandlerMapping create(String sortingMethod) {
+        MultiVersionProperties mp = new MultiVersionProperties();
+        mp.setSortingMethod(sortingMethod);
+        return TestMappings.create(mp, new MultiVersionFile(), "v1");
+    }
+
+    /**
+     * 路径唯一注册的控制器 / The controller of the only registration on the path
+     */
+    private static Object winner(DualRequestMappingHandlerMapping mapping) {
+        List<HandlerMethod> registered = new ArrayList<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+            if (entry.getKey().getPatternsCondition().getPatterns().contains("/v1" + PATH)) {
+                registered.add(entry.getValue());
+            }
+        }
+        assertEquals(1, registered.size());
+        return registered.get(0).getBean();
+    }
+
+    private static List<List<Object>> permutations(List<Object> items) {
+        if (items.isEmpty()) {
+            return Collections.singletonList(Collections.emptyList());
+        }
+        List<List<Object>> result = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            List<Object> rest = new ArrayList<>(items);
+            Object head = rest.remove(i);
+            for (List<Object> tail : permutations(rest)) {
+                List<Object> permutation = new ArrayList<>();
+                permutation.add(head);
+                permutation.addAll(tail);
+                result.add(permutation);
+            }
+        }
+        return result;
+    }
+
+    @CoexistenceVersion(version = "v1")
+    static class Lowest {
+        @InterfacePriority(0)
+        public String handle() {
+            return "lowest";
+        }
+
+        @Override
+        public String toString() {
+            return "Lowest";
+        }
+    }
+
+    @CoexistenceVersion(version = "v1")
+    static class Low {
+        @InterfacePriority(1)
+        public String handle() {
+            return "low";
+        }
+
+        @Override
+        public String toString() {
+            return "Low";
+        }
+    }
+
+    @CoexistenceVersion(version = "v1")
+    static class High {
+        @InterfacePriority(5)
+        public String handle() {
+            return "high";
+        }
+
+        @Override
+        public String toString() {
+            return "High";
+        }
+    }
+
+    @CoexistenceVersion(version = "v1")
+    static class SameAsHigh {
+        @InterfacePriority(5)
+        public String handle() {
+            return "same";
+        }
+
+        @Override
+        public String toString() {
+            return "SameAsHigh";
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * RoutingLookupTest — 路由索引查找与线性扫描的一致性 / Route Index Lookup versus the Linear Scan
+ *
+ * <p><b>中文说明：</b><br>
+ * 以原有的线性扫描实现为参照，逐条比较 {@link DualRequestMappingHandlerMapping#lookupHandlerMethod} 的结果，
+ * 覆盖版本接口、直接访问版本路径、文件控制禁用版本与通配接口。接口经由真实的注册流程与 {@code afterPropertiesSet()} 登记。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Compares every {@link DualRequestMappingHandlerMapping#lookupHandlerMethod} result with the original linear scan,
+ * covering versioned handlers, direct access to versioned paths, versions disabled by file control and wildcard
+ * handlers. Handlers go through the real registration path and {@code afterPropertiesSet()}.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class RoutingLookupTest {
+
+    private static final List<String> LOOKUP_PATHS = Arrays.asList(
+            "/api/user", "/api/order", "/api/item", "/api/file/a.txt",
+            "/v0/api/user", "/v1/api/item", "/v2/api/order", "/v1/api/file/a.txt", "/v2/api/file/a.txt",
+            "/static/logo.png", "/health", "/missing", "/api/user/extra", "/v1/api/user/extra", "/");
+
+    private MultiVersionFile mf;
+
+    private DualRequestMappingHandlerMapping mapping;
+
+    @BeforeEach
+    void setUp() {
+        mf = new MultiVersionFile();
+        mapping = TestMappings.create(mf, "v0", "v1", "v2");
+        TestMappings.register(mapping, new TestMappings.V0Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V0Api(), "/api/order");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/item");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/item");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/file/*");
+        TestMappings.registerPathPattern(mapping, new TestMappings.PlainApi(), "/static/{name}");
+        TestMappings.register(mapping, new TestMappings.PlainApi(), "/health");
+        TestMappings.initialize(mapping);
+    }
+
+    @Test
+    void matchesLinearScanWithoutFileControl() throws Exception {
+        assertMatchesLinearScan();
+        assertNotNull(lookup("/api/user"));
+        assertNull(lookup("/v0/api/user"));
+        assertNotNull(lookup("/v1/api/file/a.txt"));
+        assertNotNull(lookup("/static/logo.png"));
+    }
+
+    @Test
+    void matchesLinearScanWithFileControl() throws Exception {
+        mf.setFileConfiguration(true);
+        mapping.setFileConfiguration(Arrays.asList("/v0", "/v2"));
+        assertMatchesLinearScan();
+        mapping.setFileConfiguration(Collections.singletonList("/v1"));
+        assertMatchesLinearScan();
+        mapping.setFileConfiguration(Collections.emptyList());
+        assertMatchesLinearScan();
+        assertNotNull(lookup("/health"));
+    }
+
+    @Test
+    void pathRejectedByFilterYieldsNoHandlerWithoutException() throws Exception {
+        String path = "/wp-admin/setup-config.php";
+        assertNull(mapping.lookupHandlerMethod(path, new MockHttpServletRequest("GET", path)));
+    }
+
+    @Test
+    void cachedLookupIsInvalidatedWhenFileControlChanges() throws Exception {
+        MultiVersionProperties mp = new MultiVersionProperties();
+        mp.setHandlerCache(true);
+        mapping = TestMappings.create(mp, mf, "v1", "v2");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/user");
+        TestMappings.initialize(mapping);
+        mf.setFileConfiguration(true);
+        mapping.setFileConfiguration(Collections.singletonList("/v1"));
+
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user").getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user").getBeanType());
+        assertEquals(1, mapping.getHandlerCache().getHitCount());
+
+        mapping.setFileConfiguration(Collections.singletonList("/v2"));
+        assertEquals(TestMappings.V2Api.class, lookup("/api/user").getBeanType());
+        assertEquals(1, mapping.getHandlerCache().getHitCount());
+    }
+
+    @Test
+    void cachedLookupIsInvalidatedWhenRoutingIsPublished() throws Exception {
+        MultiVersionProperties mp = new MultiVersionProperties();
+        mp.setHandlerCache(true);
+        mapping = TestMappings.create(mp, mf, "v1");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.PlainApi(), "/api/*");
+        TestMappings.initialize(mapping);
+
+        assertEquals(TestMappings.PlainApi.class, lookup("/api/order").getBeanType());
+        assertEquals(TestMappings.PlainApi.class, lookup("/api/order").getBeanType());
+        assertEquals(1, mapping.getHandlerCache().getHitCount());
+
+        // 运行期注销接口会发布新快照,缓存中的旧结果不能再被命中
+        RequestMappingInfo wildcard = mapping.getHandlerMethods().keySet().stream()
+                .filter(info -> info.getPatternsCondition().getPatterns().contains("/api/*"))
+                .findFirst().orElseThrow(IllegalStateException::new);
+        mapping.unregisterMapping(wildcard);
+        assertNull(lookup("/api/order"));
+        assertEquals(1, mapping.getHandlerCache().getHitCount());
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user").getBeanType());
+    }
+
+    private void assertMatchesLinearScan() throws Exception {
+        for (String path : LOOKUP_PATHS) {
+            assertEquals(linearScan(path), lookup(path), path);
+        }
+    }
+
+    private HandlerMethod lookup(String path) throws Exception {
+        try {
+            return mapping.lookupHandlerMethod(path, new MockHttpServletRequest("GET", path));
+        } catch (NoHandlerFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 原有的线性扫描，未命中返回 {@code null} / The original linear scan, {@code null} when nothing matches
+     */
+    private HandlerMethod linearScan(String lookupPath) {
+        Map<RequestMappingInfo, HandlerMethod> handlerMethods = mapping.getHandlerMethods();
+        for (String versionPrefix : mapping.versionPrefixes.keySet()) {
+            if (mf.isFileConfiguration() && !mapping.FileConfiguration.contains(versionPrefix)) {
+                continue;
+            }
+            if (mapping.versionPrefixes.get(versionPrefix).contains(lookupPath)) {
+                return null;
+            }
+            String newLookupPath = versionPrefix + lookupPath;
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMethods.entrySet()) {
+                if (entry.getKey().getPatternsCondition() != null
+                        && entry.getKey().getPatternsCondition().getPatterns().contains(newLookupPath)) {
+                    return entry.getValue();
+                }
+            }
+        }
+        AntPathMatcher antMatcher = new AntPathMatcher();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMethods.entrySet()) {
+            RequestMappingInfo info = entry.getKey();
+            if (info.getPathPatternsCondition() != null) {
+                for (PathPattern pattern : info.getPathPatternsCondition().getPatterns()) {
+                    if (accessible(pattern.getPatternString()) && mapping.PathPatternParserMatch(pattern, lookupPath)) {
+                        return entry.getValue();
+                    }
+                }
+            }
+            if (info.getPatternsCondition() != null) {
+                for (String pattern : info.getPatternsCondition().getPatterns()) {
+                    if (accessible(pattern) && mapping.AntStylePatternsMatch(antMatcher, pattern, lookupPath)) {
+                        return entry.getValue();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 文件控制下禁用版本的接口不参与全量匹配 / Handlers of versions disabled by file control never take part in full matching
+     */
+    private boolean accessible(String pattern) {
+        int end = pattern.indexOf('/', 1);
+        String prefix = end < 0 ? pattern : pattern.substring(0, end);
+        return !mf.isFileConfiguration() || !mapping.versionPrefixes.containsKey(prefix)
+                || mapping.FileConfiguration.contains(prefix);
+    }
+}
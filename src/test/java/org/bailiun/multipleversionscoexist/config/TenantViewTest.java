@@ -0,0 +1,110 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * TenantViewTest — 租户视图 / Tenant Views
+ *
+ * <p><b>中文说明：</b><br>
+ * 验证租户只能访问其固定的版本、未配置租户的默认与严格模式、租户视图与文件控制取交集，以及相同版本集合的租户共享同一视图。</p>
+ *
+ * <p><b>English Description:</b><br>
+ * Verifies that a tenant only reaches its pinned versions, the default and strict handling of unconfigured tenants,
+ * that tenant views intersect with file control, and that tenants pinned to the same versions share one view.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class TenantViewTest {
+
+    private MultiVersionFile mf;
+
+    private DualRequestMappingHandlerMapping mapping;
+
+    private void setUp(boolean strict) {
+        MultiVersionProperties mp = new MultiVersionProperties();
+        mp.setTenantStrict(strict);
+        Map<String, List<String>> tenants = new HashMap<>();
+        tenants.put("acme", Collections.singletonList("v2"));
+        tenants.put("globex", Arrays.asList("v1", "v2"));
+        mp.setTenants(tenants);
+        mf = new MultiVersionFile();
+        mapping = TestMappings.create(mp, mf, "v1", "v2");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.PlainApi(), "/health");
+        TestMappings.initialize(mapping);
+    }
+
+    @Test
+    void tenantOnlyReachesItsPinnedVersions() throws Exception {
+        setUp(false);
+        assertEquals(TestMappings.V2Api.class, lookup("/api/user", "acme").getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user", "globex").getBeanType());
+        // 直接访问未固定版本的路径同样不可达
+        assertNull(lookup("/v1/api/user", "acme"));
+        assertEquals(TestMappings.PlainApi.class, lookup("/health", "acme").getBeanType());
+    }
+
+    @Test
+    void unconfiguredTenantSeesEveryVersionUnlessStrict() throws Exception {
+        setUp(false);
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user", "initech").getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user", null).getBeanType());
+
+        setUp(true);
+        assertNull(lookup("/api/user", "initech"));
+        assertNull(lookup("/api/user", null));
+        assertEquals(TestMappings.PlainApi.class, lookup("/health", "initech").getBeanType());
+    }
+
+    @Test
+    void tenantViewIntersectsWithFileControl() throws Exception {
+        setUp(false);
+        mf.setFileConfiguration(true);
+        mapping.setFileConfiguration(Collections.singletonList("/v2"));
+        assertEquals(TestMappings.V2Api.class, lookup("/api/user", "globex").getBeanType());
+        mapping.setFileConfiguration(Collections.singletonList("/v1"));
+        assertNull(lookup("/api/user", "acme"));
+    }
+
+    @Test
+    void tenantsWithTheSameVersionsShareOneView() {
+        setUp(false);
+        Map<String, List<String>> tenants = new HashMap<>();
+        tenants.put("acme", Collections.singletonList("v2"));
+        tenants.put("hooli", Collections.singletonList("/v2"));
+        mapping.setTenantVersions(tenants);
+        RoutingSnapshot routing = mapping.getRoutingSnapshot();
+        assertSame(routing.forTenant("acme"), routing.forTenant("hooli"));
+        assertSame(routing.getVersionRoutes(), routing.forTenant("acme").getVersionRoutes());
+    }
+
+    private HandlerMethod lookup(String path, String tenant) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (tenant != null) {
+            request.addHeader("X-Tenant-Id", tenant);
+        }
+        try {
+            return mapping.lookupHandlerMethod(path, request);
+        } catch (NoHandlerFoundException e) {
+            return null;
+        }
+    }
+}
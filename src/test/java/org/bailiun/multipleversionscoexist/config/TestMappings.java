@@ -0,0 +1,111 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Aspect.CoexistenceVersion;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionInfo;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * 构建经由真实注册流程初始化的映射 / Builds mappings initialised through the real registration path
+ */
+final class TestMappings {
+
+    private static final RequestMappingInfo.BuilderConfiguration PATH_PATTERN_OPTIONS = new RequestMappingInfo.BuilderConfiguration();
+
+    static {
+        PATH_PATTERN_OPTIONS.setPatternParser(new PathPatternParser());
+    }
+
+    private TestMappings() {
+    }
+
+    static DualRequestMappingHandlerMapping create(MultiVersionFile mf, String... versions) {
+        return create(new MultiVersionProperties(), mf, versions);
+    }
+
+    static DualRequestMappingHandlerMapping create(MultiVersionProperties mp, MultiVersionFile mf, String... versions) {
+        return create(mp, new MultiVersionInfo(), mf, versions);
+    }
+
+    static DualRequestMappingHandlerMapping create(MultiVersionProperties mp, MultiVersionInfo mi, MultiVersionFile mf,
+                                                   String... versions) {
+        mp.setInclude(Arrays.asList(versions));
+        mi.init();
+        DualRequestMappingHandlerMapping mapping = new DualRequestMappingHandlerMapping(mp, mf, mi);
+        VersionEnvironmentLoader loader = new VersionEnvironmentLoader();
+        ReflectionTestUtils.setField(loader, "includeVersions", versions);
+        ReflectionTestUtils.setField(loader, "excludeVersions", new String[0]);
+        mapping.v = loader;
+        return mapping;
+    }
+
+    /** 每个接口使用独立的控制器实例，结果可按 {@link HandlerMethod#equals} 比较 / One controller instance per handler */
+    static void register(DualRequestMappingHandlerMapping mapping, Object controller, String pattern) {
+        mapping.registerHandlerMethod(controller, handle(controller),
+                RequestMappingInfo.paths(pattern).methods(RequestMethod.GET).build());
+    }
+
+    static void registerPathPattern(DualRequestMappingHandlerMapping mapping, Object controller, String pattern) {
+        mapping.registerHandlerMethod(controller, handle(controller),
+                RequestMappingInfo.paths(pattern).methods(RequestMethod.GET).options(PATH_PATTERN_OPTIONS).build());
+    }
+
+    static void initialize(DualRequestMappingHandlerMapping mapping) {
+        GenericWebApplicationContext context = new GenericWebApplicationContext(new MockServletContext());
+        context.refresh();
+        mapping.setApplicationContext(context);
+        mapping.afterPropertiesSet();
+    }
+
+    static Method handle(Object controller) {
+        try {
+            return controller.getClass().getMethod("handle");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @CoexistenceVersion(version = "v0")
+    static class V0Api {
+        public String handle() {
+            return "v0";
+        }
+    }
+
+    @CoexistenceVersion(version = "v1")
+    static class V1Api {
+        public String handle() {
+            return "v1";
+        }
+    }
+
+    @CoexistenceVersion(version = "v2")
+    static class V2Api {
+        public String handle() {
+            return "v2";
+        }
+    }
+
+    @CoexistenceVersion(version = "v3")
+    static class V3Api {
+        public String handle() {
+            return "v3";
+        }
+    }
+
+    static class PlainApi {
+        public String handle() {
+            return "plain";
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.config.RoutingSnapshot.VersionRoute;
+import org.bailiun.multipleversionscoexist.en.RouteTrie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VersionLifecycleTest — 运行时版本启用与停用 / Runtime Version Activation and Deactivation
+ *
+ * <p><b>中文说明：</b>停用再启用一个版本后接口集合与停用前一致，增量更新的路由索引须与完整重建的结果一致。</p>
+ *
+ * <p><b>English Description:</b> After a version is deactivated and activated again the registered handlers are
+ * the same as before, and the incrementally updated route index must equal a full rebuild.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class VersionLifecycleTest {
+
+    private static final List<String> LOOKUP_PATHS = Arrays.asList(
+            "/api/user", "/api/order", "/api/item", "/v1/api/user", "/v2/api/order", "/health", "/missing");
+
+    private DualRequestMappingHandlerMapping mapping;
+
+    @BeforeEach
+    void setUp() {
+        mapping = TestMappings.create(new MultiVersionFile(), "v1", "v2");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/order");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/item");
+        TestMappings.register(mapping, new TestMappings.PlainApi(), "/health");
+        TestMappings.initialize(mapping);
+    }
+
+    @Test
+    void deactivateThenActivateRestoresEveryRoute() throws Exception {
+        Map<String, HandlerMethod> before = resolveAll();
+        int handlerCount = mapping.getHandlerMethods().size();
+
+        assertEquals(2, mapping.deactivateVersion("v2"));
+        assertFalse(mapping.isVersionActive("v2"));
+        assertNull(lookup("/api/order"));
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user").getBeanType());
+        assertEquals(handlerCount - 2, mapping.getHandlerMethods().size());
+
+        assertEquals(2, mapping.activateVersion("v2"));
+        assertTrue(mapping.isVersionActive("v2"));
+        assertEquals(before, resolveAll());
+        assertEquals(handlerCount, mapping.getHandlerMethods().size());
+    }
+
+    @Test
+    void reactivatedVersionMovesToTheEndOfTheVersionOrder() throws Exception {
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user").getBeanType());
+        assertEquals(0, mapping.activateVersion("v1"));
+        assertEquals(2, mapping.deactivateVersion("v1"));
+        assertEquals(0, mapping.deactivateVersion("v1"));
+        assertEquals(2, mapping.activateVersion("v1"));
+        // 重新启用的版本排在版本顺序末尾,增量更新的索引须与完整重建的结果一致
+        assertEquals(TestMappings.V2Api.class, lookup("/api/user").getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/api/item").getBeanType());
+        assertMatchesFullRebuild();
+    }
+
+    @Test
+    void incrementalIndexMatchesFullRebuildAfterEachSwitch() {
+        mapping.deactivateVersion("v2");
+        assertMatchesFullRebuild();
+        mapping.deactivateVersion("v1");
+        assertMatchesFullRebuild();
+        mapping.activateVersion("v2");
+        assertMatchesFullRebuild();
+        mapping.activateVersion("v1");
+        assertMatchesFullRebuild();
+    }
+
+    private void assertMatchesFullRebuild() {
+        RouteTrie<VersionRoute> rebuilt = mapping.buildVersionRoutes();
+        RouteTrie<VersionRoute> current = mapping.getRoutingSnapshot().getVersionRoutes();
+        assertEquals(rebuilt.size(), current.size());
+        for (String path : Arrays.asList("/api/user", "/api/order", "/api/item", "/v1/api/user", "/v1/api/item",
+                "/v2/api/user", "/v2/api/order")) {
+            assertEquals(describe(rebuilt.get(path)), describe(current.get(path)), path);
+        }
+    }
+
+    private static List<String> describe(List<VersionRoute> routes) {
+        List<String> described = new ArrayList<>();
+        for (VersionRoute route : routes) {
+            described.add(route.versionPrefix + " " + route.handlerMethod);
+        }
+        return described;
+    }
+
+    private Map<String, HandlerMethod> resolveAll() throws Exception {
+        Map<String, HandlerMethod> resolved = new HashMap<>();
+        for (String path : LOOKUP_PATHS) {
+            resolved.put(path, lookup(path));
+        }
+        return resolved;
+    }
+
+    private HandlerMethod lookup(String path) throws Exception {
+        try {
+            return mapping.lookupHandlerMethod(path, new MockHttpServletRequest("GET", path));
+        } catch (NoHandlerFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionPlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VersionPluginLoaderTest — 版本插件的延迟释放与关闭清理 / Deferred Release and Shutdown Cleanup of Version Plugins
+ *
+ * <p><b>中文说明：</b>jar 被删除后旧插件的资源在宽限期结束后才释放；应用关闭时立即释放全部插件并删除临时目录。</p>
+ *
+ * <p><b>English Description:</b> After a jar is removed the old plugin's resources are only released once the grace
+ * period ends; at shutdown every plugin is released at once and the temporary directory is deleted.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class VersionPluginLoaderTest {
+
+    @TempDir
+    Path pluginDirectory;
+
+    private GenericApplicationContext context;
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    private MultiVersionPlugin plugin;
+
+    private VersionPluginLoader loader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context = new GenericApplicationContext();
+        context.refresh();
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        plugin = new MultiVersionPlugin();
+        plugin.setPluginPath(pluginDirectory.toString());
+        plugin.setPluginRefreshTime(0);
+        loader = new VersionPluginLoader(plugin, context.getBeanProvider(DualRequestMappingHandlerMapping.class),
+                scheduler, context);
+        loader.run();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+        context.close();
+    }
+
+    @Test
+    void removedPluginIsReleasedAfterTheGracePeriod() throws Exception {
+        plugin.setPluginReleaseDelay(200);
+        Path copy = addLoadedPlugin("orders-v4.jar");
+
+        loader.scan(false);
+        assertTrue(Files.exists(copy), "released before the grace period ended");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.exists(copy) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertFalse(Files.exists(copy));
+    }
+
+    @Test
+    void destroyReleasesRetiringPluginsAndDeletesTheWorkDirectory() throws Exception {
+        plugin.setPluginReleaseDelay(60_000);
+        Path copy = addLoadedPlugin("orders-v4.jar");
+        loader.scan(false);
+        assertTrue(Files.exists(copy));
+
+        Path workDirectory = (Path) ReflectionTestUtils.getField(loader, "workDirectory");
+        loader.destroy();
+        assertFalse(Files.exists(copy));
+        assertFalse(Files.exists(workDirectory));
+    }
+
+    /**
+     * 登记一个 jar 已不在插件目录中的已加载插件 / Register a loaded plugin whose jar is no longer in the plugin directory
+     */
+    @SuppressWarnings("unchecked")
+    private Path addLoadedPlugin(String jarName) throws Exception {
+        Path workDirectory = (Path) ReflectionTestUtils.getField(loader, "workDirectory");
+        Path copy = Files.createFile(workDirectory.resolve(jarName));
+        Map<Path, VersionPluginLoader.LoadedPlugin> plugins =
+                (Map<Path, VersionPluginLoader.LoadedPlugin>) ReflectionTestUtils.getField(loader, "plugins");
+        plugins.put(pluginDirectory.resolve(jarName).toAbsolutePath().normalize(),
+                new VersionPluginLoader.LoadedPlugin("0/0", copy, null, Collections.emptyList()));
+        return copy;
+    }
+}
@@ -0,0 +1,89 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * VersionResolutionTest — 按请求指定的版本解析接口 / Resolving Handlers for a Requested Version
+ *
+ * <p><b>中文说明：</b>请求指定的版本未命中时只回退到不分版本的接口，不会由其他版本的接口响应；
+ * 未指定版本或版本不存在时按版本顺序匹配。</p>
+ *
+ * <p><b>English Description:</b> A miss in the requested version falls back to unversioned handlers only, never
+ * to another version; requests without a version, or with an unknown one, use ordered matching.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class VersionResolutionTest {
+
+    private DualRequestMappingHandlerMapping mapping;
+
+    @BeforeEach
+    void setUp() {
+        MultiVersionProperties mp = new MultiVersionProperties();
+        mp.setResolvers(Collections.singletonList("header"));
+        mapping = TestMappings.create(mp, new MultiVersionFile(), "v1", "v2");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V2Api(), "/api/user");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/api/item");
+        TestMappings.register(mapping, new TestMappings.V1Api(), "/orders/list");
+        TestMappings.register(mapping, new TestMappings.PlainApi(), "/api/*");
+        TestMappings.initialize(mapping);
+    }
+
+    @Test
+    void requestedVersionIsServedFromItsOwnTable() throws Exception {
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user", "v1").getBeanType());
+        assertEquals(TestMappings.V2Api.class, lookup("/api/user", "v2").getBeanType());
+    }
+
+    @Test
+    void missInRequestedVersionNeverFallsBackToAnotherVersion() throws Exception {
+        // v2 没有 /api/item,只能由不分版本的 /api/* 响应
+        assertEquals(TestMappings.PlainApi.class, lookup("/api/item", "v2").getBeanType());
+        // 没有不分版本的接口可用时返回未找到,而不是 v1 的接口
+        assertNull(lookup("/orders/list", "v2"));
+        assertNull(lookup("/v1/orders/list", "v2"));
+    }
+
+    @Test
+    void missingOrUnknownVersionUsesOrderedMatching() throws Exception {
+        assertEquals(TestMappings.V1Api.class, lookup("/api/item", null).getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/orders/list", "v9").getBeanType());
+        assertEquals(TestMappings.V1Api.class, lookup("/orders/list", " ").getBeanType());
+    }
+
+    @Test
+    void canaryOnlySelectsVersionsThatProvideThePath() throws Exception {
+        mapping.setCanaryRules(Collections.singletonList("/api/** v2=100"));
+        assertEquals(TestMappings.V2Api.class, lookup("/api/user", null).getBeanType());
+        // v2 没有 /api/item,灰度分流不能让它变成未找到
+        assertEquals(TestMappings.V1Api.class, lookup("/api/item", null).getBeanType());
+        // 明确指定的版本优先于灰度规则
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user", "v1").getBeanType());
+    }
+
+    private HandlerMethod lookup(String path, String version) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (version != null) {
+            request.addHeader("X-API-Version", version);
+        }
+        try {
+            return mapping.lookupHandlerMethod(path, request);
+        } catch (NoHandlerFoundException e) {
+            return null;
+        }
+    }
+}
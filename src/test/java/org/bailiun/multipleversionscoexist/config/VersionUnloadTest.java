@@ -0,0 +1,114 @@
+package org.bailiun.multipleversionscoexist.config;
+
+import org.bailiun.multipleversionscoexist.Properties.MultiVersionFile;
+import org.bailiun.multipleversionscoexist.en.VersionUnloadResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * VersionUnloadTest — 运行时卸载版本 / Runtime Version Unloading
+ *
+ * <p><b>中文说明：</b>卸载版本后其接口与只服务于该版本的控制器 Bean 均被释放，版本无法再启用，
+ * 其他版本仍可正常停用与启用。接口以 Bean 名称注册，与 Spring 扫描控制器时一致。</p>
+ *
+ * <p><b>English Description:</b> Unloading a version releases its handlers and the controller beans that only
+ * serve it, the version cannot be enabled again, and other versions still deactivate and activate normally.
+ * Handlers are registered by bean name, as Spring does for scanned controllers.</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class VersionUnloadTest {
+
+    private GenericWebApplicationContext context;
+
+    private DualRequestMappingHandlerMapping mapping;
+
+    @BeforeEach
+    void setUp() {
+        context = new GenericWebApplicationContext(new MockServletContext());
+        context.registerBean("v1Api", TestMappings.V1Api.class);
+        context.registerBean("v2Api", TestMappings.V2Api.class);
+        context.registerBean("plainApi", TestMappings.PlainApi.class);
+        context.refresh();
+        mapping = TestMappings.create(new MultiVersionFile(), "v1", "v2");
+        mapping.setApplicationContext(context);
+        register("v1Api", TestMappings.V1Api.class, "/api/user");
+        register("v2Api", TestMappings.V2Api.class, "/api/user");
+        register("v1Api", TestMappings.V1Api.class, "/api/item");
+        register("plainApi", TestMappings.PlainApi.class, "/health");
+        mapping.afterPropertiesSet();
+    }
+
+    @Test
+    void unloadReleasesHandlersAndExclusiveBeans() throws Exception {
+        int handlerCount = mapping.getHandlerMethods().size();
+        assertEquals(TestMappings.V1Api.class, lookup("/api/user").getBeanType());
+
+        VersionUnloadResult result = mapping.unloadVersion("v1");
+        assertEquals(2, result.getHandlers());
+        assertEquals(Collections.singletonList("v1Api"), result.getBeans());
+        assertFalse(context.containsBean("v1Api"));
+        assertTrue(context.containsBean("v2Api"));
+        assertEquals(handlerCount - 2, mapping.getHandlerMethods().size());
+        assertFalse(mapping.getRoutingSnapshot().getVersionOrder().contains("/v1"));
+
+        assertEquals(TestMappings.V2Api.class, lookup("/api/user").getBeanType());
+        assertNull(lookup("/api/item"));
+        assertEquals(TestMappings.PlainApi.class, lookup("/health").getBeanType());
+    }
+
+    @Test
+    void unloadedVersionCannotBeActivatedAgain() throws Exception {
+        mapping.unloadVersion("v1");
+        assertEquals(0, mapping.activateVersion("v1"));
+        assertFalse(mapping.isVersionActive("v1"));
+        assertNull(lookup("/api/item"));
+
+        // 其他版本的停用与启用不受影响
+        assertEquals(1, mapping.deactivateVersion("v2"));
+        assertNull(lookup("/api/user"));
+        assertEquals(1, mapping.activateVersion("v2"));
+        assertEquals(TestMappings.V2Api.class, lookup("/api/user").getBeanType());
+    }
+
+    @Test
+    void unloadingTwiceReleasesNothing() {
+        mapping.unloadVersion("v1");
+        VersionUnloadResult again = mapping.unloadVersion("v1");
+        assertEquals(0, again.getHandlers());
+        assertTrue(again.getBeans().isEmpty());
+    }
+
+    private void register(String beanName, Class<?> controllerType, String pattern) {
+        try {
+            mapping.registerHandlerMethod(beanName, controllerType.getMethod("handle"),
+                    RequestMappingInfo.paths(pattern).methods(RequestMethod.GET).build());
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HandlerMethod lookup(String path) throws Exception {
+        try {
+            return mapping.lookupHandlerMethod(path, new MockHttpServletRequest("GET", path));
+        } catch (NoHandlerFoundException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ConsistentHashRingTest — 一致性哈希环 / Consistent Hash Ring
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class ConsistentHashRingTest {
+
+    private static final int CLIENTS = 20_000;
+
+    @Test
+    void removingAVersionOnlyMovesItsOwnClients() {
+        ConsistentHashRing before = new ConsistentHashRing(Arrays.asList("v1", "v2", "v3"), 160);
+        ConsistentHashRing after = new ConsistentHashRing(Arrays.asList("v1", "v3"), 160);
+        int moved = 0;
+        for (int i = 0; i < CLIENTS; i++) {
+            String key = "user-" + i;
+            String owner = before.locate(key);
+            if ("v2".equals(owner)) {
+                assertNotEquals("v2", after.locate(key), key);
+                moved++;
+            } else {
+                assertEquals(owner, after.locate(key), key);
+            }
+        }
+        assertTrue(moved > 0);
+    }
+
+    @Test
+    void addingAVersionOnlyTakesClientsOver() {
+        ConsistentHashRing before = new ConsistentHashRing(Arrays.asList("v1", "v2"), 160);
+        ConsistentHashRing after = new ConsistentHashRing(Arrays.asList("v1", "v2", "v3"), 160);
+        for (int i = 0; i < CLIENTS; i++) {
+            String key = "user-" + i;
+            String owner = after.locate(key);
+            if (!"v3".equals(owner)) {
+                assertEquals(before.locate(key), owner, key);
+            }
+        }
+    }
+
+    @Test
+    void assignmentIsIndependentOfVersionOrderAndRoughlyBalanced() {
+        ConsistentHashRing ring = new ConsistentHashRing(Arrays.asList("v1", "v2", "v3"), 160);
+        ConsistentHashRing reordered = new ConsistentHashRing(Arrays.asList("v3", "v1", "v2"), 160);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            String key = "user-" + i;
+            assertEquals(ring.locate(key), reordered.locate(key), key);
+            counts.merge(ring.locate(key), 1, Integer::sum);
+        }
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > CLIENTS / 5 && count < CLIENTS / 2, counts.toString()));
+    }
+
+    @Test
+    void emptyRingLocatesNothing() {
+        assertNull(ConsistentHashRing.EMPTY.locate("user-1"));
+        assertNull(new ConsistentHashRing(Collections.emptyList(), 16).locate("user-1"));
+    }
+}
@@ -0,0 +1,94 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EventLogTest — 异步采样事件日志 / Asynchronous Sampled Event Log
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class EventLogTest {
+
+    @Test
+    void drainsEventsInOrder() throws InterruptedException {
+        List<Object> written = Collections.synchronizedList(new ArrayList<>());
+        EventLog log = new EventLog(16, (level, event, message, arg0, arg1, thrown) -> written.add(arg0));
+        // 超过缓冲区容量,逐条等待写出,覆盖环形缓冲区的回绕
+        for (int i = 0; i < 100; i++) {
+            assertTrue(log.log(EventLevel.INFO, "test", "{}", i, null, null));
+            awaitSize(written, i + 1);
+        }
+        log.shutdown();
+        List<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, written);
+        assertEquals(0, log.getDroppedCount());
+    }
+
+    @Test
+    void wakesUpAfterIdleAndDrainsOnShutdown() throws InterruptedException {
+        List<Object> written = Collections.synchronizedList(new ArrayList<>());
+        EventLog log = new EventLog(64, (level, event, message, arg0, arg1, thrown) -> written.add(arg0));
+        log.info("test", "{}", "first");
+        awaitSize(written, 1);
+        // 空闲后后台线程已挂起,新事件必须将其唤醒
+        Thread.sleep(50);
+        log.info("test", "{}", "second");
+        awaitSize(written, 2);
+        for (int i = 0; i < 32; i++) {
+            log.info("test", "{}", i);
+        }
+        log.shutdown();
+        assertEquals(34, written.size());
+        assertEquals("second", written.get(1));
+        assertEquals(31, written.get(33));
+        assertFalse(log.log(EventLevel.ERROR, "test", "{}", "late", null, null));
+    }
+
+    @Test
+    void filtersByLevelAndCountsDrops() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Object> written = Collections.synchronizedList(new ArrayList<>());
+        EventLog log = new EventLog(2, (level, event, message, arg0, arg1, thrown) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.add(arg0);
+        });
+        assertFalse(log.log(EventLevel.DEBUG, "test", "{}", "filtered", null, null));
+        int buffered = 0;
+        for (int i = 0; i < 10; i++) {
+            if (log.log(EventLevel.WARN, "test", "{}", i, null, null)) {
+                buffered++;
+            }
+        }
+        assertEquals(10 - buffered, log.getDroppedCount());
+        release.countDown();
+        log.shutdown();
+        assertEquals(buffered, written.size());
+    }
+
+    private static void awaitSize(List<Object> list, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(size, list.size());
+    }
+}
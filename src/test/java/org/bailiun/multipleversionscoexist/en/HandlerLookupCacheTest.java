@@ -0,0 +1,106 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * HandlerLookupCacheTest — 接口解析结果缓存 / Handler Lookup Cache
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class HandlerLookupCacheTest {
+
+    private static HandlerLookupCache.Key key(String path) {
+        return new HandlerLookupCache.Key("GET", path, 0);
+    }
+
+    @Test
+    void invalidateDropsEveryEntry() {
+        HandlerLookupCache<String> cache = new HandlerLookupCache<>(8);
+        cache.put(key("/a"), "a", cache.generation());
+        assertEquals("a", cache.get(key("/a")));
+        cache.invalidate();
+        assertNull(cache.get(key("/a")));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidationCount());
+        cache.put(key("/a"), "a2", cache.generation());
+        assertEquals("a2", cache.get(key("/a")));
+    }
+
+    @Test
+    void resultResolvedBeforeInvalidationIsDiscarded() {
+        HandlerLookupCache<String> cache = new HandlerLookupCache<>(8);
+        long generation = cache.generation();
+        // 解析期间路由发生变化
+        cache.invalidate();
+        cache.put(key("/a"), "stale", generation);
+        assertNull(cache.get(key("/a")));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictsUnreferencedEntriesFirst() {
+        HandlerLookupCache<String> cache = new HandlerLookupCache<>(3);
+        long generation = cache.generation();
+        cache.put(key("/a"), "a", generation);
+        cache.put(key("/b"), "b", generation);
+        cache.put(key("/c"), "c", generation);
+        assertNotNull(cache.get(key("/a")));
+        cache.put(key("/d"), "d", generation);
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertNotNull(cache.get(key("/a")));
+        assertNull(cache.get(key("/b")));
+        assertNotNull(cache.get(key("/d")));
+    }
+
+    @Test
+    void replacingAKeyReusesItsSlot() {
+        HandlerLookupCache<String> cache = new HandlerLookupCache<>(2);
+        long generation = cache.generation();
+        cache.put(key("/a"), "a", generation);
+        cache.put(key("/a"), "a2", generation);
+        cache.put(key("/b"), "b", generation);
+        assertEquals(0, cache.getEvictionCount());
+        assertEquals("a2", cache.get(key("/a")));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void concurrentPutsNeverExceedTheBound() throws Exception {
+        HandlerLookupCache<Integer> cache = new HandlerLookupCache<>(64);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 10_000;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put(key("/p" + (offset + i)), i, cache.generation());
+                        cache.get(key("/p" + (offset + i / 2)));
+                        assertTrue(cache.size() <= 64);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(64, cache.size());
+    }
+}
@@ -0,0 +1,74 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * PathBloomFilterTest — 路径布隆过滤器 / Path Bloom Filter
+ *
+ * <p>过滤器只能误放行，不能误拒绝：任何能被已加入模式匹配的路径都必须放行 /
+ * The filter may only let misses through, never reject a hit: every path matched by an added pattern must pass</p>
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class PathBloomFilterTest {
+
+    private static final List<String> PATTERNS = Arrays.asList(
+            "/v1/api/user", "/v1/api/user/{id}", "/v2/api/order/*", "/v2/static/**", "/v3/api/{type}/detail",
+            "/v3/files/*.txt", "/health");
+
+    private static final List<String> MATCHING_PATHS = Arrays.asList(
+            "/v1/api/user", "/v1/api/user/", "/v1/api/user/42", "/v2/api/order/7", "/v2/static/css/site.css",
+            "/v3/api/book/detail", "/v3/files/a.txt", "/health");
+
+    @Test
+    void hasNoFalseNegativesForPatterns() {
+        PathBloomFilter filter = new PathBloomFilter(PATTERNS.size() * 2, 0.01);
+        PATTERNS.forEach(filter::addPattern);
+        AntPathMatcher ant = new AntPathMatcher();
+        for (String path : MATCHING_PATHS) {
+            assertTrue(PATTERNS.stream().anyMatch(p -> ant.match(p, path) || ant.match(p + "/", path)), path);
+            assertTrue(filter.mightMatch(path), path);
+        }
+    }
+
+    @Test
+    void hasNoFalseNegativesForManyPatterns() {
+        PathBloomFilter filter = new PathBloomFilter(2000, 0.01);
+        PathPatternParser parser = new PathPatternParser();
+        for (int i = 0; i < 1000; i++) {
+            filter.addPattern("/v" + (i % 10) + "/api/r" + i + "/{id}");
+            filter.addExact("/v" + (i % 10) + "/api/r" + i + "/item");
+        }
+        for (int i = 0; i < 1000; i++) {
+            String path = "/v" + (i % 10) + "/api/r" + i + "/" + i;
+            assertTrue(parser.parse("/v" + (i % 10) + "/api/r" + i + "/{id}")
+                    .matches(PathContainer.parsePath(path)), path);
+            assertTrue(filter.mightMatch(path), path);
+            assertTrue(filter.mightMatch("/v" + (i % 10) + "/api/r" + i + "/item"), path);
+        }
+    }
+
+    @Test
+    void rejectsUnrelatedPathsAndAcceptsAllForRootWildcards() {
+        PathBloomFilter filter = new PathBloomFilter(16, 0.001);
+        filter.addPattern("/v1/api/user");
+        assertFalse(filter.mightMatch("/definitely/not/registered"));
+        // 编码字符无法可靠判断,一律放行
+        assertTrue(filter.mightMatch("/v1/api/us%65r"));
+
+        filter.addPattern("/**");
+        assertTrue(filter.isAcceptAll());
+        assertTrue(filter.mightMatch("/definitely/not/registered"));
+    }
+}
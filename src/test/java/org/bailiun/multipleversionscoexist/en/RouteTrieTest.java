@@ -0,0 +1,70 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * RouteTrieTest — 路由前缀树 / Route Trie
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class RouteTrieTest {
+
+    @Test
+    void keepsValuesInInsertionOrder() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.put("/api/user", "v1");
+        trie.put("/api/user", "v2");
+        trie.put("/api/user/", "v3");
+        assertEquals(Arrays.asList("v1", "v2"), trie.get("/api/user"));
+        assertEquals(Collections.singletonList("v3"), trie.get("/api/user/"));
+        assertTrue(trie.get("/api").isEmpty());
+        assertTrue(trie.get("/api/user/1").isEmpty());
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void withValuesLeavesOriginalUnchanged() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        trie.put("/api/user", "v1");
+        trie.put("/api/user/list", "v1");
+        trie.put("/api/order", "v2");
+
+        Map<String, List<String>> changes = new HashMap<>();
+        changes.put("/api/user", Arrays.asList("v2", "v3"));
+        changes.put("/api/order", Collections.emptyList());
+        changes.put("/api/item", Collections.singletonList("v4"));
+        RouteTrie<String> changed = trie.withValues(changes);
+
+        assertEquals(Collections.singletonList("v1"), trie.get("/api/user"));
+        assertEquals(Collections.singletonList("v2"), trie.get("/api/order"));
+        assertTrue(trie.get("/api/item").isEmpty());
+        assertEquals(3, trie.size());
+
+        assertEquals(Arrays.asList("v2", "v3"), changed.get("/api/user"));
+        assertEquals(Collections.singletonList("v1"), changed.get("/api/user/list"));
+        assertTrue(changed.get("/api/order").isEmpty());
+        assertEquals(Collections.singletonList("v4"), changed.get("/api/item"));
+        assertEquals(4, changed.size());
+    }
+
+    @Test
+    void withValuesCopiesTheGivenLists() {
+        RouteTrie<String> trie = new RouteTrie<>();
+        List<String> values = new ArrayList<>(Collections.singletonList("v1"));
+        RouteTrie<String> changed = trie.withValues(Collections.singletonMap("/api/user", values));
+        values.add("v2");
+        assertEquals(Collections.singletonList("v1"), changed.get("/api/user"));
+    }
+}
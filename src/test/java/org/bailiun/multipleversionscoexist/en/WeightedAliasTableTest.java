@@ -0,0 +1,59 @@
+package org.bailiun.multipleversionscoexist.en;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * WeightedAliasTableTest — 加权随机别名表 / Weighted Alias Table
+ *
+ * @author bailiun
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+class WeightedAliasTableTest {
+
+    private static final int DRAWS = 200_000;
+
+    @Test
+    void drawsFollowTheWeights() {
+        String[] values = {"v1", "v2", "v3", "v4"};
+        int[] weights = {5, 15, 30, 50};
+        Map<String, Integer> counts = draw(new WeightedAliasTable(values, weights));
+        for (int i = 0; i < values.length; i++) {
+            double expected = weights[i] / 100.0;
+            double actual = counts.getOrDefault(values[i], 0) / (double) DRAWS;
+            // 20 万次抽样的标准差不超过 0.12%,允许 1% 的偏差
+            assertEquals(expected, actual, 0.01, values[i]);
+        }
+    }
+
+    @Test
+    void neverDrawsZeroWeights() {
+        Map<String, Integer> counts = draw(new WeightedAliasTable(new String[]{"v1", "v2", "v3"}, new int[]{0, 1, 0}));
+        assertEquals(DRAWS, counts.get("v2"));
+        assertFalse(counts.containsKey("v1"));
+        assertFalse(counts.containsKey("v3"));
+    }
+
+    @Test
+    void rejectsInvalidWeights() {
+        assertThrows(IllegalArgumentException.class, () -> new WeightedAliasTable(new String[]{"v1"}, new int[]{-1}));
+        assertThrows(IllegalArgumentException.class, () -> new WeightedAliasTable(new String[]{"v1"}, new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () -> new WeightedAliasTable(new String[]{"v1", "v2"}, new int[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> new WeightedAliasTable(new String[0], new int[0]));
+    }
+
+    private static Map<String, Integer> draw(WeightedAliasTable table) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < DRAWS; i++) {
+            counts.merge(table.next(), 1, Integer::sum);
+        }
+        return counts;
+    }
+}